@@ -52,6 +52,7 @@ import org.apache.camel.spi.EndpointStrategy;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -1691,6 +1692,22 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setUuidGenerator(UuidGenerator uuidGenerator);
 
+    /**
+     * Gets the {@link HeadersMapFactory} to use for creating the {@link java.util.Map} which stores
+     * the headers on the messages.
+     *
+     * @return the headers map factory
+     */
+    HeadersMapFactory getHeadersMapFactory();
+
+    /**
+     * Sets a custom {@link HeadersMapFactory} to use for creating the {@link java.util.Map} which stores
+     * the headers on the messages (should only be set before any message is created).
+     *
+     * @param headersMapFactory the headers map factory
+     */
+    void setHeadersMapFactory(HeadersMapFactory headersMapFactory);
+
     /**
      * Whether or not type converters should be loaded lazy
      *
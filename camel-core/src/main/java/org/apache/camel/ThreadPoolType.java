@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Represent the kinds of thread pools which can be created from a thread pool profile.
+ * <p/>
+ * Camel will by default use <tt>Default</tt>. The kind of thread pool only applies to the thread pools
+ * created from the profile which sets it, and fixed size and single threaded pools always use <tt>Default</tt>.
+ */
+@XmlType
+@XmlEnum
+public enum ThreadPoolType {
+
+    /**
+     * A thread pool with a fixed range of platform threads and a work queue.
+     */
+    Default,
+
+    /**
+     * Creates a new virtual thread for each task, which allows many concurrent blocking tasks without
+     * the cost of a platform thread for each task. The pool size and queue size options are not used.
+     * <p/>
+     * Requires a JVM which supports virtual threads, and falls back to <tt>Default</tt> otherwise.
+     */
+    VirtualThreads,
+
+    /**
+     * A work-stealing fork join pool where each thread has its own work queue, which avoids contention
+     * on a shared work queue for many short CPU bound tasks. The pool size is used as the parallelism,
+     * and the max queue size and rejected policy are supported. The max pool size, keep alive time and
+     * allow core thread timeout options are not used.
+     */
+    WorkStealing
+}
@@ -42,6 +42,18 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.STRING});
     }
 
+    public static TabularType listTypeConverterStatisticsTabularType() throws OpenDataException {
+        CompositeType ct = listTypeConverterStatisticsCompositeType();
+        return new TabularType("listTypeConverterStatistics", "Lists the utilization statistics of the type conversions (from -> to)", ct, new String[]{"from", "to"});
+    }
+
+    public static CompositeType listTypeConverterStatisticsCompositeType() throws OpenDataException {
+        return new CompositeType("typeConverterStatistics", "Type Converter Statistics",
+                new String[]{"from", "to", "hits", "misses", "failures", "totalTime", "meanTime"},
+                new String[]{"From type", "To type", "Hits", "Misses", "Failures", "Total Time", "Mean Time"},
+                new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG});
+    }
+
     public static TabularType listRestServicesTabularType() throws OpenDataException {
         CompositeType ct = listRestServicesCompositeType();
         return new TabularType("listRestServices", "Lists all the rest services in the registry", ct, new String[]{"url", "method"});
@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+
+public interface ManagedForkJoinPoolMBean extends ManagedThreadPoolMBean {
+
+    @ManagedAttribute(description = "Parallelism level")
+    int getParallelism();
+
+    @ManagedAttribute(description = "Number of threads which are not blocked waiting to join tasks or for other synchronization")
+    int getRunningThreadCount();
+
+    @ManagedAttribute(description = "Number of tasks stolen from the work queue of another thread")
+    long getStealCount();
+
+    @ManagedAttribute(description = "Number of submitted tasks not yet taken by a thread")
+    int getQueuedSubmissionCount();
+
+    @ManagedAttribute(description = "Number of tasks held in the work queues of the threads")
+    long getQueuedTaskCount();
+
+}
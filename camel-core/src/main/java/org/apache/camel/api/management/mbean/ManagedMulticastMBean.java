@@ -38,4 +38,13 @@ public interface ManagedMulticastMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "The maximum number of messages in progress at the same time, when using parallel processing (0 = no limit).")
+    Integer getMaxInflight();
+
+    @ManagedAttribute(description = "Number of completed replies waiting for previous replies to complete before they can be aggregated in order, when using parallel processing.")
+    Integer getReorderBufferSize();
+
+    @ManagedAttribute(description = "Largest number of completed replies which has been waiting to be aggregated in order for a single message, when using parallel processing.")
+    Integer getReorderBufferMaxSize();
+
 }
\ No newline at end of file
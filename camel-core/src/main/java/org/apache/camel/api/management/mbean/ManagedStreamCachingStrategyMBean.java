@@ -55,6 +55,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     int getBufferSize();
 
+    @ManagedAttribute(description = "Whether to cache off heap in direct buffers and spool to memory mapped files")
+    boolean isOffHeap();
+
     @ManagedAttribute(description = "Whether to remove spool directory when stopping")
     void setRemoveSpoolDirectoryWhenStopping(boolean remove);
 
@@ -85,6 +88,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of times a buffer was reused from the buffer pool")
+    long getBufferPoolHitCounter();
+
+    @ManagedAttribute(description = "Number of times a buffer was allocated as the buffer pool had no buffer of the size")
+    long getBufferPoolMissCounter();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
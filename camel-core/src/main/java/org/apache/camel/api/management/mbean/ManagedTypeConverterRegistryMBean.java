@@ -62,4 +62,7 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedOperation(description = "Lists all the type converters in the registry (from -> to)")
     TabularData listTypeConverters();
 
+    @ManagedOperation(description = "Lists the utilization statistics of each type conversion (from -> to) with time in nanos, requires statistics to be enabled")
+    TabularData listTypeConverterStatistics();
+
 }
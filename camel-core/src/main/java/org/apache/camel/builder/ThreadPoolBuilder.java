@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolProfile;
 
 /**
@@ -70,6 +71,11 @@ public final class ThreadPoolBuilder {
         profile.setRejectedPolicy(rejectedPolicy);
         return this;
     }
+
+    public ThreadPoolBuilder poolType(ThreadPoolType poolType) {
+        profile.setPoolType(poolType);
+        return this;
+    }
     
     /**
      * Builds the new thread pool
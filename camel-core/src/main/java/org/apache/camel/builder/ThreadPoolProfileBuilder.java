@@ -19,6 +19,7 @@ package org.apache.camel.builder;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolProfile;
 
 /**
@@ -82,6 +83,11 @@ public class ThreadPoolProfileBuilder {
         return this;
     }
 
+    public ThreadPoolProfileBuilder poolType(ThreadPoolType poolType) {
+        profile.setPoolType(poolType);
+        return this;
+    }
+
     /**
      * Builds the thread pool profile
      * 
@@ -43,6 +43,11 @@ public class BeanEndpoint extends DefaultEndpoint {
     @UriParam(label = "advanced", description = "If enabled, Camel will cache the result of the first Registry look-up."
             + " Cache can be enabled if the bean in the Registry is defined as a singleton scope.")
     private boolean cache;
+    @UriParam(label = "advanced", description = "Whether to choose the method and bind its parameters when the endpoint starts,"
+            + " and generate a class which invokes the method directly, instead of choosing the method and invoking it using reflection for each message."
+            + " This is only possible when the method option is set and the method is not overloaded, or when the bean has a single @Handler method."
+            + " Otherwise the method is chosen for each message as usual.")
+    private boolean generateInvoker;
     @UriParam(label = "advanced", description = "How to treat the parameters which are passed from the message body."
             + "true means the message body should be an array of parameters. Note: This option is used internally by Camel, and is not intended for end users to use.")
     @Deprecated
@@ -103,6 +108,7 @@ public class BeanEndpoint extends DefaultEndpoint {
                 processor.setMethod(method);
             }
             processor.setMultiParameterArray(isMultiParameterArray());
+            processor.setGenerateInvoker(isGenerateInvoker());
             if (parameters != null) {
                 setProperties(processor, parameters);
             }
@@ -158,6 +164,20 @@ public class BeanEndpoint extends DefaultEndpoint {
         this.cache = cache;
     }
 
+    public boolean isGenerateInvoker() {
+        return generateInvoker;
+    }
+
+    /**
+     * Whether to choose the method and bind its parameters when the endpoint starts, and generate a class which invokes
+     * the method directly, instead of choosing the method and invoking it using reflection for each message.
+     * This is only possible when the method option is set and the method is not overloaded, or when the bean has a single @Handler method.
+     * Otherwise the method is chosen for each message as usual.
+     */
+    public void setGenerateInvoker(boolean generateInvoker) {
+        this.generateInvoker = generateInvoker;
+    }
+
     public String getMethod() {
         return method;
     }
@@ -1153,6 +1153,30 @@ public class BeanInfo {
         return clazz;
     }
 
+    /**
+     * Chooses the method to invoke without a message, which is possible when the method name is given and the
+     * method is not overloaded, or when no method name is given and the bean has a single method with the
+     * {@link org.apache.camel.Handler} annotation.
+     *
+     * @param methodName the method name, or <tt>null</tt>
+     * @return the method, or <tt>null</tt> if the method must be chosen for each message
+     */
+    MethodInfo chooseMethodWithoutMessage(String methodName) {
+        if (methodName != null) {
+            // parameter values in the method name are evaluated for each message
+            if (methodName.contains("(") || "class".equals(methodName) || "getClass".equals(methodName) || "length".equals(methodName)) {
+                return null;
+            }
+            List<MethodInfo> methods = getOperations(methodName);
+            return methods != null && methods.size() == 1 ? methods.get(0) : null;
+        }
+
+        List<MethodInfo> methods = new ArrayList<MethodInfo>(operationsWithHandlerAnnotation);
+        removeAllAbstractMethods(methods);
+        removeAllSetterOrGetterMethods(methods);
+        return methods.size() == 1 ? methods.get(0) : null;
+    }
+
     /**
      * Do we have a method with the given name.
      * <p/>
@@ -43,6 +43,8 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
     private boolean multiParameterArray;
     private String method;
     private boolean shorthandMethod;
+    private boolean generateInvoker;
+    private MethodInfo boundMethod;
 
     public BeanProcessor(Object pojo, BeanInfo beanInfo) {
         this(new ConstantBeanHolder(pojo, beanInfo));
@@ -70,6 +72,32 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
     }
 
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        // use the method which was bound when starting, unless the message tells which method to invoke
+        MethodInfo bound = boundMethod;
+        if (bound != null && exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME) == null
+                && exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) == null
+                && !(exchange.getIn().getBody() instanceof BeanInvocation)) {
+            Object bean;
+            try {
+                bean = beanHolder.getBean();
+            } catch (Throwable e) {
+                exchange.setException(e);
+                callback.done(true);
+                return true;
+            }
+            if (bound.isStaticMethod() || bound.getMethod().getDeclaringClass().isInstance(bean)) {
+                MethodInvocation invocation;
+                try {
+                    invocation = bound.createBoundMethodInvocation(bean, exchange);
+                } catch (Throwable e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                }
+                return invocation.proceed(callback);
+            }
+        }
+
         // do we have an explicit method name we always should invoke (either configured on endpoint or as a header)
         String explicitMethodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME, method, String.class);
 
@@ -226,9 +254,30 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         this.shorthandMethod = shorthandMethod;
     }
 
+    public boolean isGenerateInvoker() {
+        return generateInvoker;
+    }
+
+    /**
+     * Sets whether to choose the method to invoke and bind its parameters when starting, and generate a class
+     * which invokes the method directly, instead of choosing the method and invoking it using reflection for each message.
+     * <p/>
+     * This is only possible when the method is known up front, which is when the method name is set and the method
+     * is not overloaded, or when the bean has a single method with the {@link org.apache.camel.Handler} annotation.
+     * Otherwise the method is chosen for each message as usual.
+     * <p/>
+     * Is by default turned off.
+     */
+    public void setGenerateInvoker(boolean generateInvoker) {
+        this.generateInvoker = generateInvoker;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
     protected void doStart() throws Exception {
+        bindMethod();
+
+
         // optimize to only get (create) a processor if really needed
         if (beanHolder.supportProcessor() && allowProcessor(method, beanHolder.getBeanInfo())) {
             processor = beanHolder.getProcessor();
@@ -245,6 +294,7 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
     }
 
     protected void doStop() throws Exception {
+        boundMethod = null;
         if (processor != null) {
             ServiceHelper.stopService(processor);
         } else if (beanHolder instanceof ConstantBeanHolder) {
@@ -258,6 +308,22 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         }
     }
 
+    /**
+     * Chooses the method to invoke and binds it, if generating an invoker is enabled.
+     */
+    void bindMethod() {
+        if (generateInvoker && !multiParameterArray) {
+            MethodInfo info = beanHolder.getBeanInfo().chooseMethodWithoutMessage(method);
+            if (info != null) {
+                info.bind();
+                LOG.debug("Bound method: {} to invoke on bean: {}", info, beanHolder);
+            } else {
+                LOG.debug("Cannot bind the method to invoke on bean: {} as the method is chosen for each message", beanHolder);
+            }
+            boundMethod = info;
+        }
+    }
+
     private boolean allowProcessor(String explicitMethodName, BeanInfo info) {
         if (explicitMethodName != null) {
             // don't allow if explicit method name is given, as we then must invoke this method
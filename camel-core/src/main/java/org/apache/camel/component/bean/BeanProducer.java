@@ -45,6 +45,9 @@ public class BeanProducer extends DefaultAsyncProducer {
     protected void doStart() throws Exception {
         super.doStart();
 
+        // the processor is not started as a service, so bind the method to invoke here
+        processor.bindMethod();
+
         if (processor.getBeanHolder() instanceof ConstantBeanHolder) {
             try {
                 // Start the bean if it implements Service interface and if cached
@@ -0,0 +1,323 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes a bean method using a class which is generated at runtime by the {@link LambdaMetafactory},
+ * and which calls the bean method directly, instead of using reflection.
+ * <p/>
+ * The generated class implements one of the functional interfaces below, taking the bean (unless the method
+ * is static) and the method arguments, and it casts and unboxes the arguments to the parameter types
+ * of the method. So invoking the method has no access checks and no reflection frames.
+ * <p/>
+ * Only public methods with at most {@link #MAX_PARAMETERS} parameters of public classes which are visible
+ * from the class loader of Camel are supported, for other methods {@link #create(Method)} returns <tt>null</tt>
+ * and the method must be invoked using reflection.
+ */
+final class LambdaMethodInvoker {
+
+    /**
+     * The maximum number of parameters of the methods which can be invoked.
+     */
+    static final int MAX_PARAMETERS = 4;
+
+    private static final Logger LOG = LoggerFactory.getLogger(LambdaMethodInvoker.class);
+
+    private final Method method;
+    // index of the parameters with a primitive type, as null cannot be passed for those
+    private final int[] primitiveParameters;
+    private final Call call;
+
+    @FunctionalInterface
+    interface Function0 {
+        Object invoke();
+    }
+
+    @FunctionalInterface
+    interface Function1 {
+        Object invoke(Object a);
+    }
+
+    @FunctionalInterface
+    interface Function2 {
+        Object invoke(Object a, Object b);
+    }
+
+    @FunctionalInterface
+    interface Function3 {
+        Object invoke(Object a, Object b, Object c);
+    }
+
+    @FunctionalInterface
+    interface Function4 {
+        Object invoke(Object a, Object b, Object c, Object d);
+    }
+
+    @FunctionalInterface
+    interface Function5 {
+        Object invoke(Object a, Object b, Object c, Object d, Object e);
+    }
+
+    @FunctionalInterface
+    interface VoidFunction0 {
+        void invoke();
+    }
+
+    @FunctionalInterface
+    interface VoidFunction1 {
+        void invoke(Object a);
+    }
+
+    @FunctionalInterface
+    interface VoidFunction2 {
+        void invoke(Object a, Object b);
+    }
+
+    @FunctionalInterface
+    interface VoidFunction3 {
+        void invoke(Object a, Object b, Object c);
+    }
+
+    @FunctionalInterface
+    interface VoidFunction4 {
+        void invoke(Object a, Object b, Object c, Object d);
+    }
+
+    @FunctionalInterface
+    interface VoidFunction5 {
+        void invoke(Object a, Object b, Object c, Object d, Object e);
+    }
+
+    /**
+     * Calls the generated function with the bean and the arguments.
+     */
+    @FunctionalInterface
+    private interface Call {
+        Object call(Object pojo, Object[] args) throws Throwable;
+    }
+
+    private static final Class<?>[] FUNCTIONS = {
+        Function0.class, Function1.class, Function2.class, Function3.class, Function4.class, Function5.class};
+    private static final Class<?>[] VOID_FUNCTIONS = {
+        VoidFunction0.class, VoidFunction1.class, VoidFunction2.class, VoidFunction3.class, VoidFunction4.class, VoidFunction5.class};
+
+    private LambdaMethodInvoker(Method method, Call call) {
+        this.method = method;
+        Class<?>[] types = method.getParameterTypes();
+        int count = 0;
+        for (Class<?> type : types) {
+            if (type.isPrimitive()) {
+                count++;
+            }
+        }
+        this.primitiveParameters = new int[count];
+        count = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isPrimitive()) {
+                primitiveParameters[count++] = i;
+            }
+        }
+        this.call = call;
+    }
+
+    /**
+     * Generates an invoker for the given method.
+     *
+     * @param method the method
+     * @return the invoker, or <tt>null</tt> if an invoker cannot be generated for the method
+     */
+    static LambdaMethodInvoker create(Method method) {
+        if (method.getParameterCount() > MAX_PARAMETERS || !Modifier.isPublic(method.getModifiers()) || !isVisible(method)) {
+            LOG.debug("Cannot generate invoker for method: {} as the method is not public, has more than {} parameters,"
+                    + " or uses types not visible from Camel", method, MAX_PARAMETERS);
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle target = lookup.unreflect(method);
+            MethodType type = target.type();
+            boolean isVoid = type.returnType() == void.class;
+            int arity = type.parameterCount();
+
+            Class<?> functionType = isVoid ? VOID_FUNCTIONS[arity] : FUNCTIONS[arity];
+            MethodType functionMethodType = MethodType.genericMethodType(arity).changeReturnType(isVoid ? void.class : Object.class);
+            // the arguments are cast (and unboxed) to the parameter types, and the result is boxed
+            MethodType instantiatedMethodType = type.wrap().changeReturnType(isVoid ? void.class : Object.class);
+
+            CallSite site = LambdaMetafactory.metafactory(lookup, "invoke", MethodType.methodType(functionType),
+                    functionMethodType, target, instantiatedMethodType);
+            Object function = site.getTarget().invoke();
+
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            Call call = isVoid ? createVoidCall(function, isStatic, arity) : createCall(function, isStatic, arity);
+            return new LambdaMethodInvoker(method, call);
+        } catch (Throwable e) {
+            LOG.debug("Cannot generate invoker for method: " + method + ". This exception is ignored.", e);
+            return null;
+        }
+    }
+
+    private static Call createCall(Object function, boolean isStatic, int arity) {
+        switch (arity) {
+        case 0:
+            Function0 f0 = (Function0) function;
+            return (pojo, args) -> f0.invoke();
+        case 1:
+            Function1 f1 = (Function1) function;
+            return isStatic ? (pojo, args) -> f1.invoke(args[0]) : (pojo, args) -> f1.invoke(pojo);
+        case 2:
+            Function2 f2 = (Function2) function;
+            return isStatic ? (pojo, args) -> f2.invoke(args[0], args[1]) : (pojo, args) -> f2.invoke(pojo, args[0]);
+        case 3:
+            Function3 f3 = (Function3) function;
+            return isStatic ? (pojo, args) -> f3.invoke(args[0], args[1], args[2])
+                : (pojo, args) -> f3.invoke(pojo, args[0], args[1]);
+        case 4:
+            Function4 f4 = (Function4) function;
+            return isStatic ? (pojo, args) -> f4.invoke(args[0], args[1], args[2], args[3])
+                : (pojo, args) -> f4.invoke(pojo, args[0], args[1], args[2]);
+        default:
+            Function5 f5 = (Function5) function;
+            return (pojo, args) -> f5.invoke(pojo, args[0], args[1], args[2], args[3]);
+        }
+    }
+
+    private static Call createVoidCall(Object function, boolean isStatic, int arity) {
+        switch (arity) {
+        case 0:
+            VoidFunction0 f0 = (VoidFunction0) function;
+            return (pojo, args) -> {
+                f0.invoke();
+                return null;
+            };
+        case 1:
+            VoidFunction1 f1 = (VoidFunction1) function;
+            return isStatic ? (pojo, args) -> {
+                f1.invoke(args[0]);
+                return null;
+            } : (pojo, args) -> {
+                f1.invoke(pojo);
+                return null;
+            };
+        case 2:
+            VoidFunction2 f2 = (VoidFunction2) function;
+            return isStatic ? (pojo, args) -> {
+                f2.invoke(args[0], args[1]);
+                return null;
+            } : (pojo, args) -> {
+                f2.invoke(pojo, args[0]);
+                return null;
+            };
+        case 3:
+            VoidFunction3 f3 = (VoidFunction3) function;
+            return isStatic ? (pojo, args) -> {
+                f3.invoke(args[0], args[1], args[2]);
+                return null;
+            } : (pojo, args) -> {
+                f3.invoke(pojo, args[0], args[1]);
+                return null;
+            };
+        case 4:
+            VoidFunction4 f4 = (VoidFunction4) function;
+            return isStatic ? (pojo, args) -> {
+                f4.invoke(args[0], args[1], args[2], args[3]);
+                return null;
+            } : (pojo, args) -> {
+                f4.invoke(pojo, args[0], args[1], args[2]);
+                return null;
+            };
+        default:
+            VoidFunction5 f5 = (VoidFunction5) function;
+            return (pojo, args) -> {
+                f5.invoke(pojo, args[0], args[1], args[2], args[3]);
+                return null;
+            };
+        }
+    }
+
+    /**
+     * Whether the generated class, which is defined in the class loader of Camel, can link to the method.
+     */
+    private static boolean isVisible(Method method) {
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, LambdaMethodInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Invokes the method.
+     * <p/>
+     * The arguments must be of the parameter types of the method, which the parameter binding ensures.
+     *
+     * @param pojo      the bean, which is ignored for a static method
+     * @param arguments the arguments
+     * @return the result, or <tt>null</tt> for a void method
+     * @throws InvocationTargetException is thrown wrapping any exception thrown by the method
+     * @throws IllegalArgumentException is thrown if <tt>null</tt> is given for a primitive parameter
+     */
+    Object invoke(Object pojo, Object[] arguments) throws InvocationTargetException {
+        for (int index : primitiveParameters) {
+            if (arguments[index] == null) {
+                throw new IllegalArgumentException("Cannot pass null to parameter #" + index + " of primitive type: "
+                        + method.getParameterTypes()[index].getName());
+            }
+        }
+        try {
+            return call.call(pojo, arguments);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LambdaMethodInvoker[" + method + "]";
+    }
+}
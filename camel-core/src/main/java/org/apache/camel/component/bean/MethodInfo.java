@@ -77,6 +77,8 @@ public class MethodInfo {
     private final boolean hasCustomAnnotation;
     private final boolean hasHandlerAnnotation;
     private Expression parametersExpression;
+    private boolean bound;
+    private volatile LambdaMethodInvoker invoker;
     private ExchangePattern pattern = ExchangePattern.InOut;
     private RecipientList recipientList;
     private RoutingSlip routingSlip;
@@ -245,6 +247,42 @@ public class MethodInfo {
 
     public MethodInvocation createMethodInvocation(final Object pojo, final Exchange exchange) {
         final Object[] arguments = parametersExpression.evaluate(exchange, Object[].class);
+        return createMethodInvocation(pojo, exchange, arguments, null);
+    }
+
+    /**
+     * Binds this method so it can be invoked using {@link #createBoundMethodInvocation(Object, Exchange)},
+     * which is done when a bean processor starts, that knows which method to invoke up front.
+     * <p/>
+     * Generates an invoker which calls the method directly, if possible.
+     */
+    synchronized void bind() {
+        if (!bound) {
+            invoker = LambdaMethodInvoker.create(method);
+            bound = true;
+        }
+    }
+
+    /**
+     * Creates an invocation of this method, which has been bound using {@link #bind()}.
+     * <p/>
+     * The arguments are evaluated using the parameter bindings only, so the message must not have a method name
+     * with parameter values, or a multi parameter array body, in the {@link Exchange#BEAN_METHOD_NAME}
+     * and {@link Exchange#BEAN_MULTI_PARAMETER_ARRAY} headers.
+     */
+    MethodInvocation createBoundMethodInvocation(Object pojo, Exchange exchange) {
+        Object[] arguments;
+        if (parametersExpression instanceof ParameterExpression) {
+            Object body = exchange.getIn().getBody();
+            arguments = ((ParameterExpression) parametersExpression).evaluateParameterExpressions(exchange, body, false, null);
+        } else {
+            arguments = parametersExpression.evaluate(exchange, Object[].class);
+        }
+        return createMethodInvocation(pojo, exchange, arguments, invoker);
+    }
+
+    private MethodInvocation createMethodInvocation(final Object pojo, final Exchange exchange, final Object[] arguments,
+                                                    final LambdaMethodInvoker invoker) {
         return new MethodInvocation() {
             public Method getMethod() {
                 return method;
@@ -288,7 +326,7 @@ public class MethodInfo {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace(">>>> invoking: {} on bean: {} with arguments: {} for exchange: {}", new Object[]{method, pojo, asString(arguments), exchange});
                 }
-                Object result = invoke(method, pojo, arguments, exchange);
+                Object result = invoker != null ? invoke(invoker, pojo, arguments, exchange) : invoke(method, pojo, arguments, exchange);
 
                 // the method may be a closure or chained method returning a callable which should be called
                 if (result instanceof Callable) {
@@ -477,6 +515,14 @@ public class MethodInfo {
         }
     }
 
+    private Object invoke(LambdaMethodInvoker invoker, Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
+        try {
+            return invoker.invoke(pojo, arguments);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeExchangeException("IllegalArgumentException occurred invoking method: " + method + " using arguments: " + Arrays.asList(arguments), exchange, e);
+        }
+    }
+
     protected Expression[] createParameterExpressions() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
@@ -624,45 +670,60 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        // the parameter types are bound once, instead of looking them up per parameter for each invocation
+        private final Class<?>[] parameterTypes;
 
         ParameterExpression(Expression[] expressions) {
             this.expressions = expressions;
+            this.parameterTypes = new Class<?>[expressions.length];
+            for (int i = 0; i < expressions.length; i++) {
+                parameterTypes[i] = parameters.get(i).getType();
+            }
         }
 
         @SuppressWarnings("unchecked")
         public <T> T evaluate(Exchange exchange, Class<T> type) {
-            Object body = exchange.getIn().getBody();
+            Message in = exchange.getIn();
+            Object body = in.getBody();
             boolean multiParameterArray = false;
-            if (exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) != null) {
-                multiParameterArray = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, Boolean.class);
+            Object multiParameterHeader = in.getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+            if (multiParameterHeader != null) {
+                multiParameterArray = exchange.getContext().getTypeConverter().convertTo(boolean.class, exchange, multiParameterHeader);
                 if (multiParameterArray) {
                     // Just change the message body to an Object array
                     if (!(body instanceof Object[])) {
-                        body = exchange.getIn().getBody(Object[].class);
+                        body = in.getBody(Object[].class);
                     }
                 }
             }
 
             // if there was an explicit method name to invoke, then we should support using
             // any provided parameter values in the method name
-            String methodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME, "", String.class);
-            // the parameter values is between the parenthesis
-            String methodParameters = ObjectHelper.betweenOuterPair(methodName, '(', ')');
+            Object methodNameHeader = in.getHeader(Exchange.BEAN_METHOD_NAME);
             // use an iterator to walk the parameter values
             Iterator<?> it = null;
-            if (methodParameters != null) {
-                // split the parameters safely separated by comma, but beware that we can have
-                // quoted parameters which contains comma as well, so do a safe quote split
-                String[] parameters = StringQuoteHelper.splitSafeQuote(methodParameters, ',', true);
-                it = ObjectHelper.createIterator(parameters, ",", true);
+            if (methodNameHeader != null) {
+                String methodName = exchange.getContext().getTypeConverter().convertTo(String.class, exchange, methodNameHeader);
+                // the parameter values is between the parenthesis
+                String methodParameters = ObjectHelper.betweenOuterPair(methodName, '(', ')');
+                if (methodParameters != null) {
+                    // split the parameters safely separated by comma, but beware that we can have
+                    // quoted parameters which contains comma as well, so do a safe quote split
+                    String[] parameters = StringQuoteHelper.splitSafeQuote(methodParameters, ',', true);
+                    it = ObjectHelper.createIterator(parameters, ",", true);
+                }
             }
 
             // remove headers as they should not be propagated
             // we need to do this before the expressions gets evaluated as it may contain
             // a @Bean expression which would by mistake read these headers. So the headers
             // must be removed at this point of time
-            exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
-            exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+            if (multiParameterHeader != null) {
+                in.removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+            }
+            if (methodNameHeader != null) {
+                in.removeHeader(Exchange.BEAN_METHOD_NAME);
+            }
 
             Object[] answer = evaluateParameterExpressions(exchange, body, multiParameterArray, it);
             return (T) answer;
@@ -671,7 +732,7 @@ public class MethodInfo {
         /**
          * Evaluates all the parameter expressions
          */
-        private Object[] evaluateParameterExpressions(Exchange exchange, Object body, boolean multiParameterArray, Iterator<?> it) {
+        Object[] evaluateParameterExpressions(Exchange exchange, Object body, boolean multiParameterArray, Iterator<?> it) {
             Object[] answer = new Object[expressions.length];
             for (int i = 0; i < expressions.length; i++) {
 
@@ -683,7 +744,7 @@ public class MethodInfo {
                 // grab the parameter value for the given index
                 Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                 // and the expected parameter type
-                Class<?> parameterType = parameters.get(i).getType();
+                Class<?> parameterType = parameterTypes[i];
                 // the value for the parameter to use
                 Object value = null;
 
@@ -18,28 +18,61 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
 
 /**
  * File consumer.
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    private static final int STREAMING_SCAN_QUEUE_SIZE = 1000;
+
     private String endpointPath;
     private Set<String> extendedAttributes;
+    // the watch state is only used by the polling thread
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchKeys = new HashMap<>();
+    private final Set<Path> pendingFiles = new LinkedHashSet<>();
+    private boolean rescanRequired;
+    private long lastRescan;
+    private ForkJoinPool scanPool;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -54,8 +87,117 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
     }
 
+    @Override
+    protected int pollFiles(String name) throws Exception {
+        if (scanPool == null) {
+            return super.pollFiles(name);
+        }
+
+        StopWatch watch = new StopWatch();
+        int polledMessages = pollStreaming(name);
+        if (log.isDebugEnabled()) {
+            log.debug("Took {} to poll and process {} files from: {}", new Object[]{TimeUtils.printDuration(watch.stop()), polledMessages, name});
+        }
+        return polledMessages;
+    }
+
+    /**
+     * Scans the directory tree in parallel on the scan pool, and processes the files as they are found,
+     * instead of gathering the complete tree before processing the first file.
+     * <p/>
+     * As the total number of files is not known until the scan is complete, the {@link Exchange#BATCH_SIZE}
+     * is only set on the last file, together with {@link Exchange#BATCH_COMPLETE}.
+     */
+    protected int pollStreaming(String fileName) throws Exception {
+        File directory = new File(fileName);
+        if (!directory.exists() || !directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return 0;
+        }
+
+        // evaluate the file expression on the polling thread, so the scan threads only use the result
+        evaluateFileExpression();
+
+        DirectoryScan scan = new DirectoryScan();
+        ForkJoinTask<Void> task = scanPool.submit(new ScanDirectoryTask(scan, directory, 0));
+
+        int index = 0;
+        int answer = 0;
+        GenericFile<File> next = scan.next(task);
+        try {
+            while (next != null && isBatchAllowed()) {
+                GenericFile<File> file = next;
+                next = null;
+                // do not wait for more files if we hit the max messages per poll limit
+                if (maxMessagesPerPoll <= 0 || index + 1 < maxMessagesPerPoll) {
+                    next = scan.next(task);
+                }
+
+                Exchange exchange = endpoint.createExchange(file);
+                endpoint.configureExchange(exchange);
+                endpoint.configureMessage(file, exchange.getIn());
+                exchange.setProperty(Exchange.BATCH_INDEX, index);
+                if (next == null) {
+                    // the batch size is only known for the last file
+                    exchange.setProperty(Exchange.BATCH_SIZE, index + 1);
+                }
+                exchange.setProperty(Exchange.BATCH_COMPLETE, next == null);
+
+                // update pending number of exchanges
+                pendingExchanges = (next != null ? 1 : 0) + scan.queue.size();
+
+                boolean started;
+                if (customProcessor != null) {
+                    // use a custom processor
+                    started = customProcessExchange(exchange, customProcessor);
+                } else {
+                    // process the exchange regular
+                    started = processExchange(exchange);
+                }
+                if (started) {
+                    answer++;
+                }
+                index++;
+            }
+        } finally {
+            // stop the scan and drain any in progress files which we did not process
+            scan.cancelled = true;
+            task.quietlyJoin();
+            List<GenericFile<File>> remaining = new ArrayList<>();
+            if (next != null) {
+                remaining.add(next);
+            }
+            scan.queue.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                log.debug("Stopped scanning after {} files, removing {} files marked as in-progress.", index, remaining.size());
+                removeExcessiveInProgressFiles(remaining);
+            }
+        }
+
+        Throwable cause = task.getException();
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        } else if (cause != null) {
+            throw new GenericFileOperationFailedException("Error scanning directory: " + directory, cause);
+        }
+        return answer;
+    }
+
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (watchService != null && depth == 0) {
+            return pollWatchEvents(fileName, fileList);
+        }
+        return scanDirectory(fileName, fileList, depth);
+    }
+
+    /**
+     * Lists the given directory (and sub directories if recursive) and adds the valid files.
+     */
+    protected boolean scanDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
@@ -69,6 +211,11 @@ public class FileConsumer extends GenericFileConsumer<File> {
             return true;
         }
 
+        if (watchService != null) {
+            // register the directory so we get notified about new files from now on
+            watchDirectory(directory);
+        }
+
         log.trace("Polling directory: {}", directory.getPath());
         File[] dirFiles = directory.listFiles();
         if (dirFiles == null || dirFiles.length == 0) {
@@ -111,54 +258,303 @@ public class FileConsumer extends GenericFileConsumer<File> {
                 }
             } else {
                 // Windows can report false to a file on a share so regard it always as a file (if its not a directory)
-                if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    log.trace("Adding valid file: {}", file);
-                    // matched file so add
+                addFile(gf, depth, files, fileList);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The files found by a streaming scan, which are handed over from the scan pool to the polling thread.
+     */
+    private final class DirectoryScan {
+        private final BlockingQueue<GenericFile<File>> queue = new ArrayBlockingQueue<>(STREAMING_SCAN_QUEUE_SIZE);
+        private volatile boolean cancelled;
+
+        /**
+         * Waits for the next file found by the scan, or returns <tt>null</tt> when the scan is complete.
+         */
+        GenericFile<File> next(ForkJoinTask<?> task) throws InterruptedException {
+            while (isRunAllowed()) {
+                GenericFile<File> answer = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (answer != null) {
+                    return answer;
+                }
+                if (task.isDone()) {
+                    // no more files will be added
+                    return queue.poll();
+                }
+            }
+            return null;
+        }
+
+        void offer(GenericFile<File> file) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(file, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // the file will not be processed so it is no longer in progress
+            endpoint.getInProgressRepository().remove(file.getAbsoluteFilePath());
+        }
+    }
+
+    /**
+     * Lists a directory and forks a task for each of its sub directories.
+     */
+    private final class ScanDirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient DirectoryScan scan;
+        private final File directory;
+        private final int depth;
+
+        ScanDirectoryTask(DirectoryScan scan, File directory, int depth) {
+            this.scan = scan;
+            this.directory = directory;
+            this.depth = depth + 1;
+        }
+
+        @Override
+        protected void compute() {
+            if (scan.cancelled) {
+                return;
+            }
+
+            log.trace("Scanning directory: {}", directory.getPath());
+            List<File> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+                for (Path path : stream) {
+                    files.add(path.toFile());
+                }
+            } catch (IOException e) {
+                throw new GenericFileOperationFailedException("Cannot list directory: " + directory, e);
+            }
+
+            List<ScanDirectoryTask> subTasks = new ArrayList<>();
+            for (File file : files) {
+                if (scan.cancelled) {
+                    break;
+                }
+                GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+                if (file.isDirectory()) {
+                    if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+                        subTasks.add(new ScanDirectoryTask(scan, file, depth));
+                    }
+                } else if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
+                    log.trace("Found valid file: {}", file);
                     if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            try {
-                                String prefix = null;
-                                if (attribute.endsWith(":*")) {
-                                    prefix = attribute.substring(0, attribute.length() - 1);
-                                } else if (attribute.equals("*")) {
-                                    prefix = "basic:";
-                                }
-
-                                if (ObjectHelper.isNotEmpty(prefix)) {
-                                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
-                                    if (attributes != null) {
-                                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-                                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
-                                        }
-                                    }
-                                } else if (!attribute.contains(":")) {
-                                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
-                                } else {
-                                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
-                                }
-                            } catch (IOException e) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Unable to read attribute {} on file {}", attribute, file, e);
-                                }
-                            }
+                        gf.setExtendedAttributes(readExtendedAttributes(file));
+                    }
+                    scan.offer(gf);
+                }
+            }
+            invokeAll(subTasks);
+        }
+    }
+
+    private void addFile(GenericFile<File> gf, int depth, List<File> files, List<GenericFile<File>> fileList) {
+        if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
+            log.trace("Adding valid file: {}", gf.getFile());
+            // matched file so add
+            if (extendedAttributes != null) {
+                gf.setExtendedAttributes(readExtendedAttributes(gf.getFile()));
+            }
+            fileList.add(gf);
+        }
+    }
+
+    private Map<String, Object> readExtendedAttributes(File file) {
+        Path path = file.toPath();
+        Map<String, Object> allAttributes = new HashMap<>();
+        for (String attribute : extendedAttributes) {
+            try {
+                String prefix = null;
+                if (attribute.endsWith(":*")) {
+                    prefix = attribute.substring(0, attribute.length() - 1);
+                } else if (attribute.equals("*")) {
+                    prefix = "basic:";
+                }
+
+                if (ObjectHelper.isNotEmpty(prefix)) {
+                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
+                    if (attributes != null) {
+                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
                         }
+                    }
+                } else if (!attribute.contains(":")) {
+                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
+                } else {
+                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
+                }
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to read attribute {} on file {}", attribute, file, e);
+                }
+            }
+        }
+        return allAttributes;
+    }
+
+    /**
+     * Gathers the files reported by the watch service since the last poll, instead of listing the directory.
+     * <p/>
+     * A full scan of the directory is done on the first poll, when the watch service lost events,
+     * and every <tt>watchRescanInterval</tt> millis as a safety net.
+     */
+    protected boolean pollWatchEvents(String fileName, List<GenericFile<File>> fileList) {
+        drainWatchEvents(new File(fileName).toPath());
 
-                        gf.setExtendedAttributes(allAttributes);
+        long now = System.currentTimeMillis();
+        long interval = getEndpoint().getWatchRescanInterval();
+        if (rescanRequired || (interval > 0 && now - lastRescan >= interval)) {
+            log.debug("Scanning directory: {} as the watched files may be out of date", fileName);
+            lastRescan = now;
+            pendingFiles.clear();
+            boolean complete = scanDirectory(fileName, fileList, 0);
+            // if the scan hit the max messages per poll limit then scan again on next poll
+            rescanRequired = !complete;
+            return complete;
+        }
+
+        Path root = new File(fileName).toPath();
+        Iterator<Path> it = pendingFiles.iterator();
+        while (it.hasNext()) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+            Path path = it.next();
+            it.remove();
+
+            File file = path.toFile();
+            int depth = root.relativize(path).getNameCount();
+            GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+            if (file.isDirectory()) {
+                // a new sub directory so we need to scan it as files may have been added before we watched it
+                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, null)) {
+                    if (!scanDirectory(file.getPath(), fileList, depth)) {
+                        rescanRequired = true;
+                        return false;
                     }
+                }
+            } else if (file.isFile()) {
+                if (endpoint.getDoneFileName() != null && endpoint.isDoneFile(file.getName())) {
+                    // a done file was written, so the files it belongs to may now be valid
+                    File[] siblings = file.getParentFile().listFiles();
+                    if (siblings != null) {
+                        List<File> files = Arrays.asList(siblings);
+                        for (File sibling : siblings) {
+                            if (sibling.isFile() && !sibling.equals(file)) {
+                                GenericFile<File> sgf = asGenericFile(endpointPath, sibling, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+                                addFile(sgf, depth, files, fileList);
+                            }
+                        }
+                    }
+                } else {
+                    addFile(gf, depth, null, fileList);
+                }
+            }
+        }
+        return true;
+    }
 
-                    fileList.add(gf);
+    private void drainWatchEvents(Path root) {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path dir = watchKeys.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                    log.debug("Watch service lost events for directory: {}", dir);
+                    rescanRequired = true;
+                    continue;
+                }
+                Path child = dir.resolve((Path) event.context());
+                // a directory is only of interest when it is created, as its files are watched on their own
+                if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY && Files.isDirectory(child)) {
+                    continue;
+                }
+                log.trace("Watch event: {} for file: {}", event.kind(), child);
+                pendingFiles.add(child);
+            }
+            if (!key.reset()) {
+                // the directory is no longer accessible
+                watchKeys.remove(key);
+                if (root.equals(dir)) {
+                    rescanRequired = true;
                 }
+            }
+        }
+    }
+
+    private void watchDirectory(File directory) {
+        Path dir = directory.toPath();
+        try {
+            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchKeys.put(key, dir);
+        } catch (IOException e) {
+            log.warn("Cannot watch directory: " + directory + " due " + e.getMessage() + ". Will scan it again on next poll.");
+            rescanRequired = true;
+        }
+    }
+
+    private void requeue(GenericFile<?> file) {
+        if (file != null && file.getFile() instanceof File) {
+            pendingFiles.add(((File) file.getFile()).toPath());
+        }
+    }
+
+    @Override
+    protected boolean processExchange(Exchange exchange) {
+        GenericFile<?> file = exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE, GenericFile.class);
+        boolean started = super.processExchange(exchange);
+        if (!started && watchService != null) {
+            // such as not able to acquire a read lock, so try the file again on next poll
+            requeue(file);
+        }
+        return started;
+    }
 
+    @Override
+    protected void removeExcessiveInProgressFiles(Deque<Exchange> exchanges, int limit) {
+        if (watchService != null) {
+            // the files which was not processed in this batch should be polled again
+            int index = 0;
+            for (Exchange exchange : exchanges) {
+                if (index++ >= limit) {
+                    requeue(exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE, GenericFile.class));
+                }
             }
         }
+        super.removeExcessiveInProgressFiles(exchanges, limit);
+    }
 
-        return true;
+    @Override
+    protected void removeExcessiveInProgressFiles(List<GenericFile<File>> files) {
+        if (watchService != null) {
+            for (GenericFile<File> file : files) {
+                requeue(file);
+            }
+        }
+        super.removeExcessiveInProgressFiles(files);
     }
 
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+        if (files == null) {
+            // we do not have a listing of the directory when using watch events
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            log.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
+
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -249,6 +645,56 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isWatch()) {
+            watchService = FileSystems.getDefault().newWatchService();
+            // the first poll must scan the directory
+            rescanRequired = true;
+        } else if (getEndpoint().isStreamingScan()) {
+            if (endpoint.getSorter() != null || endpoint.getSortBy() != null || endpoint.isShuffle()
+                    || (!eagerLimitMaxMessagesPerPoll && maxMessagesPerPoll > 0)) {
+                log.info("Cannot use streamingScan as the files must be gathered before processing (sorter, sortBy, shuffle"
+                        + " or eagerMaxMessagesPerPoll=false is configured) on: {}", getEndpoint());
+            } else {
+                scanPool = createScanPool();
+            }
+        }
+        super.doStart();
+    }
+
+    private ForkJoinPool createScanPool() {
+        int parallelism = getEndpoint().getScanParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("FileScan")
+                .poolType(ThreadPoolType.WorkStealing).poolSize(parallelism).maxQueueSize(-1).build();
+        ExecutorServiceManager manager = getEndpoint().getCamelContext().getExecutorServiceManager();
+        ExecutorService executor = manager.newThreadPool(this, "FileScan " + getEndpoint().getEndpointUri(), profile);
+        if (executor instanceof ForkJoinPool) {
+            return (ForkJoinPool) executor;
+        }
+        log.info("Cannot use streamingScan as the thread pool factory does not create a work-stealing thread pool on: {}", getEndpoint());
+        manager.shutdownNow(executor);
+        return null;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (scanPool != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(scanPool);
+            scanPool = null;
+        }
+        if (watchService != null) {
+            IOHelper.close(watchService, "watchService", log);
+            watchService = null;
+        }
+        watchKeys.clear();
+        pendingFiles.clear();
+    }
+
     @Override
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
@@ -59,6 +59,14 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean watch;
+    @UriParam(label = "consumer,advanced", defaultValue = "60000")
+    private long watchRescanInterval = 60000;
+    @UriParam(label = "consumer,advanced")
+    private boolean streamingScan;
+    @UriParam(label = "consumer,advanced")
+    private int scanParallelism;
     @UriParam(label = "producer,advanced")
     private String chmod;
     @UriParam(label = "producer,advanced")
@@ -252,6 +260,63 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Whether the consumer should use a file system watch service to be notified about new and changed files,
+     * instead of listing the directory on every poll. This makes each poll cheap when the directory holds many files,
+     * which allows to use a low delay. The directory is scanned in full on the first poll, if the watch service
+     * lost events, and every watchRescanInterval millis.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public long getWatchRescanInterval() {
+        return watchRescanInterval;
+    }
+
+    /**
+     * When using watch, the interval in millis between full scans of the directory, as a safety net for events
+     * which the file system did not report. Use 0 or a negative value to only scan when needed.
+     */
+    public void setWatchRescanInterval(long watchRescanInterval) {
+        this.watchRescanInterval = watchRescanInterval;
+    }
+
+    public boolean isStreamingScan() {
+        return streamingScan;
+    }
+
+    /**
+     * Whether the consumer should process the files while the directory is being scanned, instead of gathering all the files
+     * before processing the first file. The directory tree is scanned in parallel (see scanParallelism), and only a bounded
+     * number of found files are held in memory. This cannot be used together with sorter, sortBy, shuffle or
+     * eagerMaxMessagesPerPoll=false as these need all the files up front, in which case the regular scan is used.
+     * <p/>
+     * As the total number of files is not known until the scan is complete, the CamelBatchSize property is only set on the
+     * last file of the poll. An aggregator using completionFromBatchConsumer must therefore also use eagerCheckCompletion.
+     * Notice that filters may be invoked concurrently when scanning in parallel.
+     */
+    public void setStreamingScan(boolean streamingScan) {
+        this.streamingScan = streamingScan;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * The number of threads used to scan the directory tree when using streamingScan.
+     * Is by default the number of available processors. The threads are from a work-stealing thread pool
+     * created by the ExecutorServiceManager.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -38,6 +38,8 @@ import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.WrappedFile;
 import org.apache.camel.converter.IOConverter;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
+import org.apache.camel.spi.BufferPool;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -442,17 +444,27 @@ public class FileOperations implements GenericFileOperations<File> {
         FileChannel out = null;
         try {
             out = prepareOutputFileChannel(target);
+            if (in instanceof ByteBufferInputStreamCache) {
+                LOG.debug("Using StreamCache to write file: {}", target);
+                // write the cached buffers directly to the file channel
+                ((ByteBufferInputStreamCache) in).writeTo(out);
+                return;
+            }
             LOG.debug("Using InputStream to write file: {}", target);
             int size = endpoint.getBufferSize();
-            byte[] buffer = new byte[size];
-            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                if (bytesRead < size) {
+            // the buffer from the pool may be larger than the size
+            BufferPool pool = endpoint.getCamelContext().getStreamCachingStrategy().getBufferPool();
+            byte[] buffer = pool.acquire(size);
+            try {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
                     byteBuffer.limit(bytesRead);
+                    out.write(byteBuffer);
+                    byteBuffer.clear();
                 }
-                out.write(byteBuffer);
-                byteBuffer.clear();
+            } finally {
+                pool.release(buffer);
             }
         } finally {
             IOHelper.close(in, target.getName(), LOG);
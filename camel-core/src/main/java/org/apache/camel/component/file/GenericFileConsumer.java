@@ -112,9 +112,24 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             return 0;
         }
 
+        String name = endpoint.getConfiguration().getDirectory();
+        int polledMessages = pollFiles(name);
+
+        postPollCheck(polledMessages);
+
+        return polledMessages;
+    }
+
+    /**
+     * Polls the files from the given directory and processes them.
+     *
+     * @param name the directory
+     * @return the number of files processed
+     * @throws Exception is thrown if polling the directory failed
+     */
+    protected int pollFiles(String name) throws Exception {
         // gather list of files to process
         List<GenericFile<T>> files = new ArrayList<GenericFile<T>>();
-        String name = endpoint.getConfiguration().getDirectory();
 
         // time how long it takes to poll
         StopWatch stop = new StopWatch();
@@ -179,11 +194,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             log.debug("Total {} files to consume", total);
         }
 
-        int polledMessages = processBatch(CastUtils.cast(q));
-
-        postPollCheck(polledMessages);
-
-        return polledMessages;
+        return processBatch(CastUtils.cast(q));
     }
 
     public int processBatch(Queue<Object> exchanges) {
@@ -638,9 +649,9 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
         // use file expression for a simple dynamic file filter
         if (endpoint.getFileName() != null) {
-            fileExpressionResult = evaluateFileExpression();
-            if (fileExpressionResult != null) {
-                if (!name.equals(fileExpressionResult)) {
+            String result = evaluateFileExpression();
+            if (result != null) {
+                if (!name.equals(result)) {
                     return false;
                 }
             }
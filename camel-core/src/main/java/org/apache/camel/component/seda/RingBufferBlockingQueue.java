@@ -0,0 +1,352 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a ring buffer, which supports multiple producers
+ * and multiple consumers.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells whether the slot is free to write or
+ * ready to read for a given position, so producers and consumers only need to claim a position using
+ * compare and set, and do not need any locks. As there are no locks, the blocking operations wait for
+ * the queue to be not full or not empty using the {@link WaitStrategy}.
+ * <p/>
+ * Elements removed from the middle of the queue with {@link #remove(Object)} are replaced with a marker
+ * which is skipped by the consumers.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The maximum capacity of the queue
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * How to wait when the queue is full or empty in the blocking operations.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy spin, which has the lowest latency, but keeps a CPU core busy for each waiting thread.
+         */
+        Spin,
+        /**
+         * Yield the thread, which lets other threads run but still uses CPU while waiting.
+         */
+        Yield,
+        /**
+         * Spin and yield briefly, and then park the thread for increasing periods up to one millisecond,
+         * which uses the least CPU while waiting, at the cost of up to one millisecond latency when the queue has been idle.
+         */
+        Park
+    }
+
+    private static final Object REMOVED = new Object();
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Object> elements;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicInteger removed = new AtomicInteger();
+    private final WaitStrategy waitStrategy;
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.Park);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ", was: " + capacity);
+        }
+        ObjectHelper.notNull(waitStrategy, "waitStrategy");
+        this.capacity = capacity;
+        this.waitStrategy = waitStrategy;
+
+        // use a power of two for the ring buffer so the index can be calculated using a mask
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        this.mask = length - 1;
+        this.sequences = new AtomicLongArray(length);
+        this.elements = new AtomicReferenceArray<Object>(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (pos - head.get() >= capacity) {
+                    // the ring buffer may be larger than the capacity
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, e);
+                    // publish the element to the consumers
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the slot has not been consumed yet so the queue is full
+                return false;
+            }
+            // another producer claimed the position so try again
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object e = elements.getAndSet(index, null);
+                    // free the slot for the producers in the next round of the ring buffer
+                    sequences.set(index, pos + mask + 1);
+                    if (e == REMOVED) {
+                        removed.decrementAndGet();
+                        continue;
+                    }
+                    return (E) e;
+                }
+            } else if (diff < 0) {
+                // the slot has not been published yet so the queue is empty
+                return null;
+            }
+            // another consumer claimed the position so try again
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            Object e = elements.get((int) (pos & mask));
+            if (e != null && e != REMOVED) {
+                return (E) e;
+            }
+        }
+        return null;
+    }
+
+    public void put(E e) throws InterruptedException {
+        int counter = 0;
+        while (!offer(e)) {
+            counter = idle(counter);
+        }
+    }
+
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        while (!offer(e)) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            counter = idle(counter);
+        }
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        int counter = 0;
+        E e;
+        while ((e = poll()) == null) {
+            counter = idle(counter);
+        }
+        return e;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            counter = idle(counter);
+        }
+        return e;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) (pos & mask);
+            Object e = elements.get(index);
+            // mark the element as removed, unless a consumer took the element in the meantime
+            if (e != null && e != REMOVED && o.equals(e) && elements.compareAndSet(index, e, REMOVED)) {
+                removed.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        // read head before tail so the size is not negative
+        long first = head.get();
+        long size = tail.get() - first - removed.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    public int remainingCapacity() {
+        // the elements marked as removed still occupy their slot until a consumer skips them
+        long first = head.get();
+        long used = tail.get() - first;
+        return (int) Math.max(0, capacity - Math.min(capacity, used));
+    }
+
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over a snapshot of the elements in the queue.
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        final List<E> snapshot = new ArrayList<E>(size());
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            Object e = elements.get((int) (pos & mask));
+            if (e != null && e != REMOVED) {
+                snapshot.add((E) e);
+            }
+        }
+
+        final Iterator<E> it = snapshot.iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Waits a bit before trying again, according to the wait strategy.
+     *
+     * @param counter how many times the thread has waited
+     * @return the counter to use the next time
+     */
+    private int idle(int counter) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        switch (waitStrategy) {
+        case Yield:
+            Thread.yield();
+            break;
+        case Park:
+            if (counter < SPIN_TRIES) {
+                counter++;
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                counter++;
+                Thread.yield();
+            } else {
+                // back off exponentially so an idle thread does not wake up too often
+                int shift = counter - SPIN_TRIES - YIELD_TRIES;
+                long nanos = MIN_PARK_NANOS << shift;
+                if (nanos < MAX_PARK_NANOS) {
+                    counter++;
+                } else {
+                    nanos = MAX_PARK_NANOS;
+                }
+                LockSupport.parkNanos(nanos);
+            }
+            break;
+        default:
+            // busy spin
+        }
+        return counter;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + capacity + ", size=" + size() + ", waitStrategy=" + waitStrategy + "]";
+    }
+}
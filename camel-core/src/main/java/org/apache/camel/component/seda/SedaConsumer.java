@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -31,12 +32,14 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.Suspendable;
+import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -64,11 +67,19 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final int batchSize;
+    private final long batchTimeout;
+    private final boolean groupExchanges;
+    // the exchanges taken from the queue in batches which have not been processed yet
+    private final AtomicInteger batchPending = new AtomicInteger();
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.batchSize = endpoint.getBatchSize();
+        this.batchTimeout = endpoint.getBatchTimeout();
+        this.groupExchanges = endpoint.isGroupExchanges();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -105,7 +116,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         if (endpoint.isPurgeWhenStopping()) {
             endpoint.purgeQueue();
         }
-        return endpoint.getQueue().size();
+        return endpoint.getQueue().size() + batchPending.get();
     }
 
     @Override
@@ -199,26 +210,10 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", new Object[]{ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange});
                 }
-                if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
-                    }
+                if (exchange != null && batchSize > 1) {
+                    processBatch(pollBatch(queue, exchange));
+                } else if (exchange != null) {
+                    processExchange(exchange, -1, -1);
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
@@ -240,6 +235,153 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         LOG.debug("Ending this polling consumer thread, there are still {} consumer threads left.", latch.getCount());
     }
 
+    /**
+     * Takes more exchanges from the queue to fill up the batch, waiting at most the batch timeout for them to arrive.
+     *
+     * @param queue the queue
+     * @param first the first exchange of the batch
+     * @return the batch
+     */
+    protected List<Exchange> pollBatch(BlockingQueue<Exchange> queue, Exchange first) {
+        List<Exchange> batch = new ArrayList<Exchange>(batchSize);
+        batch.add(first);
+        // drain the exchanges in one operation instead of locking the queue for each exchange
+        queue.drainTo(batch, batchSize - 1);
+
+        if (batchTimeout > 0 && batch.size() < batchSize) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+            while (batch.size() < batchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    Exchange exchange = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (exchange == null) {
+                        break;
+                    }
+                    batch.add(exchange);
+                    queue.drainTo(batch, batchSize - batch.size());
+                } catch (InterruptedException e) {
+                    LOG.debug("Sleep interrupted, are we stopping? {}", isStopping() || isStopped());
+                    break;
+                }
+            }
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Polled batch of {} exchanges from queue {}", batch.size(), ObjectHelper.getIdentityHashCode(queue));
+        }
+        return batch;
+    }
+
+    /**
+     * Processes the batch of exchanges, either one by one or as a single grouped exchange.
+     *
+     * @param batch the batch
+     */
+    protected void processBatch(List<Exchange> batch) {
+        int size = batch.size();
+        batchPending.addAndGet(size);
+        if (groupExchanges) {
+            try {
+                processGroupedExchange(batch);
+            } finally {
+                batchPending.addAndGet(-size);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                try {
+                    processExchange(batch.get(i), i, size);
+                } catch (Throwable e) {
+                    getExceptionHandler().handleException("Error processing exchange", batch.get(i), e);
+                } finally {
+                    batchPending.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes the exchange taken from the queue.
+     *
+     * @param exchange the exchange
+     * @param index    the index of the exchange in the batch, or <tt>-1</tt> if not batching
+     * @param size     the size of the batch, or <tt>-1</tt> if not batching
+     */
+    protected void processExchange(Exchange exchange, int index, int size) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            if (index >= 0) {
+                newExchange.setProperty(Exchange.BATCH_INDEX, index);
+                newExchange.setProperty(Exchange.BATCH_SIZE, size);
+                newExchange.setProperty(Exchange.BATCH_COMPLETE, index == size - 1);
+            }
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the batch as a single exchange which holds the exchanges of the batch.
+     * <p/>
+     * The on completions of the exchanges in the batch are done when the grouped exchange is done,
+     * so producers waiting for the exchanges to complete are notified.
+     *
+     * @param batch the batch
+     */
+    protected void processGroupedExchange(List<Exchange> batch) {
+        final List<Exchange> grouped = new ArrayList<Exchange>(batch.size());
+        for (Exchange exchange : batch) {
+            grouped.add(prepareExchange(exchange));
+        }
+
+        Exchange group = new DefaultExchange(endpoint);
+        group.setProperty(Exchange.GROUPED_EXCHANGE, grouped);
+        group.setProperty(Exchange.BATCH_SIZE, grouped.size());
+        group.getIn().setBody(grouped);
+        group.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange group) {
+                for (Exchange exchange : grouped) {
+                    if (group.getException() != null && exchange.getException() == null) {
+                        exchange.setException(group.getException());
+                    }
+                    UnitOfWorkHelper.doneSynchronizations(exchange, exchange.handoverCompletions(), LOG);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "onDone[GroupedExchange]";
+            }
+        });
+
+        try {
+            sendToConsumers(group);
+            // log exception if an exception occurred and was not handled
+            if (group.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", group, group.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", group, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -78,6 +78,12 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int batchSize = 1;
+    @UriParam(label = "consumer,advanced")
+    private long batchTimeout;
+    @UriParam(label = "consumer,advanced")
+    private boolean groupExchanges;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -389,6 +395,54 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The maximum number of exchanges the consumer takes from the queue at once.
+     * The exchanges are drained from the queue in one operation, which reduces the contention on the queue
+     * when the queue is busy. The exchanges are then processed one by one, with the batch properties set
+     * such as {@link Exchange#BATCH_INDEX}, or as a single grouped exchange if <tt>groupExchanges</tt> is enabled.
+     * <p/>
+     * The default value is 1 which means that the exchanges are taken from the queue one by one.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * The maximum time in millis to wait for more exchanges to arrive to fill up the batch, after the
+     * first exchange of the batch has been taken from the queue.
+     * <p/>
+     * The default value is 0 which means that the batch holds the exchanges which are in the queue at that time.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    @ManagedAttribute
+    public boolean isGroupExchanges() {
+        return groupExchanges;
+    }
+
+    /**
+     * Whether to process a batch as a single exchange, which holds the exchanges of the batch
+     * in a {@link java.util.List} as the message body and as the {@link Exchange#GROUPED_EXCHANGE} property.
+     * <p/>
+     * The exchanges of the batch are not changed by the processing, but they fail if the grouped exchange fails.
+     * This option is only in use when <tt>batchSize</tt> is larger than 1.
+     */
+    public void setGroupExchanges(boolean groupExchanges) {
+        this.groupExchanges = groupExchanges;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -47,6 +47,7 @@ import java.util.Properties;
 
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.BufferPool;
 import org.apache.camel.util.IOHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -406,10 +407,20 @@ public final class IOConverter {
         }
     }
 
-    @Converter
     public static byte[] toBytes(InputStream stream) throws IOException {
+        return toBytes(stream, null);
+    }
+
+    @Converter
+    public static byte[] toBytes(InputStream stream, Exchange exchange) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        IOHelper.copy(IOHelper.buffered(stream), bos);
+        if (exchange != null) {
+            // no need to buffer the stream as it is read in chunks using a buffer from the pool
+            BufferPool pool = exchange.getContext().getStreamCachingStrategy().getBufferPool();
+            IOHelper.copy(stream, bos, IOHelper.DEFAULT_BUFFER_SIZE, false, pool);
+        } else {
+            IOHelper.copy(IOHelper.buffered(stream), bos);
+        }
 
         // no need to close the ByteArrayOutputStream as it's close()
         // implementation is noop
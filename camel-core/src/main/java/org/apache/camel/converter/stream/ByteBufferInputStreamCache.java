@@ -0,0 +1,226 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A {@link StreamCache} for data held in direct or memory mapped {@link ByteBuffer}s.
+ * <p/>
+ * When written to a {@link WritableByteChannel} or a {@link FileOutputStream} the data is written from the buffers
+ * directly, and if the data was spooled to a file, it is transferred from the file using
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)} which avoids copying the data in memory.
+ * <p/>
+ * Each stream cache, including each {@link #copy(Exchange) copy}, holds a reference to the buffers until it is
+ * {@link #close() closed}, so the buffers are not reused while the stream cache is in use, also when the stream cache
+ * outlives the exchanges, such as the result of a request by a producer template. As with the other stream caches,
+ * a closed stream cache can be read again after a {@link #reset()}, which takes a new reference to the buffers,
+ * unless all the references have been released and the buffers have been returned to the pool. Reading it then
+ * fails with an {@link IOException}.
+ *
+ * @see CachedByteBufferOutputStream
+ */
+public final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private static final ByteBuffer[] NO_VIEWS = new ByteBuffer[0];
+
+    private final CachedByteBufferOutputStream owner;
+    private final ByteBuffer[] buffers;
+    private final FileChannel channel;
+    private final long length;
+    private final TempFileManager tempFileManager;
+    private final AtomicBoolean retained = new AtomicBoolean(true);
+    private ByteBuffer[] views;
+    private int index;
+
+    /**
+     * Creates the stream cache, which takes over a reference to the buffers of the owner,
+     * that is released when the stream cache is closed.
+     */
+    ByteBufferInputStreamCache(CachedByteBufferOutputStream owner, ByteBuffer[] buffers, FileChannel channel, long length,
+                               TempFileManager tempFileManager) {
+        this.owner = owner;
+        this.buffers = buffers;
+        this.channel = channel;
+        this.length = length;
+        this.tempFileManager = tempFileManager;
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        if (!retained.get()) {
+            if (!owner.tryRetain()) {
+                // the buffers have been released, so reading fails
+                views = NO_VIEWS;
+                index = 0;
+                return;
+            }
+            retained.set(true);
+        }
+        views = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            views[i] = buffers[i].duplicate();
+        }
+        index = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        ByteBuffer view = currentView();
+        return view != null ? view.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer view = currentView();
+        if (view == null) {
+            return -1;
+        }
+        int n = Math.min(len, view.remaining());
+        view.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+        long skipped = 0;
+        ByteBuffer view;
+        while (skipped < n && (view = currentView()) != null) {
+            int step = (int) Math.min(n - skipped, view.remaining());
+            view.position(view.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, remaining());
+    }
+
+    @Override
+    public void close() {
+        if (retained.compareAndSet(true, false)) {
+            views = NO_VIEWS;
+            index = 0;
+            owner.release();
+        }
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        ensureOpen();
+        if (os instanceof WritableByteChannel) {
+            writeTo((WritableByteChannel) os);
+        } else if (os instanceof FileOutputStream) {
+            writeTo(((FileOutputStream) os).getChannel());
+        } else {
+            byte[] chunk = new byte[(int) Math.max(1, Math.min(IOHelper.DEFAULT_BUFFER_SIZE, remaining()))];
+            for (int i = index; i < views.length; i++) {
+                ByteBuffer view = views[i].duplicate();
+                while (view.hasRemaining()) {
+                    int n = Math.min(chunk.length, view.remaining());
+                    view.get(chunk, 0, n);
+                    os.write(chunk, 0, n);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining data to the channel, without copying the data through the heap.
+     */
+    public void writeTo(WritableByteChannel out) throws IOException {
+        ensureOpen();
+        if (channel != null) {
+            // zero copy transfer from the spool file
+            long pos = length - remaining();
+            while (pos < length) {
+                pos += channel.transferTo(pos, length - pos, out);
+            }
+        } else {
+            for (int i = index; i < views.length; i++) {
+                ByteBuffer view = views[i].duplicate();
+                while (view.hasRemaining()) {
+                    out.write(view);
+                }
+            }
+        }
+    }
+
+    public StreamCache copy(Exchange exchange) throws IOException {
+        if (!owner.tryRetain()) {
+            throw new IOException("The off heap stream cache has been released and cannot be copied");
+        }
+        tempFileManager.addExchange(exchange);
+        return new ByteBufferInputStreamCache(owner, buffers, channel, length, tempFileManager);
+    }
+
+    public boolean inMemory() {
+        return channel == null;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!retained.get()) {
+            // read again from the beginning after being closed, as the file stream cache does
+            reset();
+            if (!retained.get()) {
+                throw new IOException("The off heap stream cache has been released and cannot be read anymore");
+            }
+        }
+    }
+
+    private ByteBuffer currentView() {
+        while (index < views.length) {
+            if (views[index].hasRemaining()) {
+                return views[index];
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private long remaining() {
+        long answer = 0;
+        for (int i = index; i < views.length; i++) {
+            answer += views[i].remaining();
+        }
+        return answer;
+    }
+}
@@ -17,6 +17,9 @@
 package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.spi.BufferPool;
 
 /**
  * A {@link ByteArrayOutputStream} that is capable of returning a
@@ -24,17 +27,125 @@ import java.io.ByteArrayOutputStream;
  * <p/>
  * This implementation avoids any buffer copying when caching in memory {@link java.io.InputStream}
  * as the buffer can be shared.
+ * <p/>
+ * If a {@link BufferPool} is given, the buffer is acquired from the pool, and the buffer is reference counted,
+ * as with {@link CachedByteBufferOutputStream}. The exchanges using the cache hold one reference, which is
+ * {@link #release() released} when they are done, and each {@link InputStreamCache} holds a reference until
+ * it is closed. The buffer is returned to the pool when the last reference is released. A stream cache which
+ * is never closed keeps the buffer from the pool, which is then garbage collected.
  */
 public final class CachedByteArrayOutputStream extends ByteArrayOutputStream {
 
+    private final BufferPool bufferPool;
+    // the reference held by the exchanges using the cache
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    // whether the buffer was acquired from the pool, as only those buffers may be returned to the pool
+    private boolean pooled;
+    // whether the buffer is used by a stream cache
+    private boolean shared;
+
     public CachedByteArrayOutputStream(int size) {
-        super(size);
+        this(size, null);
+    }
+
+    public CachedByteArrayOutputStream(int size, BufferPool bufferPool) {
+        super(bufferPool != null ? 0 : size);
+        this.bufferPool = bufferPool;
+        if (bufferPool != null) {
+            buf = bufferPool.acquire(size);
+            pooled = true;
+        }
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        ensureCapacity(count + 1);
+        super.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        super.write(b, off, len);
     }
 
     /**
      * Creates a new {@link InputStreamCache} view of the byte array
      */
-    public InputStreamCache newInputStreamCache() {
-        return new InputStreamCache(buf, count);
+    public synchronized InputStreamCache newInputStreamCache() {
+        shared = true;
+        if (!pooled) {
+            return new InputStreamCache(buf, count);
+        }
+        retain();
+        return new InputStreamCache(this, buf, count);
+    }
+
+    /**
+     * Releases a reference to the buffer, and when it was the last reference, returns the buffer to the pool.
+     * <p/>
+     * The stream is empty afterwards.
+     */
+    public void release() {
+        if (refCount.decrementAndGet() == 0) {
+            doRelease();
+        }
+    }
+
+    /**
+     * Adds a reference to the buffer.
+     *
+     * @throws IllegalStateException if the buffer has already been released
+     */
+    void retain() {
+        if (!tryRetain()) {
+            throw new IllegalStateException("The stream cache has already been released");
+        }
+    }
+
+    /**
+     * Adds a reference to the buffer, unless it has already been released.
+     *
+     * @return <tt>true</tt> if a reference was added, <tt>false</tt> if the buffer has been released
+     */
+    boolean tryRetain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    int getRefCount() {
+        return refCount.get();
+    }
+
+    private synchronized void doRelease() {
+        if (pooled) {
+            bufferPool.release(buf);
+            pooled = false;
+        }
+        buf = new byte[0];
+        count = 0;
+        shared = false;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (bufferPool == null || minCapacity <= buf.length || minCapacity < 0) {
+            // let the byte array output stream grow the buffer
+            return;
+        }
+        byte[] grown = bufferPool.acquire(Math.max(buf.length << 1, minCapacity));
+        System.arraycopy(buf, 0, grown, 0, count);
+        if (pooled && !shared) {
+            bufferPool.release(buf);
+        }
+        // a buffer used by a stream cache is garbage collected instead
+        buf = grown;
+        pooled = true;
+        shared = false;
     }
 }
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.spi.BufferPool;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link OutputStream} which caches the data off heap in direct {@link ByteBuffer}s from the
+ * {@link StreamCachingStrategy#getBufferPool() buffer pool}, and spools to a file when the {@link StreamCachingStrategy} says so.
+ * <p/>
+ * The data is written to the spool file from the direct buffers, and read back by memory mapping the file,
+ * so the data does not have to be copied through the heap.
+ * <p/>
+ * The buffers and the spool file are reference counted. The exchanges using the cache hold one reference,
+ * which is released when they are done, and each {@link ByteBufferInputStreamCache} holds a reference until it is closed.
+ * The buffers are returned to the pool and the spool file is deleted when the last reference is released.
+ * A stream cache which is never closed keeps its buffers from the pool, which are then garbage collected,
+ * and its spool file until the spool directory is removed when the {@link StreamCachingStrategy} is stopped.
+ *
+ * @see ByteBufferInputStreamCache
+ */
+public class CachedByteBufferOutputStream extends OutputStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedByteBufferOutputStream.class);
+
+    private final StreamCachingStrategy strategy;
+    private final BufferPool bufferPool;
+    private final int bufferSize;
+    // the reference held by the exchanges using the cache
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    private ByteBuffer current;
+    private long length;
+    private File spoolFile;
+    private FileChannel channel;
+
+    public CachedByteBufferOutputStream(StreamCachingStrategy strategy) {
+        this.strategy = strategy;
+        this.bufferPool = strategy.getBufferPool();
+        this.bufferSize = strategy.getBufferSize();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (current == null || !current.hasRemaining()) {
+            nextBuffer();
+        }
+        current.put((byte) b);
+        length++;
+        if (channel == null && strategy.shouldSpoolCache(length)) {
+            spool();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) {
+                nextBuffer();
+            }
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            length += n;
+        }
+        if (channel == null && strategy.shouldSpoolCache(length)) {
+            spool();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (channel != null && current.position() > 0) {
+            writeCurrentToChannel();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the buffers and spool file are released when the last reference is released, see release
+        flush();
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Whether the data has been spooled to a file
+     */
+    public boolean isSpooled() {
+        return channel != null;
+    }
+
+    /**
+     * Creates a new {@link StreamCache} from the data cached in this {@link OutputStream}.
+     */
+    StreamCache newStreamCache(TempFileManager tempFileManager) throws IOException {
+        flush();
+
+        List<ByteBuffer> views = new ArrayList<ByteBuffer>();
+        if (channel != null) {
+            // map the spool file in segments as a mapped buffer cannot be larger than 2gb
+            long size = channel.size();
+            for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                views.add(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+            }
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                ByteBuffer view = buffer.duplicate();
+                view.flip();
+                views.add(view.asReadOnlyBuffer());
+            }
+        }
+        retain();
+        return new ByteBufferInputStreamCache(this, views.toArray(new ByteBuffer[views.size()]), channel, length, tempFileManager);
+    }
+
+    /**
+     * Adds a reference to the buffers and spool file.
+     *
+     * @throws IllegalStateException if the buffers have already been released
+     */
+    void retain() {
+        if (!tryRetain()) {
+            throw new IllegalStateException("The off heap stream cache has already been released");
+        }
+    }
+
+    /**
+     * Adds a reference to the buffers and spool file, unless they have already been released.
+     *
+     * @return <tt>true</tt> if a reference was added, <tt>false</tt> if the buffers have been released
+     */
+    boolean tryRetain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Releases a reference to the buffers and spool file, and when it was the last reference,
+     * returns the buffers to the pool and deletes the spool file.
+     */
+    void release() {
+        if (refCount.decrementAndGet() == 0) {
+            doRelease();
+        }
+    }
+
+    int getRefCount() {
+        return refCount.get();
+    }
+
+    private void doRelease() {
+        for (ByteBuffer buffer : buffers) {
+            bufferPool.releaseDirect(buffer);
+        }
+        buffers.clear();
+        current = null;
+        if (channel != null) {
+            IOHelper.close(channel, "spoolFile", LOG);
+            channel = null;
+        }
+        if (spoolFile != null) {
+            LOG.trace("Deleting temporary stream cache file: {}", spoolFile);
+            FileUtil.deleteFile(spoolFile);
+            spoolFile = null;
+        }
+    }
+
+    private void nextBuffer() throws IOException {
+        if (channel != null) {
+            // reuse the buffer as we write through to the spool file
+            writeCurrentToChannel();
+        } else {
+            current = bufferPool.acquireDirect(bufferSize);
+            buffers.add(current);
+        }
+    }
+
+    private void writeCurrentToChannel() throws IOException {
+        current.flip();
+        while (current.hasRemaining()) {
+            channel.write(current);
+        }
+        current.clear();
+    }
+
+    private void spool() throws IOException {
+        spoolFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
+        LOG.trace("Creating temporary stream cache file: {}", spoolFile);
+        channel = FileChannel.open(spoolFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // write the buffers to the file, and keep only the last buffer which is used from now on
+        current = buffers.remove(buffers.size() - 1);
+        for (ByteBuffer buffer : buffers) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            bufferPool.releaseDirect(buffer);
+        }
+        buffers.clear();
+        buffers.add(current);
+        writeCurrentToChannel();
+    }
+}
@@ -24,7 +24,9 @@ import java.io.OutputStream;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.spi.BufferPool;
 import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.util.ObjectHelper;
 
 /**
  * This output stream will store the content into a File if the stream context size is exceed the
@@ -64,7 +66,16 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        if (strategy.isOffHeap() && ObjectHelper.isEmpty(strategy.getSpoolChiper())) {
+            // cache in direct buffers and spool to a memory mapped file
+            CachedByteBufferOutputStream offHeap = new CachedByteBufferOutputStream(strategy);
+            tempFileManager.setOffHeapStream(offHeap);
+            currentStream = offHeap;
+        } else {
+            CachedByteArrayOutputStream inMemory = new CachedByteArrayOutputStream(strategy.getBufferSize(), strategy.getBufferPool());
+            tempFileManager.setInMemoryStream(inMemory);
+            currentStream = inMemory;
+        }
     }
 
     public void flush() throws IOException {
@@ -143,7 +154,9 @@ public class CachedOutputStream extends OutputStream {
     public StreamCache newStreamCache() throws IOException {
         flush();
 
-        if (inMemory) {
+        if (currentStream instanceof CachedByteBufferOutputStream) {
+            return ((CachedByteBufferOutputStream) currentStream).newStreamCache(tempFileManager);
+        } else if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
             } else {
@@ -162,6 +175,11 @@ public class CachedOutputStream extends OutputStream {
             // creates an tmp file and a file output stream
             currentStream = tempFileManager.createOutputStream(strategy);
             bout.writeTo(currentStream);
+            if (bout instanceof CachedByteArrayOutputStream) {
+                // the data is now in the file so the exchanges no longer need the buffer
+                tempFileManager.setInMemoryStream(null);
+                ((CachedByteArrayOutputStream) bout).release();
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
@@ -180,6 +198,13 @@ public class CachedOutputStream extends OutputStream {
         return strategy.getBufferSize();
     }
 
+    /**
+     * Gets the pool of buffers from the {@link StreamCachingStrategy}, to use when copying data to this stream.
+     */
+    public BufferPool getBufferPool() {
+        return strategy.getBufferPool();
+    }
+
     // This class will close the CachedOutputStream when it is closed
     private static class WrappedInputStream extends InputStream {
         private CachedOutputStream cachedOutputStream;
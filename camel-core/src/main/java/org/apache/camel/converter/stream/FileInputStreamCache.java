@@ -180,6 +180,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private CachedByteBufferOutputStream offHeapStream; // off heap buffers and spool file
+        private CachedByteArrayOutputStream inMemoryStream; // pooled in memory buffer
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -298,7 +300,26 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         } 
 
+        void setOffHeapStream(CachedByteBufferOutputStream offHeapStream) {
+            this.offHeapStream = offHeapStream;
+        }
+
+        void setInMemoryStream(CachedByteArrayOutputStream inMemoryStream) {
+            this.inMemoryStream = inMemoryStream;
+        }
+
         void cleanUpTempFile() {
+            if (offHeapStream != null) {
+                // release the reference of the exchanges to the off heap buffers and spool file,
+                // which are released when the stream caches using them are closed as well
+                offHeapStream.release();
+                offHeapStream = null;
+            }
+            if (inMemoryStream != null) {
+                // likewise for the pooled in memory buffer
+                inMemoryStream.release();
+                inMemoryStream = null;
+            }
             // cleanup temporary file
             try {
                 if (tempFile != null) {
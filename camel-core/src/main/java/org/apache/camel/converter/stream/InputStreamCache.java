@@ -19,30 +19,94 @@ package org.apache.camel.converter.stream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 
 /**
  * A {@link StreamCache} for caching using an in-memory byte array.
+ * <p/>
+ * When the byte array is a pooled buffer of a {@link CachedByteArrayOutputStream}, each stream cache, including
+ * each {@link #copy(Exchange) copy}, holds a reference to the buffer until it is {@link #close() closed}, so the
+ * buffer is not reused while the stream cache is in use. As with the other stream caches, a closed stream cache
+ * can be read again after a {@link #reset()}, which takes a new reference to the buffer, unless all the references
+ * have been released and the buffer has been returned to the pool. Reading it then fails with an
+ * {@link IllegalStateException}.
  */
 public final class InputStreamCache extends ByteArrayInputStream implements StreamCache {
 
+    private final CachedByteArrayOutputStream owner;
+    private final AtomicBoolean retained;
+
     public InputStreamCache(byte[] data) {
-        super(data);
+        this(null, data, data.length);
     }
 
     public InputStreamCache(byte[] data, int count) {
+        this(null, data, count);
+    }
+
+    /**
+     * Creates the stream cache, which takes over a reference to the pooled buffer of the owner,
+     * that is released when the stream cache is closed.
+     */
+    InputStreamCache(CachedByteArrayOutputStream owner, byte[] data, int count) {
         super(data);
         super.count = count;
+        this.owner = owner;
+        this.retained = owner != null ? new AtomicBoolean(true) : null;
     }
-    
+
+    @Override
+    public synchronized int read() {
+        ensureOpen();
+        return super.read();
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+        ensureOpen();
+        return super.read(b, off, len);
+    }
+
+    @Override
+    public synchronized long skip(long n) {
+        ensureOpen();
+        return super.skip(n);
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (owner != null && !retained.get()) {
+            if (!owner.tryRetain()) {
+                throw new IllegalStateException("The stream cache has been released and cannot be read anymore");
+            }
+            retained.set(true);
+        }
+        super.reset();
+    }
+
+    @Override
+    public void close() {
+        if (owner != null && retained.compareAndSet(true, false)) {
+            owner.release();
+        }
+    }
+
     public void writeTo(OutputStream os) throws IOException {
+        ensureOpen();
         os.write(buf, pos, count - pos);
     }
 
-    public StreamCache copy(Exchange exchange) {
-        return new InputStreamCache(buf, count);
+    public StreamCache copy(Exchange exchange) throws IOException {
+        if (owner == null) {
+            return new InputStreamCache(buf, count);
+        }
+        if (!owner.tryRetain()) {
+            throw new IOException("The stream cache has been released and cannot be copied");
+        }
+        return new InputStreamCache(owner, buf, count);
     }
 
     public boolean inMemory() {
@@ -52,4 +116,11 @@ public final class InputStreamCache extends ByteArrayInputStream implements Stre
     public long length() {
         return count;
     }
+
+    private void ensureOpen() {
+        if (owner != null && !retained.get()) {
+            // read again from the beginning after being closed, as the file stream cache does
+            reset();
+        }
+    }
 }
@@ -123,6 +123,13 @@ public class ActiveMQUuidGenerator implements UuidGenerator {
         this("ID-" + hostName);
     }
 
+    /**
+     * Gets the seed which is unique for this generator, and which the generated ids start with.
+     */
+    protected String getSeed() {
+        return seed;
+    }
+
     /**
      * As we have to find the hostname as a side-affect of generating a unique
      * stub, we allow it's easy retrieval here
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Map;
+
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.CompactCaseInsensitiveMap;
+
+/**
+ * A {@link HeadersMapFactory} which uses the array based {@link CompactCaseInsensitiveMap}.
+ * <p/>
+ * This map allocates less and is faster than the default {@link org.apache.camel.util.CaseInsensitiveMap} for
+ * messages with a typical number of headers, and copying the headers when an {@link org.apache.camel.Exchange}
+ * is copied is deferred until either of the copies is changed.
+ * <p/>
+ * Notice this map keeps the headers in insertion order, where as the default map keeps them sorted by their keys.
+ */
+public class CompactHeadersMapFactory implements HeadersMapFactory {
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new CompactCaseInsensitiveMap();
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        return new CompactCaseInsensitiveMap(map);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof CompactCaseInsensitiveMap;
+    }
+}
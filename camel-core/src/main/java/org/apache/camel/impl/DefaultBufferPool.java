@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.spi.BufferPool;
+
+/**
+ * Default implementation of {@link BufferPool}.
+ * <p/>
+ * The buffers are pooled in size classes of powers of two, from {@link #MIN_SIZE} to {@link #MAX_SIZE} bytes.
+ * Each thread keeps one buffer of each of the smaller size classes for itself, so acquiring and releasing
+ * such a buffer on the same thread does not contend with other threads. Otherwise the buffers are kept in
+ * a shared pool which holds at most <tt>maxBuffersPerSize</tt> buffers of each size class.
+ * Buffers larger than {@link #MAX_SIZE} are not pooled.
+ * <p/>
+ * The pool does not track the buffers it hands out, so releasing a buffer which was not acquired from the pool,
+ * but happens to have the size of a size class, adds it to the pool. Only the buffers of the calling thread
+ * and the shared buffers are discarded by {@link #clear()}, the buffers held by other threads are
+ * discarded when the threads terminate.
+ * <p/>
+ * Direct buffers are only kept in the shared pool, as they are mostly released by another thread
+ * than the thread which acquired them, when the exchanges using the off heap stream caches are done.
+ */
+public class DefaultBufferPool implements BufferPool {
+
+    public static final int MIN_SIZE = 1024;
+    public static final int MAX_SIZE = 256 * 1024;
+    public static final int DEFAULT_MAX_BUFFERS_PER_SIZE = 32;
+
+    // the largest size class which is cached per thread, so the memory held by each thread is bounded
+    private static final int MAX_THREAD_LOCAL_SIZE = 32 * 1024;
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_SIZE) - MIN_SHIFT + 1;
+    private static final int THREAD_LOCAL_SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_THREAD_LOCAL_SIZE) - MIN_SHIFT + 1;
+
+    private final ThreadLocal<byte[][]> threadLocalBuffers = ThreadLocal.withInitial(() -> new byte[THREAD_LOCAL_SIZE_CLASSES][]);
+    private final BlockingQueue<byte[]>[] sharedBuffers;
+    private final BlockingQueue<ByteBuffer>[] sharedDirectBuffers;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DefaultBufferPool() {
+        this(DEFAULT_MAX_BUFFERS_PER_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public DefaultBufferPool(int maxBuffersPerSize) {
+        sharedBuffers = new BlockingQueue[SIZE_CLASSES];
+        sharedDirectBuffers = new BlockingQueue[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            sharedBuffers[i] = new ArrayBlockingQueue<byte[]>(maxBuffersPerSize);
+            sharedDirectBuffers[i] = new ArrayBlockingQueue<ByteBuffer>(maxBuffersPerSize);
+        }
+    }
+
+    public byte[] acquire(int size) {
+        if (size > MAX_SIZE) {
+            misses.increment();
+            return new byte[size];
+        }
+
+        int sizeClass = sizeClass(size);
+        byte[] answer = null;
+        if (sizeClass < THREAD_LOCAL_SIZE_CLASSES) {
+            byte[][] local = threadLocalBuffers.get();
+            answer = local[sizeClass];
+            local[sizeClass] = null;
+        }
+        if (answer == null) {
+            answer = sharedBuffers[sizeClass].poll();
+        }
+
+        if (answer != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            answer = new byte[MIN_SIZE << sizeClass];
+        }
+        return answer;
+    }
+
+    public void release(byte[] buffer) {
+        int size = buffer.length;
+        if (size < MIN_SIZE || size > MAX_SIZE || Integer.bitCount(size) != 1) {
+            // cannot have been acquired from the pool
+            return;
+        }
+
+        int sizeClass = sizeClass(size);
+        if (sizeClass < THREAD_LOCAL_SIZE_CLASSES) {
+            byte[][] local = threadLocalBuffers.get();
+            if (local[sizeClass] == null) {
+                local[sizeClass] = buffer;
+                return;
+            }
+        }
+        // if the shared pool is full then the buffer is garbage collected
+        sharedBuffers[sizeClass].offer(buffer);
+    }
+
+    public ByteBuffer acquireDirect(int size) {
+        if (size > MAX_SIZE) {
+            misses.increment();
+            return ByteBuffer.allocateDirect(size);
+        }
+
+        int sizeClass = sizeClass(size);
+        ByteBuffer answer = sharedDirectBuffers[sizeClass].poll();
+        if (answer != null) {
+            hits.increment();
+            answer.clear();
+        } else {
+            misses.increment();
+            answer = ByteBuffer.allocateDirect(MIN_SIZE << sizeClass);
+        }
+        return answer;
+    }
+
+    public void releaseDirect(ByteBuffer buffer) {
+        int size = buffer.capacity();
+        if (!buffer.isDirect() || buffer.isReadOnly() || size < MIN_SIZE || size > MAX_SIZE || Integer.bitCount(size) != 1) {
+            // cannot have been acquired from the pool
+            return;
+        }
+        // if the shared pool is full then the buffer is garbage collected
+        sharedDirectBuffers[sizeClass(size)].offer(buffer);
+    }
+
+    public void clear() {
+        threadLocalBuffers.remove();
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            sharedBuffers[i].clear();
+            sharedDirectBuffers[i].clear();
+        }
+    }
+
+    public long getHitCounter() {
+        return hits.sum();
+    }
+
+    public long getMissCounter() {
+        return misses.sum();
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= MIN_SIZE) {
+            return 0;
+        }
+        // round up to the next power of two
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultBufferPool[hits=" + getHitCounter() + ", misses=" + getMissCounter() + "]";
+    }
+}
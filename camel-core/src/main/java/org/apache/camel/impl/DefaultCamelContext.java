@@ -135,6 +135,7 @@ import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -288,6 +289,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private ExecutorServiceManager executorServiceManager;
     private Debugger debugger;
     private UuidGenerator uuidGenerator = createDefaultUuidGenerator();
+    private HeadersMapFactory headersMapFactory = new DefaultHeadersMapFactory();
     private UnitOfWorkFactory unitOfWorkFactory = new DefaultUnitOfWorkFactory();
     private final StopWatch stopWatch = new StopWatch(false);
     private Date startDate;
@@ -4308,6 +4310,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.uuidGenerator = uuidGenerator;
     }
 
+    public HeadersMapFactory getHeadersMapFactory() {
+        return headersMapFactory;
+    }
+
+    public void setHeadersMapFactory(HeadersMapFactory headersMapFactory) {
+        this.headersMapFactory = headersMapFactory;
+    }
+
     public StreamCachingStrategy getStreamCachingStrategy() {
         if (streamCachingStrategy == null) {
             streamCachingStrategy = new DefaultStreamCachingStrategy();
@@ -4429,7 +4439,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
             // either "Production" or "Development"
             return new JavaUuidGenerator();
         } else {
-            return new ActiveMQUuidGenerator();
+            return new ThreadLocalUuidGenerator();
         }
     }
 
@@ -97,7 +97,7 @@ public final class DefaultExchange implements Exchange {
             exchange.getIn().setBody(getIn().getBody());
             exchange.getIn().setFault(getIn().isFault());
             if (getIn().hasHeaders()) {
-                exchange.getIn().setHeaders(safeCopyHeaders(getIn().getHeaders()));
+                exchange.getIn().setHeaders(safeCopyHeaders(getContext(), getIn().getHeaders()));
                 // just copy the attachments here
                 exchange.getIn().copyAttachments(getIn());
             }
@@ -105,7 +105,7 @@ public final class DefaultExchange implements Exchange {
                 exchange.getOut().setBody(getOut().getBody());
                 exchange.getOut().setFault(getOut().isFault());
                 if (getOut().hasHeaders()) {
-                    exchange.getOut().setHeaders(safeCopyHeaders(getOut().getHeaders()));
+                    exchange.getOut().setHeaders(safeCopyHeaders(getContext(), getOut().getHeaders()));
                 }
                 // Just copy the attachments here
                 exchange.getOut().copyAttachments(getOut());
@@ -128,11 +128,14 @@ public final class DefaultExchange implements Exchange {
         return exchange;
     }
 
-    private static Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
+    private static Map<String, Object> safeCopyHeaders(CamelContext context, Map<String, Object> headers) {
         if (headers == null) {
             return null;
         }
 
+        if (context != null && context.getHeadersMapFactory() != null) {
+            return context.getHeadersMapFactory().newMap(headers);
+        }
         Map<String, Object> answer = new CaseInsensitiveMap();
         answer.putAll(headers);
         return answer;
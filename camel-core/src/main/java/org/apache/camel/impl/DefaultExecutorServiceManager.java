@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -33,6 +34,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.NamedNode;
 import org.apache.camel.StaticService;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.OptionalIdentifiedDefinition;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ProcessorDefinitionHelper;
@@ -199,6 +201,7 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         ThreadPoolProfile profile = new ThreadPoolProfile(name);
         profile.setPoolSize(poolSize);
         profile.setMaxPoolSize(maxPoolSize);
+        profile.setPoolType(ThreadPoolType.Default);
         return newThreadPool(source, name, profile);
     }
 
@@ -225,6 +228,8 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         profile.setPoolSize(poolSize);
         profile.setMaxPoolSize(poolSize);
         profile.setKeepAliveTime(0L);
+        // must be a pool of platform threads of the given size, so single threaded pools keep the order of the tasks
+        profile.setPoolType(ThreadPoolType.Default);
         return newThreadPool(source, name, profile);
     }
 
@@ -336,6 +341,10 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolRemove(camelContext, threadPool);
             }
+        } else if (executorService instanceof ForkJoinPool) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                lifecycle.onThreadPoolRemove(camelContext, (ForkJoinPool) executorService);
+            }
         }
 
         // remove reference as its shutdown (do not remove if fail-safe)
@@ -380,6 +389,10 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolRemove(camelContext, threadPool);
             }
+        } else if (executorService instanceof ForkJoinPool) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                lifecycle.onThreadPoolRemove(camelContext, (ForkJoinPool) executorService);
+            }
         }
 
         // remove reference as its shutdown (do not remove if fail-safe)
@@ -538,6 +551,10 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolAdd(camelContext, threadPool, id, sourceId, routeId, threadPoolProfileId);
             }
+        } else if (executorService instanceof ForkJoinPool) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                lifecycle.onThreadPoolAdd(camelContext, (ForkJoinPool) executorService, id, sourceId, routeId, threadPoolProfileId);
+            }
         }
 
         // now call strategy to allow custom logic
@@ -23,6 +23,7 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,15 +44,16 @@ import org.slf4j.LoggerFactory;
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<String, Exchange>();
+    // track the exchanges by identity, so the exchange id is only created when the inflight exchanges are browsed
+    private final Set<Exchange> inflight = Collections.newSetFromMap(new ConcurrentHashMap<Exchange, Boolean>());
     private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<String, AtomicInteger>();
 
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        inflight.add(exchange);
     }
 
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        inflight.remove(exchange);
     }
 
     public void add(Exchange exchange, String routeId) {
@@ -110,11 +112,11 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         List<Exchange> values;
         if (fromRouteId == null) {
             // all values
-            values = new ArrayList<Exchange>(inflight.values());
+            values = new ArrayList<Exchange>(inflight);
         } else {
             // only if route match
             values = new ArrayList<Exchange>();
-            for (Exchange exchange : inflight.values()) {
+            for (Exchange exchange : inflight) {
                 String exchangeRouteId = exchange.getFromRouteId();
                 if (fromRouteId.equals(exchangeRouteId)) {
                     values.add(exchange);
@@ -24,7 +24,9 @@ import java.util.function.Supplier;
 import javax.activation.DataHandler;
 
 import org.apache.camel.Attachment;
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.util.AttachmentMap;
 import org.apache.camel.util.CaseInsensitiveMap;
 import org.apache.camel.util.EndpointHelper;
@@ -36,6 +38,8 @@ import org.apache.camel.util.EndpointHelper;
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * The map implementation can be changed by configuring a custom {@link HeadersMapFactory} on the {@link CamelContext}.
  *
  * @version 
  */
@@ -198,7 +202,15 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        HeadersMapFactory factory = getHeadersMapFactory();
+        if (factory != null) {
+            if (factory.isInstanceOf(headers)) {
+                this.headers = headers;
+            } else {
+                // wrap it in a case insensitive map
+                this.headers = factory.newMap(headers);
+            }
+        } else if (headers instanceof CaseInsensitiveMap) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
@@ -227,11 +239,28 @@ public class DefaultMessage extends MessageSupport {
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        HeadersMapFactory factory = getHeadersMapFactory();
+        Map<String, Object> map = factory != null ? factory.newMap() : new CaseInsensitiveMap();
         populateInitialHeaders(map);
         return map;
     }
 
+    /**
+     * Gets the {@link HeadersMapFactory} configured on the {@link CamelContext} of the exchange this message belongs to.
+     *
+     * @return the factory, or <tt>null</tt> if this message is not associated with an exchange
+     */
+    protected HeadersMapFactory getHeadersMapFactory() {
+        Exchange exchange = getExchange();
+        if (exchange != null) {
+            CamelContext context = exchange.getContext();
+            if (context != null) {
+                return context.getHeadersMapFactory();
+            }
+        }
+        return null;
+    }
+
     /**
      * A factory method to lazily create the attachmentObjects to make it easy to
      * create efficient Message implementations which only construct and
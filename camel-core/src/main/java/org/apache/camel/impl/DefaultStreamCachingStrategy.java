@@ -28,6 +28,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.spi.BufferPool;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
@@ -60,6 +61,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolChiper;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
+    private BufferPool bufferPool = new DefaultBufferPool();
+    private boolean offHeap;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<SpoolRule>();
@@ -133,6 +136,22 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.bufferSize = bufferSize;
     }
 
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public void setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
     }
@@ -326,6 +345,11 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             FileUtil.removeDir(spoolDirectory);
         }
 
+        // discard the pooled buffers to free the memory while stopped
+        if (bufferPool != null) {
+            bufferPool.clear();
+        }
+
         if (LOG.isDebugEnabled() && statistics.isStatisticsEnabled()) {
             LOG.debug("Stopping StreamCachingStrategy with statistics: {}", statistics.toString());
         }
@@ -341,6 +365,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", offHeap=" + offHeap
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
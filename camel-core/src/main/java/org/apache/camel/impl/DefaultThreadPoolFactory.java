@@ -28,23 +28,40 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.RejectableForkJoinPool;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
  */
 public class DefaultThreadPoolFactory implements ThreadPoolFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+
     public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
         return Executors.newCachedThreadPool(threadFactory);
     }
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (profile.getPoolType() == ThreadPoolType.VirtualThreads) {
+            if (VirtualThreads.isSupported()) {
+                return VirtualThreads.newThreadPerTaskExecutor(factory);
+            }
+            LOG.warn("Virtual threads are not supported on this JVM, using a thread pool instead for thread pool profile: {}", profile.getId());
+        } else if (profile.getPoolType() == ThreadPoolType.WorkStealing) {
+            return newWorkStealingPool(profile.getPoolSize(), profile.getMaxQueueSize(), profile.getRejectedPolicy(), factory);
+        }
+
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
@@ -57,6 +74,17 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
                              factory);
     }
 
+    public ExecutorService newWorkStealingPool(Integer parallelism, Integer maxQueueSize, ThreadPoolRejectedPolicy rejectedPolicy,
+                                               ThreadFactory threadFactory) throws IllegalArgumentException {
+        // use the number of processors as parallelism if not configured
+        int size = parallelism != null ? parallelism : 0;
+        if (size < 0) {
+            throw new IllegalArgumentException("Parallelism must be >= 0, was " + size);
+        }
+        int queueSize = maxQueueSize != null ? maxQueueSize : 0;
+        return new RejectableForkJoinPool(size, queueSize, rejectedPolicy, threadFactory);
+    }
+
     public ExecutorService newThreadPool(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit timeUnit, int maxQueueSize, boolean allowCoreThreadTimeOut,
                                          RejectedExecutionHandler rejectedExecutionHandler, ThreadFactory threadFactory) throws IllegalArgumentException {
 
@@ -150,6 +150,10 @@ public abstract class MessageSupport implements Message, DataTypeAware {
 
     public Message copy() {
         Message answer = newInstance();
+        if (answer instanceof MessageSupport && ((MessageSupport) answer).getExchange() == null) {
+            // associate the copy with the exchange so it creates its headers using the same factory
+            ((MessageSupport) answer).setExchange(getExchange());
+        }
         answer.copyFrom(this);
         return answer;
     }
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link org.apache.camel.spi.UuidGenerator} which generates the same unique ids as {@link ActiveMQUuidGenerator}
+ * but without any contention between threads.
+ * <p/>
+ * Each thread is given its own unique number the first time it generates an id, and has its own sequence,
+ * so the ids are in the form <tt>seed-thread-sequence</tt>. The seed and thread number are rendered once per thread,
+ * so generating an id only has to render the sequence number.
+ */
+public class ThreadLocalUuidGenerator extends ActiveMQUuidGenerator {
+
+    private final AtomicLong threadCounter = new AtomicLong();
+    private final ThreadLocal<Sequence> sequences = ThreadLocal.withInitial(() -> new Sequence(getSeed() + threadCounter.incrementAndGet() + "-"));
+
+    public ThreadLocalUuidGenerator(String prefix) {
+        super(prefix);
+    }
+
+    public ThreadLocalUuidGenerator() {
+    }
+
+    @Override
+    public String generateUuid() {
+        return sequences.get().next();
+    }
+
+    /**
+     * The sequence of a thread, which renders the ids in a reusable buffer holding the prefix.
+     */
+    private static final class Sequence {
+        private static final int MAX_DIGITS = 19;
+        private final char[] buffer;
+        private final int prefixLength;
+        private long counter;
+
+        Sequence(String prefix) {
+            this.prefixLength = prefix.length();
+            this.buffer = new char[prefixLength + MAX_DIGITS];
+            prefix.getChars(0, prefixLength, buffer, 0);
+        }
+
+        String next() {
+            long value = ++counter;
+            int end = prefixLength + digits(value);
+            for (int pos = end - 1; pos >= prefixLength; pos--) {
+                buffer[pos] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            return new String(buffer, 0, end);
+        }
+
+        private static int digits(long value) {
+            long limit = 10;
+            for (int i = 1; i < MAX_DIGITS; i++) {
+                if (value < limit) {
+                    return i;
+                }
+                limit *= 10;
+            }
+            return MAX_DIGITS;
+        }
+    }
+}
@@ -61,6 +61,10 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * If a JAR also contains type converter loaders generated at build time, which are listed in the
+ * {@link GeneratedTypeConverterLoaderSupport#META_INF_SERVICES} file, then these loaders are used instead
+ * of scanning the packages of that JAR.
  *
  * @version
  */
@@ -71,6 +75,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<String> visitedURIs = new HashSet<String>();
+    protected List<TypeConverterLoader> generatedLoaders = new ArrayList<TypeConverterLoader>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -78,18 +83,41 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
 
     @Override
     public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+        try {
+            doLoad(registry);
+        } finally {
+            // now clear the maps so we do not hold references
+            visitedClasses.clear();
+            visitedURIs.clear();
+            generatedLoaders.clear();
+        }
+    }
+
+    private void doLoad(TypeConverterRegistry registry) throws TypeConverterLoaderException {
         String[] packageNames;
 
         LOG.trace("Searching for {} services", META_INF_SERVICES);
         try {
             packageNames = findPackageNames();
-            if (packageNames == null || packageNames.length == 0) {
+            if ((packageNames == null || packageNames.length == 0) && generatedLoaders.isEmpty()) {
                 throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
             }
         } catch (Exception e) {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
         }
 
+        // load the type converters from the loaders generated at build time, which needs no package scanning
+        if (!generatedLoaders.isEmpty()) {
+            LOG.debug("Loading type converters from {} generated type converter loaders", generatedLoaders.size());
+            for (TypeConverterLoader loader : generatedLoaders) {
+                LOG.trace("Loading type converters from generated loader: {}", loader);
+                loader.load(registry);
+            }
+        }
+        if (packageNames == null || packageNames.length == 0) {
+            return;
+        }
+
         // if we only have camel-core on the classpath then we have already pre-loaded all its type converters
         // but we exposed the "org.apache.camel.core" package in camel-core. This ensures there is at least one
         // packageName to scan, which triggers the scanning process. That allows us to ensure that we look for
@@ -129,10 +157,6 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             }
             loadConverterMethods(registry, type);
         }
-
-        // now clear the maps so we do not hold references
-        visitedClasses.clear();
-        visitedURIs.clear();
     }
 
     /**
@@ -215,6 +239,14 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (!visitedURIs.contains(path)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
+
+                // use the type converter loaders generated at build time for the JAR if possible
+                List<TypeConverterLoader> loaders = findGeneratedTypeConverterLoaders(url, classLoader);
+                if (loaders != null) {
+                    generatedLoaders.addAll(loaders);
+                    continue;
+                }
+
                 LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
                 BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
                 try {
@@ -236,6 +268,70 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
     }
 
+    /**
+     * Finds the type converter loaders generated at build time, which are listed in the
+     * {@link GeneratedTypeConverterLoaderSupport#META_INF_SERVICES} file next to the given {@link #META_INF_SERVICES} file.
+     *
+     * @param url the url of the {@link #META_INF_SERVICES} file
+     * @param classLoader the class loader to load the type converter loaders
+     * @return the type converter loaders, or <tt>null</tt> if there is none, or they cannot be loaded
+     */
+    protected List<TypeConverterLoader> findGeneratedTypeConverterLoaders(URL url, ClassLoader classLoader) {
+        String external = url.toExternalForm();
+        if (!external.endsWith(META_INF_SERVICES)) {
+            return null;
+        }
+
+        List<String> names = new ArrayList<String>();
+        try {
+            URL loaderUrl = new URL(external.substring(0, external.length() - META_INF_SERVICES.length())
+                    + GeneratedTypeConverterLoaderSupport.META_INF_SERVICES);
+            BufferedReader reader = IOHelper.buffered(new InputStreamReader(loaderUrl.openStream(), UTF8));
+            try {
+                while (true) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    line = line.trim();
+                    if (!line.startsWith("#") && line.length() > 0) {
+                        names.add(line);
+                    }
+                }
+            } finally {
+                IOHelper.close(reader, null, LOG);
+            }
+        } catch (IOException e) {
+            // there is no generated type converter loaders
+            return null;
+        }
+        if (names.isEmpty()) {
+            return null;
+        }
+
+        String base = external.substring(0, external.length() - META_INF_SERVICES.length());
+        List<TypeConverterLoader> answer = new ArrayList<TypeConverterLoader>(names.size());
+        for (String name : names) {
+            // the loader must come from the same JAR as the services file, as a loader with the same name
+            // in another JAR would not load the type converters of this JAR
+            URL classUrl = classLoader.getResource(name.replace('.', '/') + ".class");
+            if (classUrl != null && !classUrl.toExternalForm().startsWith(base)) {
+                LOG.warn("Generated type converter loader: " + name + " from url: " + url + " is shadowed by: " + classUrl
+                        + ". Will scan the packages for annotated type converters instead.");
+                return null;
+            }
+            try {
+                Class<?> type = classLoader.loadClass(name);
+                answer.add(ObjectHelper.newInstance(type, TypeConverterLoader.class));
+            } catch (Throwable e) {
+                LOG.warn("Cannot load generated type converter loader: " + name + " from url: " + url
+                        + ". Will scan the packages for annotated type converters instead. Cause: " + e, e);
+                return null;
+            }
+        }
+        return answer;
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
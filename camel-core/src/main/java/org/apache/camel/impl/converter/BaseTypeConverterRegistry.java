@@ -18,6 +18,7 @@ package org.apache.camel.impl.converter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,6 +29,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -67,6 +69,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected final ConcurrentMap<TypeMapping, TypeConverter> typeMappings = new ConcurrentHashMap<TypeMapping, TypeConverter>();
     // for misses use a soft reference cache map, as the classes may be un-deployed at runtime
     protected final LRUSoftCache<TypeMapping, TypeMapping> misses = new LRUSoftCache<TypeMapping, TypeMapping>(1000);
+    // index of the type converters found by (from -> to) type, which can be looked up without creating a TypeMapping key
+    protected final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>> converterCache = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>>();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<TypeConverterLoader>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<FallbackTypeConverter>();
     protected final PackageScanClassResolver resolver;
@@ -81,6 +85,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected final AtomicLong missCounter = new AtomicLong();
     protected final AtomicLong hitCounter = new AtomicLong();
     protected final AtomicLong failedCounter = new AtomicLong();
+    protected final ConcurrentMap<TypeMapping, TypeMappingStatistics> mappingStatistics = new ConcurrentHashMap<TypeMapping, TypeMappingStatistics>();
 
     public BaseTypeConverterRegistry(PackageScanClassResolver resolver, Injector injector, FactoryFinder factoryFinder) {
         this.resolver = resolver;
@@ -284,21 +289,54 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // okay we need to attempt to convert
-        if (statistics.isStatisticsEnabled()) {
-            attemptCounter.incrementAndGet();
+        if (!statistics.isStatisticsEnabled()) {
+            return doAttemptConvertTo(type, exchange, value, tryConvert);
+        }
+
+        attemptCounter.incrementAndGet();
+        TypeMappingStatistics stats = getOrCreateMappingStatistics(type, value.getClass());
+        long start = System.nanoTime();
+        try {
+            Object answer = doAttemptConvertTo(type, exchange, value, tryConvert);
+            if (answer == Void.TYPE) {
+                stats.missCounter.increment();
+            } else {
+                stats.hitCounter.increment();
+            }
+            return answer;
+        } catch (RuntimeException e) {
+            stats.failedCounter.increment();
+            throw e;
+        } finally {
+            stats.totalTime.add(System.nanoTime() - start);
         }
+    }
 
-        // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
-            // we have tried before but we cannot convert this one
-            return Void.TYPE;
+    protected Object doAttemptConvertTo(final Class<?> type, final Exchange exchange, final Object value, final boolean tryConvert) {
+        final Class<?> fromType = value.getClass();
+
+        // use the converter we have found before if possible, which avoids creating a key to lookup
+        TypeMapping key = null;
+        TypeConverter converter = getCachedTypeConverter(type, fromType);
+        if (converter == null) {
+            // check if we have tried it before and if its a miss
+            key = new TypeMapping(type, fromType);
+            if (misses.containsKey(key)) {
+                // we have tried before but we cannot convert this one
+                return Void.TYPE;
+            }
+
+            // try to find a suitable type converter
+            converter = getOrFindTypeConverter(key);
+            if (converter != null) {
+                cacheTypeConverter(type, fromType, converter);
+            }
         }
-        
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(key);
+
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            if (log.isTraceEnabled()) {
+                log.trace("Using converter: {} to convert {}", converter, key != null ? key : new TypeMapping(type, fromType));
+            }
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -316,7 +354,6 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (type.isPrimitive()) {
             Class<?> primitiveType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
             if (primitiveType != type) {
-                Class<?> fromType = value.getClass();
                 TypeConverter tc = getOrFindTypeConverter(new TypeMapping(primitiveType, fromType));
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
@@ -379,6 +416,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
+            if (key == null) {
+                key = new TypeMapping(type, fromType);
+            }
             misses.put(key, key);
         }
 
@@ -418,6 +458,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 typeMappings.put(key, typeConverter);
                 // remove any previous misses, as we added the new type converter
                 misses.remove(key);
+                // and the converters found before as the new type converter may be a better match
+                converterCache.clear();
             }
         }
     }
@@ -442,6 +484,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (converter != null) {
             typeMappings.remove(key);
             misses.remove(key);
+            converterCache.clear();
         }
         return converter != null;
     }
@@ -503,6 +546,27 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return typeMappings;
     }
 
+    protected TypeConverter getCachedTypeConverter(Class<?> toType, Class<?> fromType) {
+        Map<Class<?>, TypeConverter> converters = converterCache.get(fromType);
+        return converters != null ? converters.get(toType) : null;
+    }
+
+    protected void cacheTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter converter) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(fromType);
+        if (converters == null) {
+            converters = new ConcurrentHashMap<Class<?>, TypeConverter>();
+            ConcurrentMap<Class<?>, TypeConverter> existing = converterCache.putIfAbsent(fromType, converters);
+            if (existing != null) {
+                converters = existing;
+            }
+        }
+        converters.put(toType, converter);
+    }
+
+    protected TypeMappingStatistics getOrCreateMappingStatistics(Class<?> toType, Class<?> fromType) {
+        return mappingStatistics.computeIfAbsent(new TypeMapping(toType, fromType), TypeMappingStatistics::new);
+    }
+
     protected <T> TypeConverter getOrFindTypeConverter(TypeMapping key) {
         TypeConverter converter = typeMappings.get(key);
         if (converter == null) {
@@ -671,6 +735,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
         typeMappings.clear();
         misses.clear();
+        converterCache.clear();
         statistics.reset();
     }
 
@@ -706,6 +771,11 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             return failedCounter.get();
         }
 
+        @Override
+        public Collection<MappingStatistics> getMappingStatistics() {
+            return new ArrayList<MappingStatistics>(mappingStatistics.values());
+        }
+
         @Override
         public void reset() {
             noopCounter.set(0);
@@ -713,6 +783,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             hitCounter.set(0);
             missCounter.set(0);
             failedCounter.set(0);
+            mappingStatistics.clear();
         }
 
         @Override
@@ -732,6 +803,57 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
     }
 
+    /**
+     * Represents utilization statistics of a type mapping
+     */
+    protected static final class TypeMappingStatistics implements MappingStatistics {
+        private final TypeMapping mapping;
+        private final LongAdder hitCounter = new LongAdder();
+        private final LongAdder missCounter = new LongAdder();
+        private final LongAdder failedCounter = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+
+        TypeMappingStatistics(TypeMapping mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public Class<?> getFromType() {
+            return mapping.getFromType();
+        }
+
+        @Override
+        public Class<?> getToType() {
+            return mapping.getToType();
+        }
+
+        @Override
+        public long getHitCounter() {
+            return hitCounter.sum();
+        }
+
+        @Override
+        public long getMissCounter() {
+            return missCounter.sum();
+        }
+
+        @Override
+        public long getFailedCounter() {
+            return failedCounter.sum();
+        }
+
+        @Override
+        public long getTotalTime() {
+            return totalTime.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[hits=%s, misses=%s, failures=%s, totalTime=%s]",
+                    mapping, getHitCounter(), getMissCounter(), getFailedCounter(), getTotalTime());
+        }
+    }
+
     /**
      * Represents a mapping from one type (which can be null) to another
      */
@@ -33,6 +33,10 @@ public class CachingInjector<T> {
         this.type = type;
     }
 
+    public Class<T> getType() {
+        return type;
+    }
+
     public synchronized T newInstance() {
         if (instance == null) {
             instance = createInstance(type);
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.TypeConverterAware;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for the {@link TypeConverterLoader}s which are generated at build time by the Camel annotation processor,
+ * which registers the {@link org.apache.camel.Converter} methods of a JAR without package scanning or reflection.
+ * <p/>
+ * The generated loaders are listed in the {@link #META_INF_SERVICES} file of the JAR, and are used by the
+ * {@link AnnotationTypeConverterLoader} instead of scanning the packages in its
+ * {@link AnnotationTypeConverterLoader#META_INF_SERVICES} file.
+ *
+ * @version
+ */
+public abstract class GeneratedTypeConverterLoaderSupport implements TypeConverterLoader {
+    public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedTypeConverterLoaderSupport.class);
+
+    protected void addTypeConverter(TypeConverterRegistry registry, Class<?> toType, Class<?> fromType, boolean allowNull,
+                                    String name, SimpleTypeConverter.ConversionMethod method) {
+        registry.addTypeConverter(toType, fromType, new SimpleTypeConverter(allowNull, name, method));
+    }
+
+    protected void addFallbackTypeConverter(TypeConverterRegistry registry, boolean canPromote, boolean allowNull,
+                                            String name, SimpleTypeConverter.ConversionMethod method) {
+        registry.addFallbackTypeConverter(new SimpleTypeConverter(allowNull, name, method), canPromote);
+    }
+
+    /**
+     * Gets the instance to use for calling an instance converter method, in the same way as {@link InstanceMethodTypeConverter}
+     */
+    protected <T> T getInstance(CachingInjector<T> injector, TypeConverterRegistry registry) {
+        T instance = injector.newInstance();
+        if (instance == null) {
+            throw new RuntimeCamelException("Could not instantiate an instance of: " + injector.getType().getCanonicalName());
+        }
+        // inject parent type converter
+        if (instance instanceof TypeConverterAware && registry instanceof TypeConverter) {
+            ((TypeConverterAware) instance).setTypeConverter((TypeConverter) registry);
+        }
+        return instance;
+    }
+
+    /**
+     * Handles a converter class which cannot be loaded, in the same way as {@link AnnotationTypeConverterLoader}
+     */
+    protected void handleLoadError(String type, boolean ignoreOnLoadError, NoClassDefFoundError e) {
+        if (ignoreOnLoadError) {
+            LOG.debug("Ignoring converter type: " + type + " as a dependent class could not be found: " + e, e);
+        } else {
+            LOG.warn("Ignoring converter type: " + type + " as a dependent class could not be found: " + e, e);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A {@link org.apache.camel.TypeConverter} which converts using a {@link ConversionMethod},
+ * such as a lambda calling a type converter method directly without using reflection.
+ *
+ * @version
+ */
+public class SimpleTypeConverter extends TypeConverterSupport {
+
+    /**
+     * The method which converts the value to the given type.
+     */
+    @FunctionalInterface
+    public interface ConversionMethod {
+
+        Object doConvert(Class<?> type, Exchange exchange, Object value) throws Exception;
+    }
+
+    private final boolean allowNull;
+    private final String name;
+    private final ConversionMethod method;
+
+    public SimpleTypeConverter(boolean allowNull, String name, ConversionMethod method) {
+        this.allowNull = allowNull;
+        this.name = name;
+        this.method = method;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleTypeConverter: " + name;
+    }
+
+    @Override
+    public boolean allowNull() {
+        return allowNull;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+        try {
+            return (T) method.doConvert(type, exchange, value);
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
+}
@@ -16,12 +16,19 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.PredicateToExpressionAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A <a href="http://camel.apache.org/simple.html">simple language</a>
@@ -86,24 +93,88 @@ import org.apache.camel.util.PredicateToExpressionAdapter;
  * return the full path including the starting directory.
  * <br/>
  * The <b>only</b> file is the filename only with all paths clipped.
+ * <p/>
+ * When the language is used with a {@link CamelContext} then the parsed expressions and predicates are cached
+ * by their text, so dynamic EIPs such as dynamic to and recipient list which create the same expression per message
+ * do not parse the expression over and over again. The size of the cache can be configured using the global
+ * option {@link org.apache.camel.Exchange#MAXIMUM_SIMPLE_CACHE_SIZE}. The cache is discarded when the function
+ * start or end tokens are changed, as the tokens are shared by all the instances of the language.
  *
  */
 public class SimpleLanguage extends LanguageSupport {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleLanguage.class);
+
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     protected boolean allowEscape = true;
 
+    // cache the parsed expressions and predicates as parsing is expensive
+    private Map<String, Expression> cacheExpression;
+    private Map<String, Predicate> cachePredicate;
+    // the version of the function tokens the cached expressions and predicates were parsed with
+    private volatile int cacheTokensVersion;
+
     /**
      * Default constructor.
      */
     public SimpleLanguage() {
     }
 
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        super.setCamelContext(camelContext);
+
+        // setup cache which requires the CamelContext to lookup the cache size
+        int maxSize = CamelContextHelper.getMaximumSimpleCacheSize(camelContext);
+        if (maxSize > 0) {
+            LOG.debug("Simple language expression and predicate cache size: {}", maxSize);
+            cacheExpression = new LRUCache<String, Expression>(16, maxSize, false);
+            cachePredicate = new LRUCache<String, Predicate>(16, maxSize, false);
+            cacheTokensVersion = SimpleTokenizer.getFunctionTokensVersion();
+        } else {
+            LOG.debug("Simple language expression and predicate cache is disabled");
+            cacheExpression = null;
+            cachePredicate = null;
+        }
+    }
+
     public Predicate createPredicate(String expression) {
         ObjectHelper.notNull(expression, "expression");
 
+        Map<String, Predicate> cache = cachePredicate;
+        if (cache != null) {
+            checkCacheTokensVersion();
+        }
+        Predicate answer = cache != null ? cache.get(expression) : null;
+        if (answer == null) {
+            answer = doCreatePredicate(expression);
+            if (cache != null) {
+                cache.put(expression, answer);
+            }
+        }
+        return answer;
+    }
+
+    public Expression createExpression(String expression) {
+        ObjectHelper.notNull(expression, "expression");
+
+        Map<String, Expression> cache = cacheExpression;
+        if (cache != null) {
+            checkCacheTokensVersion();
+        }
+        Expression answer = cache != null ? cache.get(expression) : null;
+        if (answer == null) {
+            answer = doCreateExpression(expression);
+            if (cache != null) {
+                cache.put(expression, answer);
+            }
+        }
+        return answer;
+    }
+
+    protected Predicate doCreatePredicate(String expression) {
         expression = loadResource(expression);
 
         // support old simple language syntax
@@ -117,9 +188,7 @@ public class SimpleLanguage extends LanguageSupport {
         return answer;
     }
 
-    public Expression createExpression(String expression) {
-        ObjectHelper.notNull(expression, "expression");
-
+    protected Expression doCreateExpression(String expression) {
         expression = loadResource(expression);
 
         // support old simple language syntax
@@ -232,6 +301,7 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionStartToken(String startToken) {
         changeFunctionStartToken(startToken);
+        clearCache();
     }
 
     /**
@@ -246,5 +316,45 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionEndToken(String endToken) {
         changeFunctionEndToken(endToken);
+        clearCache();
+    }
+
+    /**
+     * Clears the cache if the function tokens have been changed since the expressions and predicates were parsed,
+     * which may be done on another instance of the language, as the tokens are static.
+     */
+    private void checkCacheTokensVersion() {
+        int version = SimpleTokenizer.getFunctionTokensVersion();
+        if (version != cacheTokensVersion) {
+            LOG.debug("Simple language function tokens changed, clearing the cache of parsed expressions and predicates");
+            clearCache();
+            cacheTokensVersion = version;
+        }
+    }
+
+    /**
+     * Number of parsed expressions and predicates currently in the cache.
+     */
+    public int getCacheSize() {
+        int size = 0;
+        if (cacheExpression != null) {
+            size += cacheExpression.size();
+        }
+        if (cachePredicate != null) {
+            size += cachePredicate.size();
+        }
+        return size;
+    }
+
+    /**
+     * Clears the cache of parsed expressions and predicates.
+     */
+    public void clearCache() {
+        if (cacheExpression != null) {
+            cacheExpression.clear();
+        }
+        if (cachePredicate != null) {
+            cachePredicate.clear();
+        }
     }
 }
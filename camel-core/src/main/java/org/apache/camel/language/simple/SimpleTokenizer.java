@@ -18,6 +18,7 @@ package org.apache.camel.language.simple;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.language.simple.types.SimpleToken;
 import org.apache.camel.language.simple.types.SimpleTokenType;
@@ -32,6 +33,9 @@ public final class SimpleTokenizer {
     // use CopyOnWriteArrayList so we can modify it in the for loop when changing function start/end tokens
     private static final List<SimpleTokenType> KNOWN_TOKENS = new CopyOnWriteArrayList<SimpleTokenType>();
 
+    // incremented when the function start/end tokens are changed, so parsed expressions can be discarded
+    private static final AtomicInteger FUNCTION_TOKENS_VERSION = new AtomicInteger();
+
     static {
         // add known tokens
         KNOWN_TOKENS.add(new SimpleTokenType(TokenType.functionStart, "${"));
@@ -107,10 +111,18 @@ public final class SimpleTokenizer {
         return false;
     }
 
+    /**
+     * The version of the function start/end tokens, which is changed each time the tokens are changed.
+     */
+    static int getFunctionTokensVersion() {
+        return FUNCTION_TOKENS_VERSION.get();
+    }
+
     /**
      * @see SimpleLanguage#changeFunctionStartToken(String...)
      */
     public static void changeFunctionStartToken(String... startToken) {
+        FUNCTION_TOKENS_VERSION.incrementAndGet();
         for (SimpleTokenType type : KNOWN_TOKENS) {
             if (type.getType() == TokenType.functionStart) {
                 KNOWN_TOKENS.remove(type);
@@ -127,6 +139,7 @@ public final class SimpleTokenizer {
      * @see SimpleLanguage#changeFunctionEndToken(String...)
      */
     public static void changeFunctionEndToken(String... endToken) {
+        FUNCTION_TOKENS_VERSION.incrementAndGet();
         for (SimpleTokenType type : KNOWN_TOKENS) {
             if (type.getType() == TokenType.functionEnd) {
                 KNOWN_TOKENS.remove(type);
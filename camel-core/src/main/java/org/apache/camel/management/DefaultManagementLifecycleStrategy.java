@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import javax.management.JMException;
 import javax.management.MalformedObjectNameException;
@@ -139,7 +141,7 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
     private final Map<Tracer, ManagedTracer> managedTracers = new HashMap<Tracer, ManagedTracer>();
     private final Map<BacklogTracer, ManagedBacklogTracer> managedBacklogTracers = new HashMap<BacklogTracer, ManagedBacklogTracer>();
     private final Map<BacklogDebugger, ManagedBacklogDebugger> managedBacklogDebuggers = new HashMap<BacklogDebugger, ManagedBacklogDebugger>();
-    private final Map<ThreadPoolExecutor, Object> managedThreadPools = new HashMap<ThreadPoolExecutor, Object>();
+    private final Map<ExecutorService, Object> managedThreadPools = new HashMap<ExecutorService, Object>();
 
     public DefaultManagementLifecycleStrategy() {
     }
@@ -678,6 +680,26 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
         }
 
         Object mtp = getManagementObjectStrategy().getManagedObjectForThreadPool(camelContext, threadPool, id, sourceId, routeId, threadPoolProfileId);
+        manageThreadPool(threadPool, mtp);
+    }
+
+    public void onThreadPoolAdd(CamelContext camelContext, ForkJoinPool threadPool, String id,
+                                String sourceId, String routeId, String threadPoolProfileId) {
+
+        if (!shouldRegister(threadPool, null)) {
+            // avoid registering if not needed
+            return;
+        }
+
+        Object mtp = getManagementObjectStrategy().getManagedObjectForThreadPool(camelContext, threadPool, id, sourceId, routeId, threadPoolProfileId);
+        manageThreadPool(threadPool, mtp);
+    }
+
+    private void manageThreadPool(ExecutorService threadPool, Object mtp) {
+        if (mtp == null) {
+            // the management object strategy does not manage this kind of thread pool
+            return;
+        }
 
         // skip already managed services, for example if a route has been restarted
         if (getManagementStrategy().isManaged(mtp, null)) {
@@ -696,6 +718,14 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
     }
 
     public void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+        unmanageThreadPool(threadPool);
+    }
+
+    public void onThreadPoolRemove(CamelContext camelContext, ForkJoinPool threadPool) {
+        unmanageThreadPool(threadPool);
+    }
+
+    private void unmanageThreadPool(ExecutorService threadPool) {
         if (!initialized) {
             return;
         }
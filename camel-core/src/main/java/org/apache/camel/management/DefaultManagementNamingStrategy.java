@@ -17,6 +17,7 @@
 package org.apache.camel.management;
 
 import java.net.UnknownHostException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -286,6 +287,14 @@ public class DefaultManagementNamingStrategy implements ManagementNamingStrategy
     }
 
     public ObjectName getObjectNameForThreadPool(CamelContext context, ThreadPoolExecutor threadPool, String id, String sourceId) throws MalformedObjectNameException {
+        return createObjectNameForThreadPool(context, id, sourceId);
+    }
+
+    public ObjectName getObjectNameForThreadPool(CamelContext context, ForkJoinPool threadPool, String id, String sourceId) throws MalformedObjectNameException {
+        return createObjectNameForThreadPool(context, id, sourceId);
+    }
+
+    protected ObjectName createObjectNameForThreadPool(CamelContext context, String id, String sourceId) throws MalformedObjectNameException {
         StringBuilder buffer = new StringBuilder();
         buffer.append(domainName).append(":");
         buffer.append(KEY_CONTEXT + "=").append(getContextId(context)).append(",");
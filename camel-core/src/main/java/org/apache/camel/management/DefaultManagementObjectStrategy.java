@@ -17,6 +17,7 @@
 package org.apache.camel.management;
 
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.camel.CamelContext;
@@ -51,6 +52,7 @@ import org.apache.camel.management.mbean.ManagedErrorHandler;
 import org.apache.camel.management.mbean.ManagedEventNotifier;
 import org.apache.camel.management.mbean.ManagedFailoverLoadBalancer;
 import org.apache.camel.management.mbean.ManagedFilter;
+import org.apache.camel.management.mbean.ManagedForkJoinPool;
 import org.apache.camel.management.mbean.ManagedIdempotentConsumer;
 import org.apache.camel.management.mbean.ManagedLog;
 import org.apache.camel.management.mbean.ManagedLoop;
@@ -238,6 +240,13 @@ public class DefaultManagementObjectStrategy implements ManagementObjectStrategy
         return mtp;
     }
 
+    public Object getManagedObjectForThreadPool(CamelContext context, ForkJoinPool threadPool,
+                                                String id, String sourceId, String routeId, String threadPoolProfileId) {
+        ManagedForkJoinPool mtp = new ManagedForkJoinPool(context, threadPool, id, sourceId, routeId, threadPoolProfileId);
+        mtp.init(context.getManagementStrategy());
+        return mtp;
+    }
+
     public Object getManagedObjectForEventNotifier(CamelContext context, EventNotifier eventNotifier) {
         ManagedEventNotifier men = new ManagedEventNotifier(context, eventNotifier);
         men.init(context.getManagementStrategy());
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies, which is used for calculating percentiles of the processing times.
+ * <p/>
+ * The values are recorded in buckets using the same layout as HdrHistogram, where each power of two has
+ * {@link #SUB_BUCKET_HALF_COUNT} linear sub buckets. This means values up to {@link #SUB_BUCKET_COUNT} are
+ * recorded exactly and larger values with a precision of about 6%, using a fixed amount of memory.
+ * Values larger than {@link #MAX_VALUE} are recorded as {@link #MAX_VALUE}.
+ * <p/>
+ * Recording a value only increments a single counter, and reading the percentiles is done on a weakly
+ * consistent snapshot of the counters, so reading never blocks the threads recording values.
+ */
+public class LatencyHistogram {
+
+    public static final int SUB_BUCKET_COUNT = 32;
+    public static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    public static final long MAX_VALUE = (1L << 32) - 1;
+
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = Integer.numberOfTrailingZeros(SUB_BUCKET_HALF_COUNT);
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(countsIndex(MAX_VALUE) + 1);
+
+    /**
+     * Records the value
+     *
+     * @param value the value, negative values are recorded as zero
+     */
+    public void recordValue(long value) {
+        counts.incrementAndGet(countsIndex(Math.max(0, Math.min(value, MAX_VALUE))));
+    }
+
+    /**
+     * Gets the value at the given percentile
+     *
+     * @param percentile the percentile between 0 and 100, such as 99.9
+     * @return the highest value which is equivalent to the value at the percentile, or <tt>0</tt> if no values
+     * have been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, was: " + percentile);
+        }
+
+        int length = counts.length();
+        long[] snapshot = new long[length];
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long count = 0;
+        for (int i = 0; i < length; i++) {
+            count += snapshot[i];
+            if (count >= countAtPercentile) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * Gets the total number of recorded values
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            // the first bucket holds the values below the half count as well
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        long lowestValue = (long) subBucketIndex << bucketIndex;
+        return Math.min(MAX_VALUE, lowestValue + (1L << bucketIndex) - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram[count=" + getTotalCount() + ", p50=" + getValueAtPercentile(50)
+            + ", p99=" + getValueAtPercentile(99) + ", p999=" + getValueAtPercentile(99.9) + "]";
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedForkJoinPoolMBean;
+import org.apache.camel.util.concurrent.RejectableForkJoinPool;
+
+/**
+ * Managed work-stealing thread pool, which exposes a {@link ForkJoinPool} using the same attributes
+ * as the other thread pools.
+ * <p/>
+ * The core and maximum pool size is the parallelism of the pool, which cannot be changed at runtime.
+ * The task queue size is the number of tasks in the submission queues and the work queues of the threads.
+ */
+@ManagedResource(description = "Managed ForkJoinPool")
+public class ManagedForkJoinPool extends ManagedThreadPool implements ManagedForkJoinPoolMBean {
+
+    private final ForkJoinPool forkJoinPool;
+
+    public ManagedForkJoinPool(CamelContext camelContext, ForkJoinPool forkJoinPool, String id,
+                               String sourceId, String routeId, String threadPoolProfileId) {
+        super(camelContext, null, id, sourceId, routeId, threadPoolProfileId);
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+        return forkJoinPool.getParallelism();
+    }
+
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        throw new UnsupportedOperationException("Cannot change the parallelism of a work-stealing thread pool");
+    }
+
+    @Override
+    public int getPoolSize() {
+        return forkJoinPool.getPoolSize();
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return forkJoinPool.getParallelism();
+    }
+
+    @Override
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        throw new UnsupportedOperationException("Cannot change the parallelism of a work-stealing thread pool");
+    }
+
+    @Override
+    public int getLargestPoolSize() {
+        if (forkJoinPool instanceof RejectableForkJoinPool) {
+            return ((RejectableForkJoinPool) forkJoinPool).getLargestPoolSize();
+        }
+        return forkJoinPool.getPoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return forkJoinPool.getActiveThreadCount();
+    }
+
+    @Override
+    public long getTaskCount() {
+        if (forkJoinPool instanceof RejectableForkJoinPool) {
+            return ((RejectableForkJoinPool) forkJoinPool).getTaskCount();
+        }
+        return 0;
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        if (forkJoinPool instanceof RejectableForkJoinPool) {
+            return ((RejectableForkJoinPool) forkJoinPool).getCompletedTaskCount();
+        }
+        return 0;
+    }
+
+    @Override
+    public long getTaskQueueSize() {
+        return forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount();
+    }
+
+    @Override
+    public boolean isTaskQueueEmpty() {
+        return getTaskQueueSize() == 0;
+    }
+
+    @Override
+    public long getKeepAliveTime() {
+        // idle threads are released by the pool itself
+        return 0;
+    }
+
+    @Override
+    public void setKeepAliveTime(long keepAliveTimeInSeconds) {
+        throw new UnsupportedOperationException("Cannot change the keep alive time of a work-stealing thread pool");
+    }
+
+    @Override
+    public boolean isAllowCoreThreadTimeout() {
+        return false;
+    }
+
+    @Override
+    public void setAllowCoreThreadTimeout(boolean allowCoreThreadTimeout) {
+        throw new UnsupportedOperationException("Cannot change core thread timeout of a work-stealing thread pool");
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return forkJoinPool.isShutdown();
+    }
+
+    @Override
+    public void purge() {
+        // noop as cancelled tasks are removed from the work queues when they are taken
+    }
+
+    @Override
+    public int getTaskQueueRemainingCapacity() {
+        if (forkJoinPool instanceof RejectableForkJoinPool) {
+            RejectableForkJoinPool pool = (RejectableForkJoinPool) forkJoinPool;
+            if (pool.getMaxQueueSize() > 0) {
+                return (int) Math.max(0, pool.getMaxQueueSize() - pool.getWaitingTaskCount());
+            }
+        }
+        // the work queues are unbounded
+        return Integer.MAX_VALUE;
+    }
+
+    public int getParallelism() {
+        return forkJoinPool.getParallelism();
+    }
+
+    public int getRunningThreadCount() {
+        return forkJoinPool.getRunningThreadCount();
+    }
+
+    public long getStealCount() {
+        return forkJoinPool.getStealCount();
+    }
+
+    public int getQueuedSubmissionCount() {
+        return forkJoinPool.getQueuedSubmissionCount();
+    }
+
+    public long getQueuedTaskCount() {
+        return forkJoinPool.getQueuedTaskCount();
+    }
+
+}
@@ -63,4 +63,25 @@ public class ManagedMulticast extends ManagedProcessor implements ManagedMultica
     public Long getTimeout() {
         return processor.getTimeout();
     }
+
+    @Override
+    public Integer getMaxInflight() {
+        return processor.getMaxInflight();
+    }
+
+    @Override
+    public Integer getReorderBufferSize() {
+        return processor.getReorderBufferSize();
+    }
+
+    @Override
+    public Integer getReorderBufferMaxSize() {
+        return processor.getReorderBufferMaxSize();
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        processor.resetReorderBufferMaxSize();
+    }
 }
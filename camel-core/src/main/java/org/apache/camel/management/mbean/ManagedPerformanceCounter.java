@@ -18,6 +18,7 @@ package org.apache.camel.management.mbean;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.api.management.ManagedResource;
@@ -42,15 +43,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
-    private Statistic meanProcessingTime;
+    private LatencyHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
-    private String firstExchangeCompletedExchangeId;
+    private final AtomicReference<String> firstExchangeCompletedExchangeId = new AtomicReference<String>();
     private Statistic firstExchangeFailureTimestamp;
-    private String firstExchangeFailureExchangeId;
+    private final AtomicReference<String> firstExchangeFailureExchangeId = new AtomicReference<String>();
     private Statistic lastExchangeCompletedTimestamp;
-    private String lastExchangeCompletedExchangeId;
+    private volatile String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
-    private String lastExchangeFailureExchangeId;
+    private volatile String lastExchangeFailureExchangeId;
     private boolean statisticsEnabled = true;
 
     public void init(ManagementStrategy strategy) {
@@ -68,7 +69,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.totalProcessingTime = new Statistic("org.apache.camel.totalProcessingTime", this, Statistic.UpdateMode.COUNTER);
         this.lastProcessingTime = new Statistic("org.apache.camel.lastProcessingTime", this, Statistic.UpdateMode.VALUE);
         this.deltaProcessingTime = new Statistic("org.apache.camel.deltaProcessingTime", this, Statistic.UpdateMode.DELTA);
-        this.meanProcessingTime = new Statistic("org.apache.camel.meanProcessingTime", this, Statistic.UpdateMode.VALUE);
+        this.processingTimeHistogram = new LatencyHistogram();
 
         this.firstExchangeCompletedTimestamp = new Statistic("org.apache.camel.firstExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.firstExchangeFailureTimestamp = new Statistic("org.apache.camel.firstExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
@@ -90,11 +91,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
-        meanProcessingTime.reset();
+        processingTimeHistogram.reset();
         firstExchangeCompletedTimestamp.reset();
-        firstExchangeCompletedExchangeId = null;
+        firstExchangeCompletedExchangeId.set(null);
         firstExchangeFailureTimestamp.reset();
-        firstExchangeFailureExchangeId = null;
+        firstExchangeFailureExchangeId.set(null);
         lastExchangeCompletedTimestamp.reset();
         lastExchangeCompletedExchangeId = null;
         lastExchangeFailureTimestamp.reset();
@@ -130,7 +131,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        return meanProcessingTime();
     }
 
     public long getMaxProcessingTime() throws Exception {
@@ -149,6 +150,22 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    public long getP50ProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(50);
+    }
+
+    public long getP99ProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(99);
+    }
+
+    public long getP999ProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(99.9);
+    }
+
+    public long processingTimePercentile(double percentile) throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(percentile);
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -164,7 +181,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public String getFirstExchangeCompletedExchangeId() {
-        return firstExchangeCompletedExchangeId;
+        return firstExchangeCompletedExchangeId.get();
     }
 
     public Date getLastExchangeFailureTimestamp() {
@@ -182,7 +199,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public String getFirstExchangeFailureExchangeId() {
-        return firstExchangeFailureExchangeId;
+        return firstExchangeFailureExchangeId.get();
     }
 
     public boolean isStatisticsEnabled() {
@@ -193,11 +210,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.statisticsEnabled = statisticsEnabled;
     }
 
-    public synchronized void processExchange(Exchange exchange) {
+    public void processExchange(Exchange exchange) {
         exchangesInflight.increment();
     }
 
-    public synchronized void completedExchange(Exchange exchange, long time) {
+    public void completedExchange(Exchange exchange, long time) {
         increment();
         exchangesCompleted.increment();
         exchangesInflight.decrement();
@@ -215,25 +232,18 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        processingTimeHistogram.recordValue(time);
 
-        long now = new Date().getTime();
-        if (firstExchangeCompletedTimestamp.getUpdateCount() == 0) {
+        long now = System.currentTimeMillis();
+        String exchangeId = exchange.getExchangeId();
+        if (firstExchangeCompletedExchangeId.get() == null && firstExchangeCompletedExchangeId.compareAndSet(null, exchangeId)) {
             firstExchangeCompletedTimestamp.updateValue(now);
         }
-
         lastExchangeCompletedTimestamp.updateValue(now);
-        if (firstExchangeCompletedExchangeId == null) {
-            firstExchangeCompletedExchangeId = exchange.getExchangeId();
-        }
-        lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long count = exchangesCompleted.getValue();
-        long mean = count > 0 ? totalProcessingTime.getValue() / count : 0;
-        meanProcessingTime.updateValue(mean);
+        lastExchangeCompletedExchangeId = exchangeId;
     }
 
-    public synchronized void failedExchange(Exchange exchange) {
+    public void failedExchange(Exchange exchange) {
         increment();
         exchangesFailed.increment();
         exchangesInflight.decrement();
@@ -246,16 +256,13 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             externalRedeliveries.increment();
         }
 
-        long now = new Date().getTime();
-        if (firstExchangeFailureTimestamp.getUpdateCount() == 0) {
+        long now = System.currentTimeMillis();
+        String exchangeId = exchange.getExchangeId();
+        if (firstExchangeFailureExchangeId.get() == null && firstExchangeFailureExchangeId.compareAndSet(null, exchangeId)) {
             firstExchangeFailureTimestamp.updateValue(now);
         }
-
         lastExchangeFailureTimestamp.updateValue(now);
-        if (firstExchangeFailureExchangeId == null) {
-            firstExchangeFailureExchangeId = exchange.getExchangeId();
-        }
-        lastExchangeFailureExchangeId = exchange.getExchangeId();
+        lastExchangeFailureExchangeId = exchangeId;
     }
 
     public String dumpStatsAsXml(boolean fullStats) {
@@ -271,15 +278,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime()));
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getValue())));
             sb.append(String.format(" resetTimestamp=\"%s\"", dateAsString(resetTimestamp.getValue())));
             sb.append(String.format(" firstExchangeCompletedTimestamp=\"%s\"", dateAsString(firstExchangeCompletedTimestamp.getValue())));
-            sb.append(String.format(" firstExchangeCompletedExchangeId=\"%s\"", nullSafe(firstExchangeCompletedExchangeId)));
+            sb.append(String.format(" firstExchangeCompletedExchangeId=\"%s\"", nullSafe(firstExchangeCompletedExchangeId.get())));
             sb.append(String.format(" firstExchangeFailureTimestamp=\"%s\"", dateAsString(firstExchangeFailureTimestamp.getValue())));
-            sb.append(String.format(" firstExchangeFailureExchangeId=\"%s\"", nullSafe(firstExchangeFailureExchangeId)));
+            sb.append(String.format(" firstExchangeFailureExchangeId=\"%s\"", nullSafe(firstExchangeFailureExchangeId.get())));
             sb.append(String.format(" lastExchangeCompletedTimestamp=\"%s\"", dateAsString(lastExchangeCompletedTimestamp.getValue())));
             sb.append(String.format(" lastExchangeCompletedExchangeId=\"%s\"", nullSafe(lastExchangeCompletedExchangeId)));
             sb.append(String.format(" lastExchangeFailureTimestamp=\"%s\"", dateAsString(lastExchangeFailureTimestamp.getValue())));
@@ -289,6 +296,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private long meanProcessingTime() {
+        // calculate the mean when read, so the data path does not need to keep the counters in sync
+        long count = exchangesCompleted.getValue();
+        return count > 0 ? totalProcessingTime.getValue() / count : 0;
+    }
+
     private static String dateAsString(long value) {
         if (value == 0) {
             return "";
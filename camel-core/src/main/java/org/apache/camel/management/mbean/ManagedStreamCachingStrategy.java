@@ -86,6 +86,10 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    public boolean isOffHeap() {
+        return streamCachingStrategy.isOffHeap();
+    }
+
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
     }
@@ -126,6 +130,14 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    public long getBufferPoolHitCounter() {
+        return streamCachingStrategy.getBufferPool().getHitCounter();
+    }
+
+    public long getBufferPoolMissCounter() {
+        return streamCachingStrategy.getBufferPool().getMissCounter();
+    }
+
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
     }
@@ -136,6 +148,7 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
 
     public void resetStatistics() {
         streamCachingStrategy.getStatistics().reset();
+        streamCachingStrategy.getBufferPool().resetStatistics();
     }
 
 }
@@ -55,6 +55,11 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
         return camelContext;
     }
 
+    /**
+     * Gets the thread pool, which is <tt>null</tt> for a work-stealing thread pool.
+     *
+     * @see ManagedForkJoinPool#getForkJoinPool()
+     */
     public ThreadPoolExecutor getThreadPool() {
         return threadPool;
     }
@@ -117,4 +117,23 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
             throw ObjectHelper.wrapRuntimeCamelException(e);
         }
     }
+
+    public TabularData listTypeConverterStatistics() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listTypeConverterStatisticsTabularType());
+            for (TypeConverterRegistry.MappingStatistics stats : registry.getStatistics().getMappingStatistics()) {
+                CompositeType ct = CamelOpenMBeanTypes.listTypeConverterStatisticsCompositeType();
+                String from = stats.getFromType().getCanonicalName();
+                String to = stats.getToType().getCanonicalName();
+                long count = stats.getHitCounter() + stats.getMissCounter() + stats.getFailedCounter();
+                long mean = count > 0 ? stats.getTotalTime() / count : 0;
+                CompositeData data = new CompositeDataSupport(ct, new String[]{"from", "to", "hits", "misses", "failures", "totalTime", "meanTime"},
+                        new Object[]{from, to, stats.getHitCounter(), stats.getMissCounter(), stats.getFailedCounter(), stats.getTotalTime(), mean});
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
 }
@@ -16,8 +16,14 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Default implementation of {@link Statistic}
+ * <p/>
+ * The statistic is lock-free so it can be updated by many threads concurrently.
  */
 public class Statistic {
 
@@ -45,9 +51,11 @@ public class Statistic {
     }
 
     private final UpdateMode updateMode;
-    private long lastValue;
-    private long value;
-    private long updateCount;
+    private final LongAdder counter;
+    private final LongAccumulator accumulator;
+    private final AtomicLong value;
+    private final LongAdder updateCount = new LongAdder();
+    private volatile long lastValue;
 
     /**
      * Instantiates a new statistic.
@@ -58,77 +66,88 @@ public class Statistic {
      */
     public Statistic(String name, Object owner, UpdateMode updateMode) {
         this.updateMode = updateMode;
+        // the statistics are updated concurrently by the routing threads so use striped counters where possible
+        this.counter = updateMode == UpdateMode.COUNTER ? new LongAdder() : null;
+        if (updateMode == UpdateMode.MAXIMUM) {
+            this.accumulator = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        } else if (updateMode == UpdateMode.MINIMUM) {
+            this.accumulator = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        } else {
+            this.accumulator = null;
+        }
+        this.value = counter == null && accumulator == null ? new AtomicLong() : null;
     }
 
-    public synchronized void updateValue(long newValue) {
+    public void updateValue(long newValue) {
         switch (this.updateMode) {
         case COUNTER:
-            this.value += newValue;
+            counter.add(newValue);
             break;
         case VALUE:
-            this.value = newValue;
+            value.set(newValue);
             break;
         case DIFFERENCE:
-            this.value -= newValue;
-            if (this.value < 0) {
-                this.value = -this.value;
-            }
+            long current;
+            do {
+                current = value.get();
+            } while (!value.compareAndSet(current, Math.abs(current - newValue)));
             break;
         case DELTA:
-            if (updateCount > 0) {
-                this.lastValue = this.value;
-            }
-            this.value = newValue;
+            lastValue = value.getAndSet(newValue);
             break;
         case MAXIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value < newValue) {
-                this.value = newValue;
-            }
-            break;
         case MINIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value > newValue) {
-                this.value = newValue;
-            }
+            accumulator.accumulate(newValue);
             break;
         default:
         }
-        this.updateCount++;
+        updateCount.increment();
     }
 
-    public synchronized void increment() {
+    public void increment() {
         updateValue(1);
     }
 
-    public synchronized void decrement() {
+    public void decrement() {
         updateValue(-1);
     }
 
-    public synchronized long getValue() {
-        if (updateMode == UpdateMode.DELTA) {
-            if (updateCount == 0) {
-                return this.value;
-            } else {
-                return this.value - this.lastValue;
-            }
-        } else {
-            return this.value;
+    public long getValue() {
+        switch (this.updateMode) {
+        case COUNTER:
+            return counter.sum();
+        case DELTA:
+            return value.get() - lastValue;
+        case MAXIMUM:
+        case MINIMUM:
+            // the identity of the accumulator means there has been no updates
+            long answer = accumulator.get();
+            return answer == Long.MIN_VALUE || answer == Long.MAX_VALUE ? 0 : answer;
+        default:
+            return value.get();
         }
     }
 
-    public synchronized long getUpdateCount() {
-        return this.updateCount;
+    public long getUpdateCount() {
+        return updateCount.sum();
     }
 
-    public synchronized void reset() {
-        this.value = 0;
-        this.lastValue = 0;
-        this.updateCount = 0;
+    public void reset() {
+        if (counter != null) {
+            counter.reset();
+        }
+        if (accumulator != null) {
+            accumulator.reset();
+        }
+        if (value != null) {
+            value.set(0);
+        }
+        lastValue = 0;
+        updateCount.reset();
     }
 
     public String toString() {
-        return "" + value;
+        return "" + getValue();
     }
 
 }
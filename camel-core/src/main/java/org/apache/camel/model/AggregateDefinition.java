@@ -86,6 +86,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -226,6 +228,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getOptimisticLocking() != null) {
             answer.setOptimisticLocking(getOptimisticLocking());
         }
+        if (getLockStripes() != null) {
+            answer.setLockStripes(getLockStripes());
+        }
         if (getCompletionPredicate() != null) {
             Predicate predicate = getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -543,6 +548,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -1001,6 +1014,18 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Sets the number of locks the correlation keys are spread over, when not using optimistic locking.
+     * Exchanges with correlation keys using different locks are aggregated in parallel, which requires
+     * the AggregationStrategy and AggregationRepository being used to be thread safe.
+     * <p/>
+     * The value is rounded up to a power of two. The default is 1 which uses a single lock for all the correlation keys.
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -77,6 +77,8 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    private Integer maxInflight;
 
     public MulticastDefinition() {
     }
@@ -214,6 +216,22 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         return this;
     }
 
+    /**
+     * Sets the maximum number of multicasted messages which can be in progress at the same time when using parallel processing.
+     * When the limit is reached then the multicast waits for some of the messages to be aggregated, before it continues
+     * sending. As the replies are aggregated in order when not streaming, this also bounds how many completed replies can be
+     * waiting for a slow reply before they can be aggregated.
+     * <p/>
+     * The default value is 0, which means there is no limit.
+     *
+     * @param maxInflight the maximum number of multicasted messages in progress
+     * @return the builder
+     */
+    public MulticastDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * If enabled then Camel will process replies out-of-order, eg in the order they come back.
      * If disabled, Camel will process replies in the same order as defined by the multicast.
@@ -345,12 +363,17 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflight = getMaxInflight() != null ? getMaxInflight() : 0;
+        if (maxInflight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (onPrepareRef != null) {
             onPrepare = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), onPrepareRef, Processor.class);
         }
 
         MulticastProcessor answer = new MulticastProcessor(routeContext.getCamelContext(), list, strategy, isParallelProcessing,
-                                      threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
+                                      threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException,
+                                      maxInflight);
         return answer;
     }
 
@@ -525,4 +548,12 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         this.stopOnAggregateException = stopOnAggregateException;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
 }
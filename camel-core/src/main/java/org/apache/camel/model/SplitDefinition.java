@@ -74,6 +74,8 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    private Integer maxInflight;
 
     public SplitDefinition() {
     }
@@ -113,6 +115,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflight = getMaxInflight() != null ? getMaxInflight() : 0;
+        if (maxInflight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (onPrepareRef != null) {
             onPrepare = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), onPrepareRef, Processor.class);
         }
@@ -121,7 +127,7 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
 
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, isStopOnException(),
-                            timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
+                            timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException, maxInflight);
         return answer;
     }
 
@@ -249,6 +255,25 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which can be in progress at the same time when using parallel processing.
+     * When the limit is reached then the splitter waits for some of the splitted messages to be done, before it continues
+     * splitting. This is useful together with streaming to keep the memory usage constant when splitting big messages,
+     * as otherwise the splitter may split the messages faster than they can be processed.
+     * <p/>
+     * When not streaming the replies are aggregated in order, and this also bounds how many completed replies can be waiting
+     * for a slow reply before they can be aggregated.
+     * <p/>
+     * The default value is 0, which means there is no limit.
+     *
+     * @param maxInflight the maximum number of splitted messages in progress
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * When in streaming mode, then the splitter splits the original message on-demand, and each splitted
      * message is processed one by one. This reduces memory usage as the splitter do not split all the messages first,
@@ -416,6 +441,14 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         this.stopOnAggregateException = stopOnAggregateException;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public Boolean getStopOnException() {
         return stopOnException;
     }
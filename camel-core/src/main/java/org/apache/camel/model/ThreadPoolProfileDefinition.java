@@ -25,6 +25,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.builder.xml.TimeUnitAdapter;
 import org.apache.camel.spi.Metadata;
 
@@ -54,6 +55,8 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     private String allowCoreThreadTimeOut;
     @XmlAttribute
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute
+    private ThreadPoolType poolType;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -114,6 +117,11 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition poolType(ThreadPoolType poolType) {
+        setPoolType(poolType);
+        return this;
+    }
+
     public Boolean getDefaultProfile() {
         return defaultProfile;
     }
@@ -218,4 +226,23 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    /**
+     * Sets the kind of thread pool to create.
+     * <p/>
+     * Use <tt>VirtualThreads</tt> to run each task in a new virtual thread, which requires Java 21 or newer.
+     * The pool size, queue and keep alive options do not apply to virtual threads.
+     * <p/>
+     * Use <tt>WorkStealing</tt> to use a work-stealing fork join pool with the pool size as parallelism.
+     * <p/>
+     * The kind of thread pool is not inherited from the default profile, and fixed size and single threaded
+     * pools always use <tt>Default</tt>.
+     */
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
 }
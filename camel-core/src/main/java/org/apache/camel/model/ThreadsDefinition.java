@@ -29,6 +29,7 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.apache.camel.Processor;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.builder.ThreadPoolProfileBuilder;
 import org.apache.camel.builder.xml.TimeUnitAdapter;
 import org.apache.camel.processor.Pipeline;
@@ -73,6 +74,8 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     private ThreadPoolRejectedPolicy rejectedPolicy;
     @XmlAttribute @Metadata(defaultValue = "true")
     private Boolean callerRunsWhenRejected;
+    @XmlAttribute @Metadata(defaultValue = "Default")
+    private ThreadPoolType poolType;
     
     public ThreadsDefinition() {
         this.threadName =  "Threads";
@@ -109,6 +112,7 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
                     .maxQueueSize(getMaxQueueSize())
                     .rejectedPolicy(policy)
                     .allowCoreThreadTimeOut(getAllowCoreThreadTimeOut())
+                    .poolType(getPoolType())
                     .build();
             threadPool = manager.newThreadPool(this, name, profile);
             shutdownThreadPool = true;
@@ -137,6 +141,9 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
             if (getAllowCoreThreadTimeOut() != null) {
                 throw new IllegalArgumentException("AllowCoreThreadTimeOut and executorServiceRef options cannot be used together.");
             }
+            if (getPoolType() != null) {
+                throw new IllegalArgumentException("PoolType and executorServiceRef options cannot be used together.");
+            }
         }
 
         ThreadsProcessor thread = new ThreadsProcessor(routeContext.getCamelContext(), threadPool, shutdownThreadPool, policy);
@@ -297,6 +304,27 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
         return this;
     }
 
+    /**
+     * Sets the kind of thread pool to create.
+     * <p/>
+     * Use <tt>VirtualThreads</tt> to run each task in a new virtual thread instead of using a bounded pool
+     * of platform threads, which suits routes that mostly block on I/O. This requires Java 21 or newer,
+     * and a regular thread pool is used as fallback on older JVMs. The pool size, queue and keep alive
+     * options do not apply to virtual threads.
+     * <p/>
+     * Use <tt>WorkStealing</tt> to use a work-stealing fork join pool with the pool size as parallelism,
+     * which suits many short CPU bound tasks.
+     * <p/>
+     * Is by default <tt>Default</tt>
+     *
+     * @param poolType the kind of thread pool
+     * @return the builder
+     */
+    public ThreadsDefinition poolType(ThreadPoolType poolType) {
+        setPoolType(poolType);
+        return this;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -384,4 +412,12 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     public void setAllowCoreThreadTimeOut(Boolean allowCoreThreadTimeOut) {
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
+
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
 }
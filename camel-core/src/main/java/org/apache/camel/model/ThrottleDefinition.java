@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
@@ -29,6 +30,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.processor.Throttler;
+import org.apache.camel.processor.TokenBucketThrottler;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.RouteContext;
 
@@ -55,6 +57,10 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
+    @XmlAttribute
+    private Boolean tokenBucket;
+    @XmlElement(name = "correlationExpression")
+    private ExpressionSubElementDefinition correlationExpression;
     
     public ThrottleDefinition() {
     }
@@ -95,6 +101,21 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         }
 
         boolean reject = getRejectExecution() != null && getRejectExecution();
+
+        // per key throttling is only supported by the token bucket throttler
+        boolean bucket = getTokenBucket() != null && getTokenBucket();
+        if (bucket || getCorrelationExpression() != null) {
+            TokenBucketThrottler answer = new TokenBucketThrottler(routeContext.getCamelContext(), childProcessor, maxRequestsExpression, period,
+                    threadPool, shutdownThreadPool, reject);
+            if (getCorrelationExpression() != null) {
+                answer.setCorrelationExpression(getCorrelationExpression().createExpression(routeContext));
+            }
+            answer.setAsyncDelayed(async);
+            // should be true by default
+            answer.setCallerRunsWhenRejected(getCallerRunsWhenRejected() == null || getCallerRunsWhenRejected());
+            return answer;
+        }
+
         Throttler answer = new Throttler(routeContext.getCamelContext(), childProcessor, maxRequestsExpression, period, threadPool, shutdownThreadPool, reject);
 
         answer.setAsyncDelayed(async);
@@ -175,6 +196,32 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Uses a lock free token bucket to throttle, instead of a queue of permits.
+     * <p/>
+     * Exchanges which exceed the rate reserve the next free token and are delayed until it is due,
+     * and when combined with {@link #asyncDelayed()} no thread is blocked while waiting.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        setTokenBucket(true);
+        return this;
+    }
+
+    /**
+     * Throttles each correlation key on its own, for example to apply the rate per client.
+     * <p/>
+     * This implies using the token bucket throttler, see {@link #tokenBucket()}.
+     *
+     * @param correlationExpression the expression to calculate the correlation key
+     * @return the builder
+     */
+    public ThrottleDefinition correlationExpression(Expression correlationExpression) {
+        setCorrelationExpression(new ExpressionSubElementDefinition(correlationExpression));
+        return this;
+    }
+
     /**
      * Sets the ExecutorService which could be used by throttle definition
      *
@@ -256,4 +303,27 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     public void setRejectExecution(Boolean rejectExecution) {
         this.rejectExecution = rejectExecution;
     }
+
+    public Boolean getTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Whether to use a lock free token bucket to throttle instead of a queue of permits.
+     * The token bucket throttler is also used when a correlation expression is configured.
+     */
+    public void setTokenBucket(Boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    public ExpressionSubElementDefinition getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * The expression used to calculate the correlation key, so each key is throttled on its own bucket.
+     */
+    public void setCorrelationExpression(ExpressionSubElementDefinition correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
 }
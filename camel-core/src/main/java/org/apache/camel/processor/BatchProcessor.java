@@ -288,8 +288,9 @@ public class BatchProcessor extends ServiceSupport implements AsyncProcessor, Na
             // if batch consumer is enabled then we need to adjust the batch size
             // with the size from the batch consumer
             if (isBatchConsumer()) {
-                int size = exchange.getProperty(Exchange.BATCH_SIZE, Integer.class);
-                if (batchSize != size) {
+                // the batch size may only be known for the last exchange of a batch
+                Integer size = exchange.getProperty(Exchange.BATCH_SIZE, Integer.class);
+                if (size != null && batchSize != size) {
                     batchSize = size;
                     LOG.trace("Using batch consumer completion, so setting batch size to: {}", batchSize);
                 }
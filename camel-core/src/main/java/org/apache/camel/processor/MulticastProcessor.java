@@ -19,9 +19,12 @@ package org.apache.camel.processor;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +34,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -160,6 +164,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private final int maxInflight;
+    // the completion services aggregating in order which are in use, to report the size of their reorder buffers
+    private final Set<SubmitOrderedCompletionService<Exchange>> orderedCompletions =
+            Collections.newSetFromMap(new ConcurrentHashMap<SubmitOrderedCompletionService<Exchange>, Boolean>());
+    private final AtomicInteger reorderBufferMaxSize = new AtomicInteger();
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -188,6 +197,14 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                               boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService, boolean streaming,
                               boolean stopOnException, long timeout, Processor onPrepare, boolean shareUnitOfWork,
                               boolean parallelAggregate, boolean stopOnAggregateException) {
+        this(camelContext, processors, aggregationStrategy, parallelProcessing, executorService, shutdownExecutorService, streaming, stopOnException, timeout, onPrepare,
+             shareUnitOfWork, parallelAggregate, stopOnAggregateException, 0);
+    }
+
+    public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors, AggregationStrategy aggregationStrategy,
+                              boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService, boolean streaming,
+                              boolean stopOnException, long timeout, Processor onPrepare, boolean shareUnitOfWork,
+                              boolean parallelAggregate, boolean stopOnAggregateException, int maxInflight) {
         notNull(camelContext, "camelContext");
         this.camelContext = camelContext;
         this.processors = processors;
@@ -203,6 +220,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         this.shareUnitOfWork = shareUnitOfWork;
         this.parallelAggregate = parallelAggregate;
         this.stopOnAggregateException = stopOnAggregateException;
+        this.maxInflight = maxInflight;
     }
 
     @Override
@@ -283,7 +301,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         }
 
         final AtomicInteger total = new AtomicInteger(0);
-        final Iterator<ProcessorExchangePair> it = pairs.iterator();
+        // when all the pairs have been created up front, then remove each pair from the list when its task is submitted,
+        // so the pair and its exchange are not kept in memory after the reply has been aggregated
+        final ListIterator<ProcessorExchangePair> releasing = pairs instanceof ArrayList ? ((ArrayList<ProcessorExchangePair>) pairs).listIterator() : null;
+        final Iterator<ProcessorExchangePair> it = releasing != null ? releasing : pairs.iterator();
 
         if (it.hasNext()) {
             // when parallel then aggregate on the fly
@@ -291,20 +312,36 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
             final CountDownLatch aggregationOnTheFlyDone = new CountDownLatch(1);
             final AtomicException executionException = new AtomicException();
+            // bound the number of tasks which are submitted but not yet aggregated, to keep the memory usage constant
+            final Semaphore inflight = maxInflight > 0 ? new Semaphore(maxInflight) : null;
 
             // issue task to execute in separate thread so it can aggregate on-the-fly
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, inflight);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
 
             while (it.hasNext()) {
+                // wait before creating the next pair, as that is what takes up the memory when streaming
+                if (inflight != null && !acquireInflight(inflight, aggregateOnTheFlyTask, aggregationOnTheFlyDone)) {
+                    // the aggregation has stopped or timed out so there is no point in submitting more tasks
+                    LOG.debug("Aggregation on the fly is done or timed out, stopped submitting tasks after {} tasks.", total.get());
+                    break;
+                }
+
                 final ProcessorExchangePair pair = it.next();
+                if (releasing != null) {
+                    // the task keeps the pair until it has been processed
+                    releasing.set(null);
+                }
                 // in case the iterator returns null then continue to next
                 if (pair == null) {
+                    if (inflight != null) {
+                        inflight.release();
+                    }
                     continue;
                 }
 
@@ -375,6 +412,23 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         LOG.debug("Done parallel processing {} exchanges", total);
     }
 
+    /**
+     * Waits until a task can be submitted without exceeding the maximum number of inflight tasks.
+     *
+     * @return <tt>true</tt> if the task can be submitted, or <tt>false</tt> if the aggregation on the fly is done
+     * or has timed out, and thus no more tasks will be aggregated.
+     */
+    private boolean acquireInflight(Semaphore inflight, AggregateOnTheFlyTask aggregateOnTheFlyTask,
+                                    CountDownLatch aggregationOnTheFlyDone) throws InterruptedException {
+        while (!inflight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+            if (aggregateOnTheFlyTask.isTimedOut() || aggregationOnTheFlyDone.getCount() == 0) {
+                return false;
+            }
+            LOG.trace("Waiting for inflight tasks to complete as the maximum of {} inflight tasks is reached", maxInflight);
+        }
+        return true;
+    }
+
     /**
      * Boss worker to control aggregate on-the-fly for completed tasks when using parallel processing.
      * <p/>
@@ -396,11 +450,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final Semaphore inflight;
+        private final AtomicBoolean timedOut = new AtomicBoolean();
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, Semaphore inflight) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -409,11 +465,15 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.inflight = inflight;
         }
 
         public void run() {
             LOG.trace("Aggregate on the fly task started for exchangeId: {}", original.getExchangeId());
 
+            if (completion instanceof SubmitOrderedCompletionService) {
+                orderedCompletions.add((SubmitOrderedCompletionService<Exchange>) completion);
+            }
             try {
                 aggregateOnTheFly();
             } catch (Throwable e) {
@@ -423,6 +483,9 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                     executionException.set(ObjectHelper.wrapRuntimeCamelException(e));
                 }
             } finally {
+                if (completion instanceof SubmitOrderedCompletionService) {
+                    orderedCompletions.remove(completion);
+                }
                 // must signal we are done so the latch can open and let the other thread continue processing
                 LOG.debug("Signaling we are done aggregating on the fly for exchangeId: {}", original.getExchangeId());
                 LOG.trace("Aggregate on the fly task done for exchangeId: {}", original.getExchangeId());
@@ -430,8 +493,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             }
         }
 
+        private boolean isTimedOut() {
+            return timedOut.get();
+        }
+
         private void aggregateOnTheFly() throws InterruptedException, ExecutionException {
-            final AtomicBoolean timedOut = new AtomicBoolean();
             boolean stoppedOnException = false;
             final StopWatch watch = new StopWatch();
             final AtomicInteger aggregated = new AtomicInteger();
@@ -478,6 +544,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 } else {
                     // there is a result to aggregate
                     Exchange subExchange = future.get();
+                    if (completion instanceof SubmitOrderedCompletionService) {
+                        // include the result we just took which has been waiting in the reorder buffer as well
+                        int size = ((SubmitOrderedCompletionService<?>) completion).size() + 1;
+                        reorderBufferMaxSize.accumulateAndGet(size, Math::max);
+                    }
 
                     // Decide whether to continue with the multicast or not; similar logic to the Pipeline
                     Integer number = getExchangeIndex(subExchange);
@@ -492,7 +563,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                     }
 
                     // we got a result so aggregate it
-                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated);
+                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated, inflight);
                     if (parallelAggregate) {
                         aggregateExecutorService.submit(task);
                     } else {
@@ -523,11 +594,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final AtomicExchange result;
         private final Exchange subExchange;
         private final AtomicInteger aggregated;
+        private final Semaphore inflight;
 
-        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated) {
+        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated, Semaphore inflight) {
             this.result = result;
             this.subExchange = subExchange;
             this.aggregated = aggregated;
+            this.inflight = inflight;
         }
 
         @Override
@@ -549,6 +622,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
             } finally {
                 aggregated.incrementAndGet();
+                if (inflight != null) {
+                    // the task is no longer inflight so another task can be submitted
+                    inflight.release();
+                }
             }
         }
     }
@@ -1315,6 +1392,36 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    /**
+     * The maximum number of tasks in progress at the same time when using parallel processing, or <tt>0</tt> for no limit
+     */
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Number of completed replies waiting for previous replies to complete, before they can be aggregated in order
+     * when using parallel processing without streaming.
+     */
+    public int getReorderBufferSize() {
+        int answer = 0;
+        for (SubmitOrderedCompletionService<Exchange> completion : orderedCompletions) {
+            answer += completion.size();
+        }
+        return answer;
+    }
+
+    /**
+     * The largest number of completed replies which has been waiting to be aggregated in order, for a single exchange.
+     */
+    public int getReorderBufferMaxSize() {
+        return reorderBufferMaxSize.get();
+    }
+
+    public void resetReorderBufferMaxSize() {
+        reorderBufferMaxSize.set(0);
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
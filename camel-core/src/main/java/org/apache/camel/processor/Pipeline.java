@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Channel;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
@@ -45,6 +46,7 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
     private static final Logger LOG = LoggerFactory.getLogger(Pipeline.class);
 
     private String id;
+    private Processor[] synchronousProcessors;
 
     public Pipeline(CamelContext camelContext, Collection<Processor> processors) {
         super(camelContext, processors);
@@ -64,6 +66,11 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
     }
 
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        Processor[] synchronous = synchronousProcessors;
+        if (synchronous != null) {
+            return processSynchronous(exchange, callback, synchronous);
+        }
+
         Iterator<Processor> processors = getProcessors().iterator();
         Exchange nextExchange = exchange;
         boolean first = true;
@@ -110,6 +117,31 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
         return true;
     }
 
+    /**
+     * Processes the exchange through a pipeline where all the processors are synchronous.
+     * <p/>
+     * The processors are invoked in a tight loop reusing the same exchange, without the need to create an
+     * {@link AsyncCallback} or an {@link AsyncProcessor} bridge per step. The processors in a route are wrapped
+     * in a {@link Channel}, which is invoked using a single callback per exchange, as the error handler
+     * in the channel may still continue routing asynchronously, for example using asynchronous delayed redelivery.
+     */
+    private boolean processSynchronous(Exchange exchange, AsyncCallback callback, Processor[] processors) {
+        if (isRouteStop(exchange)) {
+            // the exchange is marked to stop routing before it enters the pipeline
+            callback.done(true);
+            return true;
+        }
+
+        SynchronousCallback synchronous = new SynchronousCallback(exchange, callback, processors);
+        if (!synchronous.process()) {
+            LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+            return false;
+        }
+
+        callback.done(true);
+        return true;
+    }
+
     private boolean process(final Exchange original, final Exchange exchange, final AsyncCallback callback,
                             final Iterator<Processor> processors, final AsyncProcessor asyncProcessor) {
         // this does the actual processing so log at trace level
@@ -168,11 +200,7 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
 
         Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
         if (stop != null) {
-            boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
-            if (doStop) {
-                LOG.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
-                answer = false;
-            }
+            answer = !isRouteStop(exchange);
         } else {
             // continue if there are more processors to route
             answer = it.hasNext();
@@ -182,6 +210,150 @@ public class Pipeline extends MulticastProcessor implements AsyncProcessor, Trac
         return answer;
     }
 
+    private static boolean isRouteStop(Exchange exchange) {
+        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        if (stop != null) {
+            boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
+            if (doStop) {
+                LOG.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        // detect if all the processors are synchronous so we can use the fast path when processing
+        boolean synchronous = !getProcessors().isEmpty();
+        for (Processor processor : getProcessors()) {
+            if (!isSynchronous(processor)) {
+                synchronous = false;
+                break;
+            }
+        }
+        if (synchronous) {
+            LOG.debug("All processors in {} are synchronous, will use the synchronous fast path", this);
+            synchronousProcessors = getProcessors().toArray(new Processor[getProcessors().size()]);
+        } else {
+            synchronousProcessors = null;
+        }
+    }
+
+    private static boolean isSynchronous(Processor processor) {
+        if (processor instanceof Channel) {
+            // the processors in a route are wrapped in a channel, so look at the processor it routes to
+            processor = ((Channel) processor).getNextProcessor();
+        }
+        if (processor instanceof DelegateSyncProcessor) {
+            // a synchronous processor adapted to be asynchronous
+            processor = ((DelegateSyncProcessor) processor).getProcessor();
+        }
+        return processor != null && !(processor instanceof AsyncProcessor);
+    }
+
+    /**
+     * Whether all the processors in this pipeline are synchronous, which allows to process
+     * the exchange using a fast path without creating callbacks per step.
+     * <p/>
+     * This is detected when the pipeline is started.
+     */
+    public boolean isSynchronous() {
+        return synchronousProcessors != null;
+    }
+
+    /**
+     * Routes the exchange through the processors of a synchronous pipeline.
+     * <p/>
+     * This callback is passed to the channels, so the pipeline continues from where it left
+     * if a channel completes asynchronously.
+     */
+    private final class SynchronousCallback implements AsyncCallback {
+        private final Exchange original;
+        private final AsyncCallback callback;
+        private final Processor[] processors;
+        private Exchange nextExchange;
+        private int index;
+
+        private SynchronousCallback(Exchange original, AsyncCallback callback, Processor[] processors) {
+            this.original = original;
+            this.callback = callback;
+            this.processors = processors;
+            this.nextExchange = original;
+        }
+
+        /**
+         * Processes the remainder of the pipeline.
+         *
+         * @return <tt>true</tt> if completed synchronously, <tt>false</tt> if a channel continues asynchronously
+         */
+        boolean process() {
+            do {
+                if (!processNext()) {
+                    return false;
+                }
+            } while (hasNext());
+
+            complete();
+            return true;
+        }
+
+        public void done(boolean doneSync) {
+            // we only have to handle async completion of the pipeline
+            if (doneSync) {
+                return;
+            }
+
+            // continue processing the pipeline asynchronously
+            while (hasNext()) {
+                if (!processNext()) {
+                    return;
+                }
+            }
+
+            complete();
+            callback.done(false);
+        }
+
+        private boolean processNext() {
+            Processor processor = processors[index++];
+
+            // this does the actual processing so log at trace level
+            LOG.trace("Processing exchangeId: {} >>> {}", nextExchange.getExchangeId(), nextExchange);
+            if (processor instanceof AsyncProcessor) {
+                return ((AsyncProcessor) processor).process(nextExchange, this);
+            }
+
+            try {
+                processor.process(nextExchange);
+            } catch (Throwable e) {
+                // must catch throwable so we catch all
+                nextExchange.setException(e);
+            }
+            return true;
+        }
+
+        private boolean hasNext() {
+            // check for error if so we should break out
+            if (!continueProcessing(nextExchange, "so breaking out of pipeline", LOG) || index == processors.length) {
+                return false;
+            }
+
+            // prepare for next run
+            nextExchange = createNextExchange(nextExchange);
+            return true;
+        }
+
+        private void complete() {
+            LOG.trace("Processing complete for exchangeId: {} >>> {}", original.getExchangeId(), nextExchange);
+
+            // copy results back to the original exchange
+            ExchangeHelper.copyResults(original, nextExchange);
+        }
+    }
+
     @Override
     public String toString() {
         return "Pipeline[" + getProcessors() + "]";
@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.Traceable;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a>
+ * which uses a lock free token bucket to limit the number of message exchanges
+ * that can be sent to a processor within a specific time period.
+ * <p/>
+ * Each bucket holds up to <tt>maxRequestsPerPeriod</tt> tokens and is refilled at
+ * a rate of <tt>maxRequestsPerPeriod</tt> tokens per <tt>timePeriodMillis</tt>.
+ * The bucket state is kept as a single timestamp (the time at which the bucket will
+ * be full again) which is updated using compare-and-set, so no locks or queues are
+ * involved when taking a token.
+ * <p/>
+ * When no token is available the exchange either is rejected (if <tt>rejectExecution</tt>
+ * is enabled), or it reserves the next free token and is delayed until that token is due.
+ * With <tt>asyncDelayed</tt> enabled the delay is scheduled on the executor service and
+ * the calling thread is released, so no thread is waiting while the exchange is held back.
+ * <p/>
+ * If a correlation expression is configured then each correlation key has its own bucket,
+ * which allows for example to throttle per client. Buckets which have been refilled
+ * completely are discarded periodically so idle keys do not use any memory.
+ *
+ * @version
+ */
+public class TokenBucketThrottler extends DelayProcessorSupport implements Traceable, IdAware {
+
+    private final TokenBucket bucket = new TokenBucket();
+    private final ConcurrentMap<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private volatile long lastPurge;
+    private volatile int throttleRate;
+    private volatile long timePeriodMillis;
+    private String id;
+    private Expression maxRequestsPerPeriodExpression;
+    private Expression correlationExpression;
+    private boolean rejectExecution;
+
+    public TokenBucketThrottler(CamelContext camelContext, Processor processor, Expression maxRequestsPerPeriodExpression, long timePeriodMillis,
+                                ScheduledExecutorService executorService, boolean shutdownExecutorService, boolean rejectExecution) {
+        super(camelContext, processor, executorService, shutdownExecutorService);
+        this.rejectExecution = rejectExecution;
+
+        ObjectHelper.notNull(maxRequestsPerPeriodExpression, "maxRequestsPerPeriodExpression");
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+
+        if (timePeriodMillis <= 0) {
+            throw new IllegalArgumentException("TimePeriodMillis should be a positive number, was: " + timePeriodMillis);
+        }
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketThrottler[requests: " + maxRequestsPerPeriodExpression + " per: " + timePeriodMillis + " (ms) to: "
+                + getProcessor() + "]";
+    }
+
+    public String getTraceLabel() {
+        return "throttle[" + maxRequestsPerPeriodExpression + " per: " + timePeriodMillis + "]";
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    // Properties
+    // -----------------------------------------------------------------------
+
+    /**
+     * Sets the maximum number of requests per time period expression
+     */
+    public void setMaximumRequestsPerPeriodExpression(Expression maxRequestsPerPeriodExpression) {
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+    }
+
+    public Expression getMaximumRequestsPerPeriodExpression() {
+        return maxRequestsPerPeriodExpression;
+    }
+
+    /**
+     * Gets the current maximum request per period value.
+     */
+    public int getCurrentMaximumRequestsPerPeriod() {
+        return throttleRate;
+    }
+
+    /**
+     * Sets the time period during which the maximum number of requests apply
+     */
+    public void setTimePeriodMillis(long timePeriodMillis) {
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    public long getTimePeriodMillis() {
+        return timePeriodMillis;
+    }
+
+    /**
+     * Sets the expression used to group exchanges into separate buckets, so each
+     * correlation key is throttled on its own. Exchanges where the expression
+     * evaluates to <tt>null</tt> share a common bucket.
+     */
+    public void setCorrelationExpression(Expression correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
+
+    public Expression getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    public boolean isRejectExecution() {
+        return rejectExecution;
+    }
+
+    public void setRejectExecution(boolean rejectExecution) {
+        this.rejectExecution = rejectExecution;
+    }
+
+    /**
+     * Gets the number of correlation keys which currently have their own bucket.
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    // Implementation methods
+    // -----------------------------------------------------------------------
+
+    protected long calculateDelay(Exchange exchange) {
+        Integer rate = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+        if (rate == null) {
+            if (throttleRate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression, exchange);
+            }
+            // keep using the last known rate
+            rate = throttleRate;
+        } else if (rate <= 0) {
+            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + rate);
+        } else if (rate != throttleRate) {
+            log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate, rate, exchange.getExchangeId());
+            throttleRate = rate;
+        }
+
+        long now = System.nanoTime();
+        long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        TokenBucket target = resolveBucket(exchange, now, period);
+
+        long delay = target.acquire(now, period, rate, rejectExecution);
+        if (delay < 0) {
+            throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of " + rate + " within " + timePeriodMillis + "ms");
+        }
+        if (delay > 0) {
+            log.trace("Token reserved {} nanos ahead for exchangeId: {}", delay, exchange.getExchangeId());
+        }
+        // round up to whole millis so we never run before the token is due
+        return TimeUnit.NANOSECONDS.toMillis(delay + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    private TokenBucket resolveBucket(Exchange exchange, long now, long period) {
+        if (correlationExpression == null) {
+            return bucket;
+        }
+        Object key = correlationExpression.evaluate(exchange, Object.class);
+        if (key == null) {
+            return bucket;
+        }
+
+        // discard buckets which are full again, they behave exactly as a new bucket
+        if (now - lastPurge > period && purging.compareAndSet(false, true)) {
+            try {
+                lastPurge = now;
+                buckets.values().removeIf(b -> b.isFull(now));
+            } finally {
+                purging.set(false);
+            }
+        }
+
+        TokenBucket answer = buckets.get(key);
+        if (answer == null) {
+            answer = buckets.computeIfAbsent(key, k -> new TokenBucket());
+        }
+        return answer;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        lastPurge = System.nanoTime();
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        buckets.clear();
+        bucket.reset();
+    }
+
+    /**
+     * A token bucket which keeps the time at which it is full again. Taking a token moves
+     * this time one emission interval forward, and a token is available as long as that
+     * time is no more than one period ahead of now.
+     */
+    private static final class TokenBucket {
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * Takes a token from the bucket.
+         *
+         * @return <tt>0</tt> if a token was available, the delay in nanos until the reserved token is due,
+         *         or <tt>-1</tt> if no token was available and <tt>reject</tt> is enabled
+         */
+        long acquire(long now, long period, int rate, boolean reject) {
+            long interval = Math.max(1, period / rate);
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + interval;
+                long delay = next - period - now;
+                if (delay > 0 && reject) {
+                    return -1;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return Math.max(0, delay);
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            long current = fullAt.get();
+            return current == Long.MIN_VALUE || current - now <= 0;
+        }
+
+        void reset() {
+            fullAt.set(Long.MIN_VALUE);
+        }
+    }
+}
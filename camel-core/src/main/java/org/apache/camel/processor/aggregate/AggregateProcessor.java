@@ -56,9 +56,9 @@ import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
-import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.LRUCache;
@@ -90,7 +90,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
-    private final Lock lock = new ReentrantLock();
+    // the correlation keys are spread over the lock stripes, so different groups can be aggregated in parallel
+    private Lock[] locks = createLocks(1);
+    private int lockStripes = 1;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final Processor processor;
@@ -338,10 +340,10 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // the aggregated output runs in another unit of work
             Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
 
-            // when memory based then its fast using synchronized, but if the aggregation repository is IO
-            // bound such as JPA etc then concurrent aggregation per correlation key could
-            // improve performance as we can run aggregation repository get/add in parallel
+            // the same correlation key cannot be aggregated in parallel, so lock the stripe of the key
+            // which allows other correlation keys to be aggregated in parallel
             List<Exchange> aggregated = null;
+            Lock lock = getLock(key);
             lock.lock();
             try {
                 aggregated = doAggregation(key, copy);
@@ -956,6 +958,22 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks the correlation keys are spread over, when not using optimistic locking.
+     * Exchanges with correlation keys using different locks are aggregated in parallel, which requires
+     * the {@link AggregationStrategy} and {@link AggregationRepository} to be thread safe.
+     * <p/>
+     * The value is rounded up to a power of two. The default is 1 which uses a single lock for all the correlation keys.
+     * When completion from batch consumer is enabled a single lock is always used.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1069,25 +1087,28 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
+     * <p/>
+     * Uses a timing wheel so only the correlation keys which timeout around the same time are checked on each purge,
+     * instead of all the correlation keys.
      */
-    private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
+    private final class AggregationTimeoutMap extends TimingWheelTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-            // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
+            // do NOT use locking on the timeout map as this aggregator has its own locks we will use instead
             super(executor, requestMapPollTimeMillis, optimisticLocking);
         }
 
         @Override
         public void purge() {
-            // must acquire the shared aggregation lock to be able to purge
+            // must acquire all the aggregation locks to be able to purge
             if (!optimisticLocking) {
-                lock.lock();
+                lockAll();
             }
             try {
                 super.purge();
             } finally {
                 if (!optimisticLocking) {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
         }
@@ -1146,12 +1167,13 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             Set<String> keys = aggregationRepository.getKeys();
 
             if (keys != null && !keys.isEmpty()) {
-                // must acquire the shared aggregation lock to be able to trigger interval completion
-                if (!optimisticLocking) {
-                    lock.lock();
-                }
-                try {
-                    for (String key : keys) {
+                for (String key : keys) {
+                    // must acquire the aggregation lock of the key to be able to trigger interval completion
+                    Lock lock = getLock(key);
+                    if (!optimisticLocking) {
+                        lock.lock();
+                    }
+                    try {
                         boolean stolenInterval = false;
                         Exchange exchange = aggregationRepository.get(camelContext, key);
                         if (exchange == null) {
@@ -1172,10 +1194,10 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                         if (optimisticLocking && stolenInterval) {
                             LOG.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
                         }
-                    }
-                } finally {
-                    if (!optimisticLocking) {
-                        lock.unlock();
+                    } finally {
+                        if (!optimisticLocking) {
+                            lock.unlock();
+                        }
                     }
                 }
             }
@@ -1282,6 +1304,43 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    private Lock getLock(String key) {
+        Lock[] stripes = locks;
+        if (stripes.length == 1) {
+            return stripes[0];
+        }
+        // spread the higher bits of the hash code as the stripe is selected using the lower bits
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private void lockAll() {
+        // always lock in the same order to avoid deadlocks
+        for (Lock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private static Lock[] createLocks(int stripes) {
+        // use a power of two so the stripe can be selected by masking the hash code
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        Lock[] answer = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            answer[i] = new ReentrantLock();
+        }
+        return answer;
+    }
+
     @Override
     protected void doStart() throws Exception {
         AggregationStrategy strategy = aggregationStrategy;
@@ -1323,6 +1382,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 throw new IllegalArgumentException("Optimistic locking cannot be enabled without using an AggregationRepository that implements OptimisticLockingAggregationRepository");
             }
             LOG.info("Optimistic locking is enabled");
+        } else {
+            // completion from batch consumer spans all the correlation keys so it must use a single lock
+            locks = createLocks(isCompletionFromBatchConsumer() ? 1 : lockStripes);
         }
 
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
@@ -1486,9 +1548,10 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     }
 
     public int forceCompletionOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the aggregation lock of the key to be able to trigger force completion
         int total = 0;
 
+        Lock lock = getLock(key);
         if (!optimisticLocking) {
             lock.lock();
         }
@@ -1533,13 +1596,14 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
-            if (!optimisticLocking) {
-                lock.lock(); 
-            }
             total = keys.size();
-            try {
-                for (String key : keys) {
+            for (String key : keys) {
+                // must acquire the aggregation lock of the key to be able to trigger force completion
+                Lock lock = getLock(key);
+                if (!optimisticLocking) {
+                    lock.lock();
+                }
+                try {
                     Exchange exchange = aggregationRepository.get(camelContext, key);
                     if (exchange != null) {
                         LOG.trace("Force completion triggered for correlation key: {}", key);
@@ -1550,10 +1614,10 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                             onSubmitCompletion(key, answer);
                         }
                     }
-                }
-            } finally {
-                if (!optimisticLocking) {
-                    lock.unlock();
+                } finally {
+                    if (!optimisticLocking) {
+                        lock.unlock();
+                    }
                 }
             }
         }
@@ -0,0 +1,555 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which stores
+ * the keys in an append only journal.
+ * <p/>
+ * Every added and removed key is appended to the journal file as a record, so adding and removing
+ * keys takes constant time regardless of the number of keys in the store. The records are written
+ * in batches which are synced to disk when <tt>syncBatchSize</tt> records have been written,
+ * and at least every <tt>syncInterval</tt> millis.
+ * <p/>
+ * When the journal contains more than <tt>compactionThreshold</tt> obsolete records (removed keys)
+ * and these are more than half of the journal, then the journal is compacted in the background by
+ * rewriting it with only the current keys.
+ * <p/>
+ * All the current keys are kept in memory, and the index is rebuilt from the journal when the
+ * repository is started. Unlike {@link FileIdempotentRepository} the keys are not capped
+ * by a 1st level cache, so care should be taken to remove keys which are no longer needed.
+ * <p/>
+ * Each record is written as a line, so the keys must not contain newlines.
+ *
+ * @version 
+ */
+@ManagedResource(description = "Journal file based idempotent repository")
+public class JournalFileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String>, CamelContextAware {
+    private static final Logger LOG = LoggerFactory.getLogger(JournalFileIdempotentRepository.class);
+    private static final int ADD = '+';
+    private static final int REMOVE = '-';
+    private static final int DELIMITER = '\n';
+
+    private final ConcurrentMap<String, Boolean> index = new ConcurrentHashMap<String, Boolean>();
+    private final Object lock = new Object();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private CamelContext camelContext;
+    private File fileStore;
+    private int syncBatchSize = 100;
+    private long syncInterval = 1000;
+    private long compactionThreshold = 10000;
+    private ScheduledExecutorService executorService;
+    // the following state is guarded by the lock
+    private FileOutputStream fos;
+    private OutputStream out;
+    private long records;
+    private int unsynced;
+    private List<String> compactionBacklog;
+    private long generation;
+
+    public JournalFileIdempotentRepository() {
+    }
+
+    public JournalFileIdempotentRepository(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    /**
+     * Creates a new journal file based repository.
+     *
+     * @param fileStore  the file store
+     */
+    public static IdempotentRepository<String> journalFileIdempotentRepository(File fileStore) {
+        return new JournalFileIdempotentRepository(fileStore);
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        // no need to lock if its a duplicate key
+        if (index.containsKey(key)) {
+            return false;
+        }
+        if (key.indexOf(DELIMITER) != -1) {
+            // the key would be split into two records when the journal is loaded
+            throw new IllegalArgumentException("Key must not contain newlines: " + key);
+        }
+        boolean compact;
+        synchronized (lock) {
+            if (index.putIfAbsent(key, Boolean.TRUE) != null) {
+                return false;
+            }
+            appendRecord(ADD, key);
+            // the journal may only have obsolete records after the store has been cleared
+            compact = isCompactionNeeded();
+        }
+        if (compact) {
+            scheduleCompaction();
+        }
+        return true;
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        boolean compact;
+        synchronized (lock) {
+            if (index.remove(key) == null) {
+                return false;
+            }
+            appendRecord(REMOVE, key);
+            compact = isCompactionNeeded();
+        }
+        if (compact) {
+            scheduleCompaction();
+        }
+        return true;
+    }
+
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        synchronized (lock) {
+            index.clear();
+            // any ongoing compaction is no longer valid
+            generation++;
+            if (out != null) {
+                try {
+                    IOHelper.close(out, "Clearing journal file idempotent repository", LOG);
+                    openJournal(false);
+                } catch (IOException e) {
+                    throw ObjectHelper.wrapRuntimeCamelException(e);
+                }
+            }
+            records = 0;
+            unsynced = 0;
+        }
+    }
+
+    /**
+     * Compacts the journal by rewriting it with only the current keys.
+     */
+    @ManagedOperation(description = "Compacts the journal file")
+    public void compact() throws IOException {
+        compact(false);
+    }
+
+    private boolean compact(boolean onlyIfNeeded) throws IOException {
+        if (!compacting.compareAndSet(false, true)) {
+            // already in progress
+            return false;
+        }
+        try {
+            return doCompact(onlyIfNeeded);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Syncs the written records to disk.
+     */
+    @ManagedOperation(description = "Syncs the journal file to disk")
+    public void sync() throws IOException {
+        synchronized (lock) {
+            if (out != null && unsynced > 0) {
+                doSync();
+            }
+        }
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public File getFileStore() {
+        return fileStore;
+    }
+
+    public void setFileStore(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    @ManagedAttribute(description = "The file path for the store")
+    public String getFilePath() {
+        return fileStore.getPath();
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public int getCacheSize() {
+        return index.size();
+    }
+
+    @ManagedAttribute(description = "The number of records in the journal file")
+    public long getRecords() {
+        synchronized (lock) {
+            return records;
+        }
+    }
+
+    @ManagedAttribute(description = "Number of records to write before the journal file is synced to disk")
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+
+    /**
+     * Sets the number of records to write before the journal file is synced to disk.
+     * <p/>
+     * The default is 100. Setting this to 1 syncs every record.
+     */
+    public void setSyncBatchSize(int syncBatchSize) {
+        this.syncBatchSize = syncBatchSize;
+    }
+
+    @ManagedAttribute(description = "Interval in millis the journal file is synced to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the interval in millis the journal file is synced to disk, if there are any records
+     * not yet synced. This requires the repository to have {@link CamelContext} injected.
+     * <p/>
+     * The default is 1000 millis. Use 0 or negative value to only sync using the batch size.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    @ManagedAttribute(description = "Minimum number of obsolete records before the journal file is compacted")
+    public long getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the minimum number of obsolete records before the journal file is compacted.
+     * The journal is only compacted if the obsolete records are also more than half of the journal.
+     * <p/>
+     * The default is 10000. The compaction runs in the background if the repository has
+     * {@link CamelContext} injected, otherwise by the thread which removed the key.
+     */
+    public void setCompactionThreshold(long compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    private void appendRecord(int type, String key) {
+        try {
+            out.write(type);
+            out.write(key.getBytes(StandardCharsets.UTF_8));
+            out.write(DELIMITER);
+            records++;
+            if (compactionBacklog != null) {
+                // keep the records which are written during compaction, to be added to the compacted journal
+                compactionBacklog.add((char) type + key);
+            }
+            if (++unsynced >= syncBatchSize) {
+                doSync();
+            }
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private void doSync() throws IOException {
+        out.flush();
+        fos.getChannel().force(false);
+        unsynced = 0;
+    }
+
+    private boolean isCompactionNeeded() {
+        long obsolete = records - index.size();
+        return obsolete >= compactionThreshold && obsolete > index.size();
+    }
+
+    private void scheduleCompaction() {
+        // only schedule one compaction at a time, as every add and remove may ask for compaction until it has run
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        if (executorService != null) {
+            try {
+                executorService.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        boolean compacted = false;
+                        try {
+                            compacted = compact(true);
+                        } catch (Throwable e) {
+                            LOG.warn("Error compacting journal file: " + fileStore + ". This exception will be ignored.", e);
+                        } finally {
+                            compactionScheduled.set(false);
+                        }
+                        if (compacted) {
+                            // the records written during the compaction may need another compaction
+                            boolean compact;
+                            synchronized (lock) {
+                                compact = out != null && isCompactionNeeded();
+                            }
+                            if (compact) {
+                                scheduleCompaction();
+                            }
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                compactionScheduled.set(false);
+                throw e;
+            }
+        } else {
+            try {
+                compact(true);
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                compactionScheduled.set(false);
+            }
+        }
+    }
+
+    private boolean doCompact(boolean onlyIfNeeded) throws IOException {
+        File tmp = new File(fileStore.getPath() + ".compact");
+        long startGeneration;
+        synchronized (lock) {
+            if (out == null) {
+                return false;
+            }
+            if (onlyIfNeeded && !isCompactionNeeded()) {
+                // another compaction has already been done
+                return false;
+            }
+            startGeneration = generation;
+            compactionBacklog = new ArrayList<String>();
+        }
+
+        LOG.debug("Compacting journal file: {}", fileStore);
+        long count = 0;
+        boolean done = false;
+        OutputStream tmpOut = new BufferedOutputStream(new FileOutputStream(tmp));
+        try {
+            // the keys may be changed while we write them, but the records written meanwhile are added afterwards
+            for (String key : index.keySet()) {
+                tmpOut.write(ADD);
+                tmpOut.write(key.getBytes(StandardCharsets.UTF_8));
+                tmpOut.write(DELIMITER);
+                count++;
+            }
+
+            synchronized (lock) {
+                if (out != null && generation == startGeneration) {
+                    for (String record : compactionBacklog) {
+                        tmpOut.write(record.getBytes(StandardCharsets.UTF_8));
+                        tmpOut.write(DELIMITER);
+                        count++;
+                    }
+                    tmpOut.flush();
+                    tmpOut.close();
+
+                    IOHelper.close(out, "Compacting journal file idempotent repository", LOG);
+                    Files.move(tmp.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    openJournal(true);
+                    LOG.debug("Compacted journal file: {} from {} to {} records", new Object[]{fileStore, records, count});
+                    records = count;
+                    unsynced = 0;
+                    done = true;
+                }
+                compactionBacklog = null;
+            }
+        } finally {
+            IOHelper.close(tmpOut);
+            if (!done) {
+                FileUtil.deleteFile(tmp);
+            }
+        }
+        return done;
+    }
+
+    private void openJournal(boolean append) throws IOException {
+        fos = new FileOutputStream(fileStore, append);
+        out = new BufferedOutputStream(fos);
+    }
+
+    /**
+     * Loads the journal file into the index
+     */
+    protected void loadStore() throws IOException {
+        // auto create starting directory if needed
+        if (!fileStore.exists()) {
+            LOG.debug("Creating filestore: {}", fileStore);
+            File parent = fileStore.getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            boolean created = FileUtil.createNewFile(fileStore);
+            if (!created) {
+                throw new IOException("Cannot create filestore: " + fileStore);
+            }
+        }
+
+        LOG.trace("Loading index from journal file: {}", fileStore);
+
+        index.clear();
+        records = 0;
+        long length = 0;
+        InputStream is = new BufferedInputStream(new FileInputStream(fileStore));
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long pos = 0;
+            int ch;
+            while ((ch = is.read()) != -1) {
+                pos++;
+                if (ch != DELIMITER) {
+                    line.write(ch);
+                    continue;
+                }
+                byte[] data = line.toByteArray();
+                line.reset();
+                length = pos;
+                if (data.length == 0) {
+                    continue;
+                }
+                String key = new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+                if (data[0] == ADD) {
+                    index.put(key, Boolean.TRUE);
+                } else if (data[0] == REMOVE) {
+                    index.remove(key);
+                } else {
+                    LOG.warn("Ignoring invalid record in journal file: {}", fileStore);
+                }
+                records++;
+            }
+        } finally {
+            IOHelper.close(is);
+        }
+
+        if (length < fileStore.length()) {
+            // the last record was not completely written, so discard it
+            LOG.warn("Discarding incomplete last record in journal file: {}", fileStore);
+            RandomAccessFile raf = new RandomAccessFile(fileStore, "rw");
+            try {
+                raf.setLength(length);
+            } finally {
+                IOHelper.close(raf);
+            }
+        }
+
+        LOG.debug("Loaded {} keys from {} records in journal file: {}", new Object[]{index.size(), records, fileStore});
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(fileStore, "fileStore", this);
+
+        synchronized (lock) {
+            loadStore();
+            openJournal(true);
+        }
+        if (camelContext != null) {
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "JournalFileIdempotentRepository");
+            if (syncInterval > 0) {
+                executorService.scheduleWithFixedDelay(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            sync();
+                        } catch (Throwable e) {
+                            LOG.warn("Error syncing journal file: " + fileStore + ". This exception will be ignored.", e);
+                        }
+                    }
+                }, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        boolean compact;
+        synchronized (lock) {
+            compact = isCompactionNeeded();
+        }
+        if (compact) {
+            compact();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        synchronized (lock) {
+            if (out != null) {
+                try {
+                    doSync();
+                } finally {
+                    IOHelper.close(out, "Stopping journal file idempotent repository", LOG);
+                    out = null;
+                    fos = null;
+                }
+            }
+            // stop any ongoing compaction and clear the index, which is loaded again on start
+            generation++;
+            index.clear();
+        }
+    }
+
+}
@@ -17,17 +17,29 @@
 package org.apache.camel.processor.idempotent;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.ServiceSupport;
-import org.apache.camel.util.LRUCache;
 
 /**
  * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository}. 
  * <p/>
+ * By default the keys are stored in a concurrent LRU cache which holds up to 1000 entries.
+ * The size of the cache, and for how long a key is kept, can be configured using the
+ * <tt>cacheSize</tt> and <tt>expireAfterWrite</tt> options.
+ * <p/>
+ * When the underlying {@link Map} is a {@link ConcurrentMap} the repository does not use any locking,
+ * and a key is added using an atomic {@link ConcurrentMap#putIfAbsent(Object, Object)} operation.
+ * Any other kind of {@link Map} is accessed synchronized.
+ * <p/>
  * Care should be taken to use a suitable underlying {@link Map} to avoid this class being a
  * memory leak.
  *
@@ -35,19 +47,24 @@ import org.apache.camel.util.LRUCache;
  */
 @ManagedResource(description = "Memory based idempotent repository")
 public class MemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
     private Map<String, Object> cache;
+    private ConcurrentMap<String, Object> concurrentCache;
     private int cacheSize;
+    private long expireAfterWrite;
 
     public MemoryIdempotentRepository() {
-        this.cache = new LRUCache<String, Object>(1000);
+        setCache(createCache(DEFAULT_CACHE_SIZE, 0));
     }
 
     public MemoryIdempotentRepository(Map<String, Object> set) {
-        this.cache = set;
+        setCache(set);
     }
 
     /**
-     * Creates a new memory based repository using a {@link LRUCache}
+     * Creates a new memory based repository using a concurrent LRU cache
      * with a default of 1000 entries in the cache.
      */
     public static IdempotentRepository<String> memoryIdempotentRepository() {
@@ -55,12 +72,23 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
     }
 
     /**
-     * Creates a new memory based repository using a {@link LRUCache}.
+     * Creates a new memory based repository using a concurrent LRU cache.
      *
      * @param cacheSize  the cache size
      */
     public static IdempotentRepository<String> memoryIdempotentRepository(int cacheSize) {
-        return memoryIdempotentRepository(new LRUCache<String, Object>(cacheSize));
+        return memoryIdempotentRepository(createCache(cacheSize, 0));
+    }
+
+    /**
+     * Creates a new memory based repository using a concurrent LRU cache
+     * where the keys expire after the given time.
+     *
+     * @param cacheSize         the cache size
+     * @param expireAfterWrite  time in millis after which a key is removed from the cache
+     */
+    public static IdempotentRepository<String> memoryIdempotentRepository(int cacheSize, long expireAfterWrite) {
+        return memoryIdempotentRepository(createCache(cacheSize, expireAfterWrite));
     }
 
     /**
@@ -78,25 +106,50 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
-        synchronized (cache) {
-            if (cache.containsKey(key)) {
-                return false;
-            } else {
-                cache.put(key, key);
-                return true;
+        boolean added;
+        if (concurrentCache != null) {
+            added = concurrentCache.putIfAbsent(key, key) == null;
+        } else {
+            synchronized (cache) {
+                if (cache.containsKey(key)) {
+                    added = false;
+                } else {
+                    cache.put(key, key);
+                    added = true;
+                }
             }
         }
+        if (added) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return added;
     }
 
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
-        synchronized (cache) {
-            return cache.containsKey(key);
+        boolean found;
+        if (concurrentCache != null) {
+            found = concurrentCache.containsKey(key);
+        } else {
+            synchronized (cache) {
+                found = cache.containsKey(key);
+            }
         }
+        if (found) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return found;
     }
 
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
+        if (concurrentCache != null) {
+            return concurrentCache.remove(key) != null;
+        }
         synchronized (cache) {
             return cache.remove(key) != null;
         }
@@ -109,9 +162,14 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
     
     @ManagedOperation(description = "Clear the store")
     public void clear() {
-        synchronized (cache) {
-            cache.clear();
+        if (concurrentCache != null) {
+            concurrentCache.clear();
+        } else {
+            synchronized (cache) {
+                cache.clear();
+            }
         }
+        resetStatistics();
     }
 
     public Map<String, Object> getCache() {
@@ -123,14 +181,60 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
         return cache.size();
     }
 
+    /**
+     * Sets the maximum number of keys to keep in the cache, which is created when this repository is started.
+     */
     public void setCacheSize(int cacheSize) {
         this.cacheSize = cacheSize;
     }
 
+    @ManagedAttribute(description = "Time in millis after which a key is removed from the cache")
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * Sets the time in millis after which a key is removed from the cache, which is created when this repository
+     * is started. Is default 0 to keep the keys until they are evicted due to the size of the cache.
+     */
+    public void setExpireAfterWrite(long expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    @ManagedAttribute(description = "Number of times a key was found in the store")
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @ManagedAttribute(description = "Number of times a key was not found in the store")
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private void setCache(Map<String, Object> cache) {
+        this.cache = cache;
+        this.concurrentCache = cache instanceof ConcurrentMap ? (ConcurrentMap<String, Object>) cache : null;
+    }
+
+    private static ConcurrentMap<String, Object> createCache(int cacheSize, long expireAfterWrite) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder().maximumSize(cacheSize);
+        if (expireAfterWrite > 0) {
+            caffeine.expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS);
+        }
+        Cache<String, Object> answer = caffeine.build();
+        return answer.asMap();
+    }
+
     @Override
     protected void doStart() throws Exception {
-        if (cacheSize > 0) {
-            cache = new LRUCache<String, Object>(cacheSize);
+        if (cacheSize > 0 || expireAfterWrite > 0) {
+            setCache(createCache(cacheSize > 0 ? cacheSize : DEFAULT_CACHE_SIZE, expireAfterWrite));
         }
     }
 
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A pool of <tt>byte[]</tt> and direct {@link ByteBuffer} buffers used when copying and caching streams,
+ * to avoid allocating a new buffer for each message.
+ * <p/>
+ * A buffer which has been acquired must only be released once, and must not be used after it has been released.
+ * Only buffers which have been acquired from the pool must be released to it, as the pool may not be able to
+ * tell other buffers apart, and would then hand them out while they are still in use.
+ * Buffers which are never released are just garbage collected.
+ *
+ * @see StreamCachingStrategy#getBufferPool()
+ */
+public interface BufferPool {
+
+    /**
+     * Acquires a buffer from the pool, or allocates a new buffer if the pool has no buffer of the size.
+     *
+     * @param size the minimum size of the buffer
+     * @return the buffer, which may be larger than the requested size
+     */
+    byte[] acquire(int size);
+
+    /**
+     * Releases a buffer which was acquired from the pool back to the pool, so it can be reused.
+     * <p/>
+     * The buffer is discarded if the pool is full.
+     *
+     * @param buffer the buffer acquired from the pool
+     */
+    void release(byte[] buffer);
+
+    /**
+     * Acquires a cleared direct {@link ByteBuffer} from the pool, or allocates a new direct buffer
+     * if the pool has no buffer of the size.
+     *
+     * @param size the minimum capacity of the buffer
+     * @return the buffer, which may have a larger capacity than the requested size
+     */
+    ByteBuffer acquireDirect(int size);
+
+    /**
+     * Releases a direct buffer which was acquired from the pool back to the pool, so it can be reused.
+     * <p/>
+     * The buffer is discarded if the pool is full.
+     *
+     * @param buffer the buffer acquired from the pool
+     */
+    void releaseDirect(ByteBuffer buffer);
+
+    /**
+     * Discards the buffers held by the pool, so they can be garbage collected. The pool can still be used afterwards.
+     */
+    void clear();
+
+    /**
+     * Number of times a buffer was acquired from the pool.
+     */
+    long getHitCounter();
+
+    /**
+     * Number of times a new buffer was allocated as the pool had no buffer of the size.
+     */
+    long getMissCounter();
+
+    /**
+     * Reset the counters
+     */
+    void resetStatistics();
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.camel.CamelContext;
@@ -157,4 +158,33 @@ public interface LifecycleStrategy {
      */
     void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool);
 
+    /**
+     * Notification on adding a work-stealing thread pool.
+     * <p/>
+     * The default implementation does nothing.
+     *
+     * @param camelContext        the camel context
+     * @param threadPool          the thread pool
+     * @param id                  id of the thread pool (can be null in special cases)
+     * @param sourceId            id of the source creating the thread pool (can be null in special cases)
+     * @param routeId             id of the route for the source (is null if no source)
+     * @param threadPoolProfileId id of the thread pool profile, if used for creating this thread pool (can be null)
+     */
+    default void onThreadPoolAdd(CamelContext camelContext, ForkJoinPool threadPool, String id,
+                                 String sourceId, String routeId, String threadPoolProfileId) {
+        // noop
+    }
+
+    /**
+     * Notification on removing a work-stealing thread pool.
+     * <p/>
+     * The default implementation does nothing.
+     *
+     * @param camelContext the camel context
+     * @param threadPool   the thread pool
+     */
+    default void onThreadPoolRemove(CamelContext camelContext, ForkJoinPool threadPool) {
+        // noop
+    }
+
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.spi;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -66,5 +67,15 @@ public interface ManagementNamingStrategy {
 
     ObjectName getObjectNameForThreadPool(CamelContext context, ThreadPoolExecutor threadPool, String id, String sourceId) throws MalformedObjectNameException;
 
+    /**
+     * Gets the object name for a work-stealing thread pool.
+     * <p/>
+     * The default implementation uses the object name of
+     * {@link #getObjectNameForThreadPool(CamelContext, ThreadPoolExecutor, String, String)}, with a <tt>null</tt> thread pool.
+     */
+    default ObjectName getObjectNameForThreadPool(CamelContext context, ForkJoinPool threadPool, String id, String sourceId) throws MalformedObjectNameException {
+        return getObjectNameForThreadPool(context, (ThreadPoolExecutor) null, id, sourceId);
+    }
+
     ObjectName getObjectNameForEventNotifier(CamelContext context, EventNotifier eventNotifier) throws MalformedObjectNameException;
 }
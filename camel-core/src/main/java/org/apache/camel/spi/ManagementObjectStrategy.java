@@ -16,6 +16,7 @@
  */
 package org.apache.camel.spi;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.camel.CamelContext;
@@ -59,5 +60,15 @@ public interface ManagementObjectStrategy {
     Object getManagedObjectForThreadPool(CamelContext context, ThreadPoolExecutor threadPool,
                                          String id, String sourceId, String routeId, String threadPoolProfileId);
 
+    /**
+     * Gets the managed object for a work-stealing thread pool.
+     * <p/>
+     * The default implementation returns <tt>null</tt>, so the thread pool is not managed.
+     */
+    default Object getManagedObjectForThreadPool(CamelContext context, ForkJoinPool threadPool,
+                                                 String id, String sourceId, String routeId, String threadPoolProfileId) {
+        return null;
+    }
+
     Object getManagedObjectForEventNotifier(CamelContext context, EventNotifier eventNotifier);
 }
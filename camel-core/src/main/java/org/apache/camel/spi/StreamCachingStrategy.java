@@ -164,6 +164,16 @@ public interface StreamCachingStrategy extends StaticService {
 
     int getBufferSize();
 
+    /**
+     * Sets the pool of buffers used by in-memory stream caches, and when copying streams
+     * in the type converters and file producer, to avoid allocating a new buffer for each message.
+     * <p/>
+     * The default pool is {@link org.apache.camel.impl.DefaultBufferPool}
+     */
+    void setBufferPool(BufferPool bufferPool);
+
+    BufferPool getBufferPool();
+
     /**
      * Sets a chiper name to use when spooling to disk to write with encryption.
      * <p/>
@@ -173,6 +183,19 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolChiper();
 
+    /**
+     * Sets whether to cache the data off heap in pooled direct buffers, and spool to memory mapped files,
+     * instead of using byte arrays and file streams. This avoids copying the data through the heap, and
+     * allows to transfer spooled data to files and channels without copying it in memory.
+     * <p/>
+     * This option is not in use if a {@link #setSpoolChiper(String) chiper} is configured.
+     * <p/>
+     * This option is default <tt>false</tt>
+     */
+    void setOffHeap(boolean offHeap);
+
+    boolean isOffHeap();
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
@@ -21,6 +21,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 
 /**
  * A profile which defines thread pool settings.
@@ -44,6 +45,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private ThreadPoolType poolType;
 
     /**
      * Creates a new thread pool profile, with no id set.
@@ -239,7 +241,34 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     }
 
     /**
-     * Overwrites each attribute that is null with the attribute from defaultProfile 
+     * Gets the kind of thread pool to create
+     *
+     * @return the kind of thread pool, or <tt>null</tt> if not defined
+     */
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    /**
+     * Sets the kind of thread pool to create, such as a thread pool using virtual threads.
+     * <p/>
+     * The kind of thread pool only applies to the thread pools created from this profile, and is not inherited
+     * by other profiles from the default profile. Setting it on the default profile therefore affects the thread pools
+     * which are created from the default profile, such as by multicast, splitter, recipient list and wire tap with
+     * parallel processing, but not the fixed size and single threaded pools created by
+     * {@link org.apache.camel.spi.ExecutorServiceManager#newFixedThreadPool(Object, String, int)} and
+     * {@link org.apache.camel.spi.ExecutorServiceManager#newSingleThreadExecutor(Object, String)}.
+     * <p/>
+     * Is by default <tt>Default</tt>
+     *
+     * @param poolType the kind of thread pool
+     */
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
+    /**
+     * Overwrites each attribute that is null with the attribute from defaultProfile, except the pool type
      * 
      * @param defaultProfile profile with default values
      */
@@ -268,6 +297,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         if (rejectedPolicy == null) {
             rejectedPolicy = defaultProfile.getRejectedPolicy();
         }
+        // the pool type is not inherited, as a profile which sets the pool sizes expects a pool of that size
     }
 
     @Override
@@ -282,6 +312,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         cloned.setAllowCoreThreadTimeOut(allowCoreThreadTimeOut);
         cloned.setRejectedPolicy(rejectedPolicy);
         cloned.setTimeUnit(timeUnit);
+        cloned.setPoolType(poolType);
         return cloned;
     }
 
@@ -289,7 +320,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     public String toString() {
         return "ThreadPoolProfile[" + id + " (" + defaultProfile + ") size:" + poolSize + "-" + maxPoolSize
                 + ", keepAlive: " + keepAliveTime + " " + timeUnit + ", maxQueue: " + maxQueueSize
-                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy + "]";
+                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy
+                + ", poolType:" + poolType + "]";
     }
 
 }
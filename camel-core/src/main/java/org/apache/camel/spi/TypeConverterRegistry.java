@@ -16,6 +16,7 @@
  */
 package org.apache.camel.spi;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.camel.LoggingLevel;
@@ -64,6 +65,12 @@ public interface TypeConverterRegistry extends StaticService {
          */
         long getFailedCounter();
 
+        /**
+         * Utilization statistics of each type mapping (from -> to) which has been attempted to be converted
+         * while the statistics was enabled.
+         */
+        Collection<MappingStatistics> getMappingStatistics();
+
         /**
          * Reset the counters
          */
@@ -82,6 +89,42 @@ public interface TypeConverterRegistry extends StaticService {
         void setStatisticsEnabled(boolean statisticsEnabled);
     }
 
+    /**
+     * Utilization statistics of a type mapping (from -> to) in this registry.
+     */
+    interface MappingStatistics {
+
+        /**
+         * The type to convert from
+         */
+        Class<?> getFromType();
+
+        /**
+         * The type to convert to
+         */
+        Class<?> getToType();
+
+        /**
+         * Number of successful conversions
+         */
+        long getHitCounter();
+
+        /**
+         * Number of attempts which cannot be converted as no suitable type converter exists
+         */
+        long getMissCounter();
+
+        /**
+         * Number of failed attempts during type conversion
+         */
+        long getFailedCounter();
+
+        /**
+         * Total time in nanos spent converting
+         */
+        long getTotalTime();
+    }
+
     /**
      * Registers a new type converter.
      * <p/>
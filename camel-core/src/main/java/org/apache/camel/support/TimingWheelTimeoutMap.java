@@ -0,0 +1,385 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimeoutMap} which uses a hashed timing wheel to keep track of when the entries expire.
+ * <p/>
+ * The wheel has a number of buckets, each covering one purge poll interval (a tick). An entry is placed
+ * in the bucket of the tick it expires in, so adding, updating and removing an entry takes constant time.
+ * When purging only the buckets of the ticks that have passed since the last purge are checked for expired
+ * entries, instead of checking all the entries as {@link DefaultTimeoutMap} does. Entries which expire more
+ * than one revolution of the wheel ahead stay in their bucket until the wheel comes around again.
+ * <p/>
+ * Like {@link DefaultTimeoutMap} this implementation can be used with or without locking, and you must provide
+ * a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used to schedule
+ * the background task which purges the expired entries.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ *
+ * @version 
+ */
+public class TimingWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V>, Runnable {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<K, WheelEntry<K, V>>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final Set<WheelEntry<K, V>>[] wheel;
+    private final Lock lock = new ReentrantLock();
+    private boolean useLock = true;
+    private long lastTick = -1;
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, 512, true);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        this(executor, requestMapPollTimeMillis, 512, useLock);
+    }
+
+    /**
+     * Creates the timeout map.
+     *
+     * @param executor                  the executor to run the purge task
+     * @param requestMapPollTimeMillis  the purge poll interval in millis, which is the tick of the wheel
+     * @param wheelSize                 the number of buckets in the wheel, rounded up to a power of two
+     * @param useLock                   whether to use locking
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize, boolean useLock) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be positive, was: " + requestMapPollTimeMillis);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.useLock = useLock;
+
+        // use a power of two so the bucket can be selected by masking the tick
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Set[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    public V get(K key) {
+        WheelEntry<K, V> entry;
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            // accessing the entry postpones its timeout
+            unschedule(entry);
+            updateExpireTime(entry);
+            schedule(entry);
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+        return entry.getValue();
+    }
+
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<K, V>(key, value, timeoutMillis);
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            updateExpireTime(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unschedule(result);
+            }
+            schedule(entry);
+            return result != null ? result.getValue() : null;
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+    }
+
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<K, V>(key, value, timeoutMillis);
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            updateExpireTime(entry);
+            //Just make sure we don't override the old entry
+            WheelEntry<K, V> result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                schedule(entry);
+            }
+            return result != null ? result.getValue() : null;
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+    }
+
+    public V remove(K key) {
+        WheelEntry<K, V> entry;
+
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            entry = map.remove(key);
+            if (entry != null) {
+                unschedule(entry);
+            }
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+
+        return entry != null ? entry.getValue() : null;
+    }
+
+    public Object[] getKeys() {
+        Object[] keys;
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            Set<K> keySet = map.keySet();
+            keys = new Object[keySet.size()];
+            keySet.toArray(keys);
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+        return keys;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries has been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+        if (map.isEmpty()) {
+            return;
+        }
+
+        long now = currentTime();
+        long currentTick = now / purgePollTime;
+
+        List<WheelEntry<K, V>> expired = new ArrayList<WheelEntry<K, V>>();
+
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            // check the buckets of the ticks passed since last purge, but no more than one revolution of the wheel
+            long fromTick = lastTick < 0 ? currentTick - wheel.length + 1 : lastTick + 1;
+            fromTick = Math.max(fromTick, currentTick - wheel.length + 1);
+            for (long tick = fromTick; tick <= currentTick; tick++) {
+                for (WheelEntry<K, V> entry : wheel[bucketOf(tick)]) {
+                    if (entry.getExpireTime() < now && isValidForEviction(entry)) {
+                        log.debug("Evicting inactive entry ID: {}", entry);
+                        expired.add(entry);
+                    }
+                }
+            }
+            // the current tick is not yet over, so its bucket must be checked again on next purge
+            lastTick = currentTick - 1;
+
+            // if we found any expired then we need to sort, onEviction and remove
+            if (!expired.isEmpty()) {
+                // sort according to the expired time so we got the first expired first
+                expired.sort(new Comparator<WheelEntry<K, V>>() {
+                    public int compare(WheelEntry<K, V> a, WheelEntry<K, V> b) {
+                        return Long.compare(a.getExpireTime(), b.getExpireTime());
+                    }
+                });
+
+                for (WheelEntry<K, V> entry : expired) {
+                    boolean evict = false;
+                    try {
+                        evict = onEviction(entry.getKey(), entry.getValue());
+                    } catch (Throwable t) {
+                        log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                                entry.getValue(), t);
+                    }
+                    if (evict) {
+                        // okay this entry should be evicted, unless it has been replaced meanwhile
+                        map.remove(entry.getKey(), entry);
+                        unschedule(entry);
+                    } else if (entry.bucket != bucketOf(currentTick) && wheel[entry.bucket].remove(entry)) {
+                        // move the entry to the current bucket so we try again on next purge
+                        entry.bucket = bucketOf(currentTick);
+                        wheel[entry.bucket].add(entry);
+                    }
+                }
+            }
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets the number of buckets in the timing wheel
+     */
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    public boolean onEviction(K key, V value) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    private int bucketOf(long tick) {
+        return (int) (tick & (wheel.length - 1));
+    }
+
+    private void schedule(WheelEntry<K, V> entry) {
+        entry.bucket = bucketOf(entry.getExpireTime() / purgePollTime);
+        wheel[entry.bucket].add(entry);
+    }
+
+    private void unschedule(WheelEntry<K, V> entry) {
+        wheel[entry.bucket].remove(entry);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        map.clear();
+        for (Set<WheelEntry<K, V>> bucket : wheel) {
+            bucket.clear();
+        }
+        lastTick = -1;
+    }
+
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        // the bucket in the wheel the entry is placed in
+        private volatile int bucket;
+
+        WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+    }
+
+}
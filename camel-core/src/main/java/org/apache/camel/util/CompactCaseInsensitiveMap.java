@@ -0,0 +1,391 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact array based map that uses case insensitive keys, but preserves the original key cases.
+ * <p/>
+ * The entries are stored in insertion order in plain arrays together with the case insensitive hash code of their keys,
+ * which is computed once when the entry is added. The entries are looked up using a small open addressed hash table,
+ * which makes the map well suited for the typical number of headers on a message (up till a few dozens).
+ * <p/>
+ * Creating a copy of this map, using {@link #CompactCaseInsensitiveMap(Map)} or {@link #putAll(Map)} on an empty map,
+ * does not copy the entries. Instead the arrays are shared between the maps, and copied the first time either
+ * of the maps is changed (copy-on-write).
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @see CaseInsensitiveMap
+ */
+public class CompactCaseInsensitiveMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 4178376932567307226L;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // the entries in insertion order
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    // open addressed hash table which refers to the position of the entry + 1 (0 is an empty slot)
+    private int[] table;
+    // whether the arrays are shared with a copy of this map, and must be copied before they are changed
+    private boolean shared;
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CompactCaseInsensitiveMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompactCaseInsensitiveMap(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    public CompactCaseInsensitiveMap(Map<? extends String, ?> map) {
+        if (map instanceof CompactCaseInsensitiveMap) {
+            share((CompactCaseInsensitiveMap) map);
+        } else {
+            allocate(Math.max(map.size(), DEFAULT_CAPACITY));
+            putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int hash = hash(key);
+        int pos = indexOf(key, hash);
+        if (pos >= 0) {
+            // keep the original key as a tree map with case insensitive order does
+            Object old = values[pos];
+            if (old != value) {
+                ensureWritable();
+                values[pos] = value;
+            }
+            return old;
+        }
+
+        ensureWritable();
+        if (size == keys.length) {
+            resize(keys.length * 2);
+        }
+        pos = size++;
+        keys[pos] = key;
+        values[pos] = value;
+        hashes[pos] = hash;
+        insert(hash, pos);
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<? extends String, ?> map) {
+        if (size == 0 && map instanceof CompactCaseInsensitiveMap) {
+            // no need to copy the entries until either map is changed
+            share((CompactCaseInsensitiveMap) map);
+            modCount++;
+            return;
+        }
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return null;
+        }
+        Object old = values[pos];
+        removeAt(pos);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (shared) {
+            // do not clear the arrays as they are shared with another map
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            Arrays.fill(table, 0);
+            size = 0;
+        }
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Computes the case insensitive hash code of the key, which is consistent with {@link String#equalsIgnoreCase(String)}.
+     */
+    private static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String) || size == 0) {
+            return -1;
+        }
+        String str = (String) key;
+        return indexOf(str, hash(str));
+    }
+
+    private int indexOf(String key, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            int pos = table[slot] - 1;
+            if (pos < 0) {
+                return -1;
+            }
+            if (hashes[pos] == hash) {
+                String other = keys[pos];
+                if (other == key || other.equalsIgnoreCase(key)) {
+                    return pos;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(int hash, int pos) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = pos + 1;
+    }
+
+    private void removeAt(int pos) {
+        ensureWritable();
+        int moved = size - pos - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, moved);
+            System.arraycopy(values, pos + 1, values, pos, moved);
+            System.arraycopy(hashes, pos + 1, hashes, pos, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        rehash();
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        table = new int[tableSize(capacity)];
+        size = 0;
+        shared = false;
+    }
+
+    private void resize(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        table = new int[tableSize(capacity)];
+        rehash();
+    }
+
+    private void rehash() {
+        Arrays.fill(table, 0);
+        for (int i = 0; i < size; i++) {
+            insert(hashes[i], i);
+        }
+    }
+
+    private static int tableSize(int capacity) {
+        // keep the load factor at most 0.5 so the probe sequences are short
+        return Integer.highestOneBit(Math.max(capacity, 2) - 1) << 2;
+    }
+
+    private void share(CompactCaseInsensitiveMap other) {
+        keys = other.keys;
+        values = other.values;
+        hashes = other.hashes;
+        table = other.table;
+        size = other.size;
+        shared = true;
+        other.shared = true;
+    }
+
+    private void ensureWritable() {
+        if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            table = table.clone();
+            shared = false;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            // the following entries has been shifted one position
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+        private final int pos;
+        private final String key;
+
+        Entry(int pos) {
+            this.pos = pos;
+            this.key = keys[pos];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return values[pos];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            ensureWritable();
+            Object old = values[pos];
+            values[pos] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return ObjectHelper.equal(key, e.getKey()) && ObjectHelper.equal(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+}
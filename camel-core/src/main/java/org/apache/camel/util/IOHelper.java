@@ -35,6 +35,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.BufferPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -170,6 +171,21 @@ public final class IOHelper {
     }
 
     public static int copy(final InputStream input, final OutputStream output, int bufferSize, boolean flushOnEachWrite) throws IOException {
+        return copy(input, output, bufferSize, flushOnEachWrite, null);
+    }
+
+    /**
+     * Copies the data from the input to the output, using a buffer from the given pool.
+     *
+     * @param input the input stream
+     * @param output the output stream
+     * @param bufferSize the minimum size of the buffer
+     * @param flushOnEachWrite whether to flush the output after each write
+     * @param bufferPool optional pool to acquire the buffer from, if <tt>null</tt> a new buffer is allocated
+     * @return the number of bytes copied
+     */
+    public static int copy(final InputStream input, final OutputStream output, int bufferSize, boolean flushOnEachWrite,
+                           BufferPool bufferPool) throws IOException {
         if (input instanceof ByteArrayInputStream) {
             // optimized for byte array as we only need the max size it can be
             input.mark(0);
@@ -192,22 +208,28 @@ public final class IOHelper {
                     new Object[]{input, output, bufferSize, flushOnEachWrite});
         }
 
-        final byte[] buffer = new byte[bufferSize];
-        int n = input.read(buffer);
-        int total = 0;
-        while (-1 != n) {
-            output.write(buffer, 0, n);
-            if (flushOnEachWrite) {
+        final byte[] buffer = bufferPool != null ? bufferPool.acquire(bufferSize) : new byte[bufferSize];
+        try {
+            int n = input.read(buffer);
+            int total = 0;
+            while (-1 != n) {
+                output.write(buffer, 0, n);
+                if (flushOnEachWrite) {
+                    output.flush();
+                }
+                total += n;
+                n = input.read(buffer);
+            }
+            if (!flushOnEachWrite) {
+                // flush at end, if we didn't do it during the writing
                 output.flush();
             }
-            total += n;
-            n = input.read(buffer);
-        }
-        if (!flushOnEachWrite) {
-            // flush at end, if we didn't do it during the writing
-            output.flush();
+            return total;
+        } finally {
+            if (bufferPool != null) {
+                bufferPool.release(buffer);
+            }
         }
-        return total;
     }
     
     public static void copyAndCloseInput(InputStream input, OutputStream output) throws IOException {
@@ -219,6 +241,11 @@ public final class IOHelper {
         close(input, null, LOG);
     }
 
+    public static void copyAndCloseInput(InputStream input, OutputStream output, int bufferSize, BufferPool bufferPool) throws IOException {
+        copy(input, output, bufferSize, false, bufferPool);
+        close(input, null, LOG);
+    }
+
     public static int copy(final Reader input, final Writer output, int bufferSize) throws IOException {
         final char[] buffer = new char[bufferSize];
         int n = input.read(buffer);
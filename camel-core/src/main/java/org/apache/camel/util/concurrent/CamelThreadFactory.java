@@ -38,7 +38,7 @@ public final class CamelThreadFactory implements ThreadFactory {
     }
 
     public Thread newThread(Runnable runnable) {
-        String threadName = ThreadHelper.resolveThreadName(pattern, name);
+        String threadName = resolveThreadName();
         Thread answer = new Thread(runnable, threadName);
         answer.setDaemon(daemon);
 
@@ -46,6 +46,13 @@ public final class CamelThreadFactory implements ThreadFactory {
         return answer;
     }
 
+    /**
+     * Resolves the name of a new thread, using the thread name pattern.
+     */
+    String resolveThreadName() {
+        return ThreadHelper.resolveThreadName(pattern, name);
+    }
+
     public String getName() {
         return name;
     }
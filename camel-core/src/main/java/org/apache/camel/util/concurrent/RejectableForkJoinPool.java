@@ -0,0 +1,310 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.Rejectable;
+import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A work-stealing {@link ForkJoinPool} which supports the Camel {@link ThreadPoolRejectedPolicy} and the
+ * {@link Rejectable} tasks in the same way as {@link RejectableThreadPoolExecutor}.
+ * <p/>
+ * Each worker thread has its own work queue, which avoids the contention on a single shared work queue
+ * when many short tasks are submitted, such as when splitting or multicasting in parallel.
+ * <p/>
+ * The worker threads are named using the given {@link CamelThreadFactory}. The number of tasks waiting
+ * to be executed can be bounded by the max queue size, and tasks submitted when the pool is full are
+ * handled by the rejected policy. The bound is checked without locking, so the number of waiting tasks
+ * can exceed it slightly when tasks are submitted concurrently.
+ * <p/>
+ * Only tasks submitted using the {@link java.util.concurrent.ExecutorService} methods <tt>execute</tt>
+ * and <tt>submit</tt> taking a {@link Runnable} or {@link Callable} are bounded and counted.
+ */
+public class RejectableForkJoinPool extends ForkJoinPool {
+
+    private final ThreadFactory threadFactory;
+    private final int maxQueueSize;
+    private final ThreadPoolRejectedPolicy rejectedPolicy;
+    private final LongAdder taskCount = new LongAdder();
+    private final LongAdder startedTaskCount = new LongAdder();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final AtomicInteger largestPoolSize = new AtomicInteger();
+
+    /**
+     * Creates a new work-stealing pool.
+     *
+     * @param parallelism    the parallelism level, use <tt>0</tt> or less to use the number of available processors
+     * @param maxQueueSize   the maximum number of tasks waiting to be executed, use <tt>0</tt> or less for unbounded
+     * @param rejectedPolicy the policy for tasks which are submitted when the pool is full or shutdown,
+     *                       is <tt>CallerRuns</tt> if <tt>null</tt>
+     * @param threadFactory  the thread factory used for naming the worker threads, if it is a {@link CamelThreadFactory}
+     */
+    public RejectableForkJoinPool(int parallelism, int maxQueueSize, ThreadPoolRejectedPolicy rejectedPolicy, ThreadFactory threadFactory) {
+        super(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), new WorkerThreadFactory(threadFactory), null, true);
+        this.threadFactory = threadFactory;
+        this.maxQueueSize = maxQueueSize;
+        this.rejectedPolicy = rejectedPolicy != null ? rejectedPolicy : ThreadPoolRejectedPolicy.CallerRuns;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public ThreadPoolRejectedPolicy getRejectedPolicy() {
+        return rejectedPolicy;
+    }
+
+    /**
+     * Gets the number of tasks which have been accepted for execution
+     */
+    public long getTaskCount() {
+        return taskCount.sum();
+    }
+
+    /**
+     * Gets the number of tasks which have completed execution
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+    /**
+     * Gets the number of tasks which have been accepted but not yet started
+     */
+    public long getWaitingTaskCount() {
+        // read started before accepted, so the result is not negative
+        long started = startedTaskCount.sum();
+        return Math.max(0, taskCount.sum() - started);
+    }
+
+    /**
+     * Gets the largest number of worker threads that have ever simultaneously been in the pool
+     */
+    public int getLargestPoolSize() {
+        return largestPoolSize.get();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        doExecute(new CamelForkJoinTask<Object>(Executors.callable(task), task, true));
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(Runnable task) {
+        return doExecute(new CamelForkJoinTask<Object>(Executors.callable(task), task, false));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+        return doExecute(new CamelForkJoinTask<T>(Executors.callable(task, result), task, false));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return doExecute(new CamelForkJoinTask<T>(task, task, false));
+    }
+
+    private <T> ForkJoinTask<T> doExecute(CamelForkJoinTask<T> task) {
+        if (isShutdown() || isFull()) {
+            rejectedExecution(task);
+        } else {
+            taskCount.increment();
+            super.execute(task);
+        }
+        return task;
+    }
+
+    private boolean isFull() {
+        return maxQueueSize > 0 && getWaitingTaskCount() >= maxQueueSize;
+    }
+
+    private void rejectedExecution(CamelForkJoinTask<?> task) {
+        switch (rejectedPolicy) {
+        case Abort:
+            if (task.source instanceof Rejectable) {
+                task.reject();
+            } else {
+                throw new RejectedExecutionException("Task " + task.source + " rejected from " + this);
+            }
+            break;
+        case CallerRuns:
+            if (!isShutdown()) {
+                task.runInCaller();
+            }
+            break;
+        case DiscardOldest:
+            if (!isShutdown()) {
+                ForkJoinTask<?> oldest = pollSubmission();
+                if (oldest instanceof CamelForkJoinTask) {
+                    CamelForkJoinTask<?> rejected = (CamelForkJoinTask<?>) oldest;
+                    // it will never be started
+                    startedTaskCount.increment();
+                    completedTaskCount.increment();
+                    rejected.reject();
+                }
+                taskCount.increment();
+                super.execute(task);
+            }
+            break;
+        case Discard:
+            task.reject();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown ThreadPoolRejectedPolicy: " + rejectedPolicy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        // the thread factory often have more precise details what the thread pool is used for
+        if (threadFactory instanceof CamelThreadFactory) {
+            String name = ((CamelThreadFactory) threadFactory).getName();
+            return super.toString() + "[" + name + "]";
+        } else {
+            return super.toString();
+        }
+    }
+
+    /**
+     * A task which keeps track of the task counts, and which can be rejected if its source is {@link Rejectable}.
+     */
+    private final class CamelForkJoinTask<V> extends ForkJoinTask<V> implements Rejectable {
+
+        private final Callable<V> callable;
+        private final Object source;
+        private final boolean execute;
+        private V result;
+
+        CamelForkJoinTask(Callable<V> callable, Object source, boolean execute) {
+            ObjectHelper.notNull(source, "task");
+            this.callable = callable;
+            this.source = source;
+            this.execute = execute;
+        }
+
+        @Override
+        public V getRawResult() {
+            return result;
+        }
+
+        @Override
+        protected void setRawResult(V value) {
+            this.result = value;
+        }
+
+        @Override
+        protected boolean exec() {
+            startedTaskCount.increment();
+            try {
+                result = callable.call();
+                return true;
+            } catch (RuntimeException e) {
+                uncaughtException(e);
+                throw e;
+            } catch (Error e) {
+                uncaughtException(e);
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                completedTaskCount.increment();
+            }
+        }
+
+        private void uncaughtException(Throwable e) {
+            // tasks submitted using execute have no future to hold the exception, so let the thread handle it
+            if (execute) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+
+        void runInCaller() {
+            try {
+                result = callable.call();
+                complete(result);
+            } catch (RuntimeException e) {
+                if (execute) {
+                    throw e;
+                }
+                completeExceptionally(e);
+            } catch (Exception e) {
+                completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void reject() {
+            if (source instanceof Rejectable) {
+                ((Rejectable) source).reject();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+    }
+
+    /**
+     * Creates the worker threads, which are named the same way as the threads from the {@link CamelThreadFactory}.
+     */
+    private static final class WorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final ThreadFactory threadFactory;
+
+        WorkerThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread answer = new CamelForkJoinWorkerThread(pool);
+            if (threadFactory instanceof CamelThreadFactory) {
+                answer.setName(((CamelThreadFactory) threadFactory).resolveThreadName());
+            }
+            return answer;
+        }
+    }
+
+    private static final class CamelForkJoinWorkerThread extends ForkJoinWorkerThread {
+
+        CamelForkJoinWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            ForkJoinPool pool = getPool();
+            if (pool instanceof RejectableForkJoinPool) {
+                ((RejectableForkJoinPool) pool).largestPoolSize.accumulateAndGet(pool.getPoolSize(), Math::max);
+            }
+        }
+    }
+}
@@ -132,6 +132,14 @@ public class SubmitOrderedCompletionService<V> implements CompletionService<V> {
         return answer;
     }
 
+    /**
+     * Number of completed tasks which has not been taken yet, for example because they are waiting
+     * for the previous tasks to complete.
+     */
+    public int size() {
+        return completionQueue.size();
+    }
+
     /**
      * Marks the current task as timeout, which allows you to poll the next
      * tasks which may already have been completed.
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for creating virtual threads when running on a JVM which supports them.
+ * <p/>
+ * Camel is compiled for older JVMs, so the virtual thread API is accessed using reflection,
+ * which is only done once when this class is loaded.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        ThreadFactory factory = null;
+        Method method = null;
+        try {
+            // Thread.ofVirtual().factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            // Executors.newThreadPerTaskExecutor(ThreadFactory)
+            method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Throwable e) {
+            // not supported on this JVM, or they are a preview feature which is not enabled
+            LOG.trace("Virtual threads are not supported on this JVM due: {}", e.getMessage());
+            factory = null;
+            method = null;
+        }
+        VIRTUAL_THREAD_FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = method;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether virtual threads are supported on this JVM
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates a thread factory which creates virtual threads.
+     *
+     * @param factory the factory which is used for naming the threads, if it is a {@link CamelThreadFactory}
+     * @return the thread factory
+     * @throws UnsupportedOperationException if virtual threads are not supported on this JVM
+     */
+    public static ThreadFactory newThreadFactory(final ThreadFactory factory) {
+        checkSupported();
+        if (factory instanceof CamelThreadFactory) {
+            final CamelThreadFactory camelFactory = (CamelThreadFactory) factory;
+            return new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread answer = VIRTUAL_THREAD_FACTORY.newThread(runnable);
+                    answer.setName(camelFactory.resolveThreadName());
+                    return answer;
+                }
+
+                @Override
+                public String toString() {
+                    return "VirtualThreadFactory[" + camelFactory.getName() + "]";
+                }
+            };
+        }
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Creates an executor service which starts a new virtual thread for each task.
+     *
+     * @param factory the factory which is used for naming the threads, if it is a {@link CamelThreadFactory}
+     * @return the executor service
+     * @throws UnsupportedOperationException if virtual threads are not supported on this JVM
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) {
+        ThreadFactory virtualFactory = newThreadFactory(factory);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, virtualFactory);
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this JVM");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Handler;
+import org.apache.camel.Header;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * @version
+ */
+public class BeanGenerateInvokerTest extends ContextTestSupport {
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("foo", new MyBean());
+        jndi.bind("handler", new MyHandlerBean());
+        return jndi;
+    }
+
+    public void testGeneratedInvoker() throws Exception {
+        assertEquals("Hello World 2", template.requestBodyAndHeader("direct:hello", "World", "count", "2"));
+
+        // the generated class invokes the method, and not reflection
+        String stack = template.requestBody("direct:stack", "World", String.class);
+        stack = stack.substring(0, stack.indexOf(BeanProcessor.class.getName()));
+        assertTrue(stack, stack.contains(LambdaMethodInvoker.class.getName()));
+        assertFalse(stack, stack.contains("java.lang.reflect.Method.invoke"));
+    }
+
+    public void testGeneratedInvokerHandler() throws Exception {
+        assertEquals("Bye World", template.requestBody("direct:handler", "World"));
+    }
+
+    public void testGeneratedInvokerException() throws Exception {
+        Exchange out = template.request("direct:hello", exchange -> exchange.getIn().setBody("Kaboom"));
+        assertIsInstanceOf(IllegalArgumentException.class, out.getException());
+        assertEquals("Forced", out.getException().getMessage());
+    }
+
+    public void testMethodNameHeaderOverridesBoundMethod() throws Exception {
+        assertEquals("Hi World", template.requestBodyAndHeader("direct:hello", "World", Exchange.BEAN_METHOD_NAME, "hi"));
+    }
+
+    public void testOverloadedMethodNotBound() throws Exception {
+        // overloaded methods are chosen for each message
+        assertEquals("Number 5", template.requestBody("direct:overloaded", 5));
+        assertEquals("Text 5", template.requestBody("direct:overloaded", "5"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:hello").to("bean:foo?method=hello&generateInvoker=true");
+                from("direct:stack").to("bean:foo?method=stack&generateInvoker=true");
+                from("direct:handler").to("bean:handler?generateInvoker=true");
+                from("direct:overloaded").to("bean:foo?method=echo&generateInvoker=true");
+            }
+        };
+    }
+
+    public static class MyBean {
+
+        public String hello(String body, @Header("count") Integer count) {
+            if ("Kaboom".equals(body)) {
+                throw new IllegalArgumentException("Forced");
+            }
+            return "Hello " + body + " " + count;
+        }
+
+        public String hi(String body) {
+            return "Hi " + body;
+        }
+
+        public String stack(String body) {
+            StringBuilder sb = new StringBuilder();
+            for (StackTraceElement element : new Throwable().getStackTrace()) {
+                sb.append(element.getClassName()).append('.').append(element.getMethodName()).append('\n');
+            }
+            return sb.toString();
+        }
+
+        public String echo(Integer number) {
+            return "Number " + number;
+        }
+
+        public String echo(String text) {
+            return "Text " + text;
+        }
+    }
+
+    public static class MyHandlerBean {
+
+        @Handler
+        public String bye(String body) {
+            return "Bye " + body;
+        }
+
+        public String other(String body) {
+            return "Other " + body;
+        }
+    }
+}
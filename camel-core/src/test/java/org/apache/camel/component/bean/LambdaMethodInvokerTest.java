@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.reflect.InvocationTargetException;
+
+import junit.framework.TestCase;
+
+/**
+ * @version
+ */
+public class LambdaMethodInvokerTest extends TestCase {
+
+    public void testInvoke() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("hello", String.class, int.class));
+        assertNotNull(invoker);
+        assertEquals("Hello World 2", invoker.invoke(new MyBean(), new Object[]{"World", 2}));
+    }
+
+    public void testInvokeStaticAndVoid() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("echo", Object.class));
+        assertEquals("Bye", invoker.invoke(null, new Object[]{"Bye"}));
+
+        invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("doNothing"));
+        assertNull(invoker.invoke(new MyBean(), new Object[0]));
+    }
+
+    public void testInvokeMaxParameters() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("concat", String.class, String.class, String.class, String.class));
+        assertEquals("abcd", invoker.invoke(new MyBean(), new Object[]{"a", "b", "c", "d"}));
+
+        invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("sum", int.class, int.class, int.class, int.class));
+        assertEquals(10, invoker.invoke(null, new Object[]{1, 2, 3, 4}));
+    }
+
+    public void testInvokeInterfaceMethod() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(Runnable.class.getMethod("run"));
+        final StringBuilder sb = new StringBuilder();
+        invoker.invoke((Runnable) () -> sb.append("Hello"), new Object[0]);
+        assertEquals("Hello", sb.toString());
+    }
+
+    public void testNullPrimitive() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("hello", String.class, int.class));
+        try {
+            invoker.invoke(new MyBean(), new Object[]{"World", null});
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testExceptionIsWrapped() throws Exception {
+        LambdaMethodInvoker invoker = LambdaMethodInvoker.create(MyBean.class.getMethod("fail", String.class));
+        try {
+            invoker.invoke(new MyBean(), new Object[]{"Damn"});
+            fail("Should have thrown exception");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("Damn", e.getCause().getMessage());
+        }
+    }
+
+    public void testNotSupported() throws Exception {
+        assertNull(LambdaMethodInvoker.create(MyBean.class.getDeclaredMethod("secret")));
+        assertNull(LambdaMethodInvoker.create(MyBean.class.getMethod("tooMany", String.class, String.class, String.class, String.class, String.class)));
+    }
+
+    public static class MyBean {
+
+        public String hello(String name, int count) {
+            return "Hello " + name + " " + count;
+        }
+
+        public static Object echo(Object body) {
+            return body;
+        }
+
+        public void doNothing() {
+        }
+
+        public String concat(String a, String b, String c, String d) {
+            return a + b + c + d;
+        }
+
+        public static int sum(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        public String tooMany(String a, String b, String c, String d, String e) {
+            return a + b + c + d + e;
+        }
+
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        String secret() {
+            return "secret";
+        }
+    }
+}
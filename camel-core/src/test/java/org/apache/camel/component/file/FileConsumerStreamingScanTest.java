@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+
+/**
+ * Unit test for the file consumer processing files while scanning the directory tree.
+ */
+public class FileConsumerStreamingScanTest extends ContextTestSupport {
+
+    private final Set<String> scanThreads = Collections.synchronizedSet(new HashSet<String>());
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/streamingscan");
+        super.setUp();
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myFilter", new GenericFileFilter<Object>() {
+            public boolean accept(GenericFile<Object> file) {
+                scanThreads.add(Thread.currentThread().getName());
+                return true;
+            }
+        });
+        return jndi;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testStreamingScanRecursive() throws Exception {
+        createFiles("target/streamingscan/tree");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/streamingscan/tree?streamingScan=true&scanParallelism=2&recursive=true&noop=true&readLock=none&filter=#myFilter&initialDelay=0&delay=1000")
+                    .routeId("tree").to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(30);
+        assertMockEndpointsSatisfied();
+
+        Exchange last = mock.getReceivedExchanges().get(29);
+        assertEquals(29, last.getProperty(Exchange.BATCH_INDEX));
+        assertEquals(30, last.getProperty(Exchange.BATCH_SIZE));
+        assertEquals(Boolean.TRUE, last.getProperty(Exchange.BATCH_COMPLETE));
+        for (int i = 0; i < 29; i++) {
+            assertEquals(Boolean.FALSE, mock.getReceivedExchanges().get(i).getProperty(Exchange.BATCH_COMPLETE));
+            // the batch size is only known for the last file
+            assertNull(mock.getReceivedExchanges().get(i).getProperty(Exchange.BATCH_SIZE));
+        }
+
+        // the directory is scanned by the threads of the executor service manager
+        for (String name : scanThreads) {
+            assertTrue(name, name.contains("FileScan"));
+        }
+        assertFalse(scanThreads.isEmpty());
+    }
+
+    public void testStreamingScanAggregateBatchConsumer() throws Exception {
+        createFiles("target/streamingscan/aggregate");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/streamingscan/aggregate?streamingScan=true&recursive=true&noop=true&initialDelay=0&delay=1000")
+                    .routeId("aggregate")
+                    // the batch size is only known for the last file, so completion must be checked on the incoming file
+                    .aggregate(constant(true), new BodyInAggregatingStrategy()).completionFromBatchConsumer().eagerCheckCompletion()
+                        .to("mock:result");
+            }
+        });
+        context.start();
+
+        // all the files of the poll must be aggregated together
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_SIZE, 30);
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStreamingScanFileName() throws Exception {
+        createFiles("target/streamingscan/filename");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/streamingscan/filename?streamingScan=true&recursive=true&noop=true&fileName=hi3.txt&initialDelay=0&delay=1000")
+                    .routeId("filename").convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hi 3");
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStreamingScanMaxMessagesPerPoll() throws Exception {
+        createFiles("target/streamingscan/limit");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/streamingscan/limit?streamingScan=true&recursive=true&delete=true&maxMessagesPerPoll=7&initialDelay=0&delay=10")
+                    .routeId("limit").to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(30);
+        assertMockEndpointsSatisfied();
+
+        // each poll is limited to 7 files
+        assertEquals(6, mock.getReceivedExchanges().get(6).getProperty(Exchange.BATCH_INDEX));
+        assertEquals(Boolean.TRUE, mock.getReceivedExchanges().get(6).getProperty(Exchange.BATCH_COMPLETE));
+        assertEquals(0, mock.getReceivedExchanges().get(7).getProperty(Exchange.BATCH_INDEX));
+    }
+
+    private void createFiles(String dir) {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file://" + dir, "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+            template.sendBodyAndHeader("file://" + dir, "Bye " + i, Exchange.FILE_NAME, "foo/bye" + i + ".txt");
+            template.sendBodyAndHeader("file://" + dir, "Hi " + i, Exchange.FILE_NAME, "foo/bar/hi" + i + ".txt");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for the file consumer using a watch service instead of listing the directory on each poll.
+ */
+public class FileConsumerWatchTest extends ContextTestSupport {
+
+    // write the files using a temp name so the consumer does not pick up half written files
+    private static final String TEMP_PREFIX = "?tempPrefix=.inprogress";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/filewatch");
+        super.setUp();
+    }
+
+    public void testWatchNewFiles() throws Exception {
+        template.sendBodyAndHeader("file://target/filewatch/flat" + TEMP_PREFIX, "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:flat");
+        mock.expectedBodiesReceived("Hello World");
+        assertMockEndpointsSatisfied();
+
+        // the initial scan is done so these files are only picked up by the watch events
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Bye World", "Hi World");
+        template.sendBodyAndHeader("file://target/filewatch/flat" + TEMP_PREFIX, "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader("file://target/filewatch/flat" + TEMP_PREFIX, "Hi World", Exchange.FILE_NAME, "hi.txt");
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchNewSubDirectory() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:tree");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+
+        // wait for the initial scan before creating the sub directories
+        Thread.sleep(200);
+        template.sendBodyAndHeader("file://target/filewatch/tree" + TEMP_PREFIX, "Hello World", Exchange.FILE_NAME, "foo/hello.txt");
+        template.sendBodyAndHeader("file://target/filewatch/tree" + TEMP_PREFIX, "Bye World", Exchange.FILE_NAME, "foo/bar/bye.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:done");
+        mock.expectedMessageCount(0);
+
+        template.sendBodyAndHeader("file://target/filewatch/done" + TEMP_PREFIX, "Hello World", Exchange.FILE_NAME, "hello.txt");
+        mock.assertIsSatisfied(300);
+
+        // writing the done file makes the file valid
+        mock.reset();
+        mock.expectedBodiesReceived("Hello World");
+        template.sendBodyAndHeader("file://target/filewatch/done" + TEMP_PREFIX, "", Exchange.FILE_NAME, "hello.ready");
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/filewatch/flat?watch=true&watchRescanInterval=0&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class).to("mock:flat");
+
+                from("file://target/filewatch/tree?watch=true&watchRescanInterval=0&recursive=true&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class).to("mock:tree");
+
+                from("file://target/filewatch/done?watch=true&watchRescanInterval=0&doneFileName=${file:name.noext}.ready&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class).to("mock:done");
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * @version
+ */
+public class RingBufferBlockingQueueTest extends TestCase {
+
+    public void testOfferAndPoll() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(3);
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        // the capacity is honored even though the ring buffer is larger
+        assertFalse(queue.offer("D"));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals("A", queue.peek());
+        assertEquals("A", queue.poll());
+        assertTrue(queue.offer("D"));
+        assertEquals("B", queue.poll());
+        assertEquals("C", queue.poll());
+        assertEquals("D", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testRemove() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(10);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertEquals(2, queue.size());
+        assertFalse(queue.contains("B"));
+
+        List<String> drained = new ArrayList<String>();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals("A", drained.get(0));
+        assertEquals("C", drained.get(1));
+        assertEquals(0, queue.size());
+    }
+
+    public void testRemainingCapacityAfterRemove() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2);
+        queue.add("A");
+        queue.add("B");
+        assertTrue(queue.remove("A"));
+        assertEquals(1, queue.size());
+
+        // the removed element occupies its slot until a consumer skips it
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse(queue.offer("C"));
+
+        assertEquals("B", queue.poll());
+        assertEquals(2, queue.remainingCapacity());
+        assertTrue(queue.offer("C"));
+    }
+
+    public void testTakeAfterIdle() throws Exception {
+        final RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executor.submit(() -> queue.take());
+
+            // let the consumer back off to the longest park before the element is offered
+            Thread.sleep(100);
+            queue.put("A");
+            assertEquals("A", future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testTimeout() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(1);
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        queue.put("A");
+        assertFalse(queue.offer("B", 50, TimeUnit.MILLISECONDS));
+        assertEquals("A", queue.take());
+    }
+
+    public void testMultipleProducersAndConsumers() throws Exception {
+        for (RingBufferBlockingQueue.WaitStrategy strategy : RingBufferBlockingQueue.WaitStrategy.values()) {
+            doTestMultipleProducersAndConsumers(new RingBufferBlockingQueue<Integer>(16, strategy));
+        }
+    }
+
+    private void doTestMultipleProducersAndConsumers(final RingBufferBlockingQueue<Integer> queue) throws Exception {
+        final int producers = 3;
+        final int consumers = 3;
+        final int count = 10000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int i = 0; i < producers; i++) {
+                executor.submit(() -> {
+                    for (int n = 1; n <= count; n++) {
+                        queue.put(n);
+                    }
+                    return null;
+                });
+            }
+            List<Future<Long>> sums = new ArrayList<Future<Long>>();
+            for (int i = 0; i < consumers; i++) {
+                sums.add(executor.submit(() -> {
+                    long sum = 0;
+                    for (int n = 0; n < count; n++) {
+                        sum += queue.take();
+                    }
+                    return sum;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> sum : sums) {
+                total += sum.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(queue.getWaitStrategy().name(), (long) producers * count * (count + 1) / 2, total);
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
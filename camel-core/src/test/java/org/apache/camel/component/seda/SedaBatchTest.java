@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version
+ */
+public class SedaBatchTest extends ContextTestSupport {
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testBatch() throws Exception {
+        context.start();
+        // fill the queue before the consumer is started
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:foo", "Message " + i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.expectedBodiesReceived("Message 0", "Message 1", "Message 2", "Message 3", "Message 4",
+            "Message 5", "Message 6", "Message 7", "Message 8", "Message 9");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?batchSize=4").to("mock:result");
+            }
+        });
+
+        assertMockEndpointsSatisfied();
+
+        List<Exchange> exchanges = mock.getReceivedExchanges();
+        assertEquals(0, exchanges.get(0).getProperty(Exchange.BATCH_INDEX));
+        assertEquals(4, exchanges.get(0).getProperty(Exchange.BATCH_SIZE));
+        assertEquals(Boolean.FALSE, exchanges.get(0).getProperty(Exchange.BATCH_COMPLETE));
+        assertEquals(3, exchanges.get(3).getProperty(Exchange.BATCH_INDEX));
+        assertEquals(Boolean.TRUE, exchanges.get(3).getProperty(Exchange.BATCH_COMPLETE));
+        assertEquals(0, exchanges.get(4).getProperty(Exchange.BATCH_INDEX));
+        assertEquals(2, exchanges.get(9).getProperty(Exchange.BATCH_SIZE));
+        assertEquals(Boolean.TRUE, exchanges.get(9).getProperty(Exchange.BATCH_COMPLETE));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGroupExchanges() throws Exception {
+        context.start();
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:bar", "Message " + i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:bar?batchSize=5&groupExchanges=true").to("mock:result");
+            }
+        });
+
+        assertMockEndpointsSatisfied();
+
+        List<Exchange> first = mock.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertEquals(5, first.size());
+        assertEquals("Message 0", first.get(0).getIn().getBody());
+        assertEquals("Message 4", first.get(4).getIn().getBody());
+        List<Exchange> second = mock.getReceivedExchanges().get(1).getProperty(Exchange.GROUPED_EXCHANGE, List.class);
+        assertEquals(5, second.size());
+        assertEquals("Message 9", second.get(4).getIn().getBody());
+    }
+
+    public void testGroupExchangesWaitForTaskToComplete() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:baz?batchSize=3&batchTimeout=5000&groupExchanges=true").to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        // the requests are replied when the grouped exchange is done
+        Future<Object> a = template.asyncRequestBody("seda:baz", "A");
+        Future<Object> b = template.asyncRequestBody("seda:baz", "B");
+        Future<Object> c = template.asyncRequestBody("seda:baz", "C");
+        assertEquals("A", template.extractFutureBody(a, String.class));
+        assertEquals("B", template.extractFutureBody(b, String.class));
+        assertEquals("C", template.extractFutureBody(c, String.class));
+
+        assertMockEndpointsSatisfied();
+    }
+}
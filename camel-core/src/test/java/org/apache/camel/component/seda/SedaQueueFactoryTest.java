@@ -31,11 +31,13 @@ import org.apache.camel.impl.SimpleRegistry;
  */
 public class SedaQueueFactoryTest extends ContextTestSupport {
     private final ArrayBlockingQueueFactory<Exchange> arrayQueueFactory = new ArrayBlockingQueueFactory<Exchange>();
+    private final RingBufferBlockingQueueFactory<Exchange> ringBufferQueueFactory = new RingBufferBlockingQueueFactory<Exchange>();
 
     @Override
     protected CamelContext createCamelContext() throws Exception {
         SimpleRegistry simpleRegistry = new SimpleRegistry();
         simpleRegistry.put("arrayQueueFactory", arrayQueueFactory);
+        simpleRegistry.put("ringBufferQueueFactory", ringBufferQueueFactory);
         return new DefaultCamelContext(simpleRegistry);
     }
 
@@ -56,7 +58,18 @@ public class SedaQueueFactoryTest extends ContextTestSupport {
         assertEquals("remainingCapacity", 50, blockingQueue.remainingCapacity());
     }
 
-    
+    @SuppressWarnings("unchecked")
+    public void testRingBufferBlockingQueueFactory() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory&size=100", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ringBuffer = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals("capacity", 100, ringBuffer.getCapacity());
+
+        template.sendBody("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory&size=100", "Hello World");
+        assertEquals("Hello World", consumer.receiveBody("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory&size=100", 5000));
+    }
+
     public void testDefaultBlockingQueueFactory() throws Exception {
         SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:linkedQueue", SedaEndpoint.class);
         BlockingQueue<Exchange> queue = endpoint.getQueue();
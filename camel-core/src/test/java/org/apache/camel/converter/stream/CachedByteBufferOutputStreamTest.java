@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultBufferPool;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Unit test for caching streams off heap using {@link CachedByteBufferOutputStream}.
+ */
+public class CachedByteBufferOutputStreamTest extends ContextTestSupport {
+
+    private static final String TEST_STRING = "This is a test string and it has enough"
+        + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setOffHeap(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(64);
+        // use a pool which keeps one buffer of each size
+        context.getStreamCachingStrategy().setBufferPool(new DefaultBufferPool(1));
+        return context;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        deleteDirectory("target/cachedir");
+        createDirectory("target/cachedir");
+
+        exchange = new DefaultExchange(context);
+        exchange.setUnitOfWork(new DefaultUnitOfWork(exchange));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testCacheInMemory() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write("Hello World".getBytes("UTF-8"));
+        cos.close();
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(11, cache.length());
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, cache));
+
+        // can be read again after a reset
+        cache.reset();
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, cache));
+        assertEquals(0, new File("target/cachedir").list().length);
+
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    public void testCacheSpooledToFile() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        cos.write(TEST_STRING.getBytes("UTF-8"), 0, 10);
+        cos.close();
+
+        File dir = new File("target/cachedir");
+        String[] files = dir.list();
+        assertEquals("we should have a temp file", 1, files.length);
+        assertTrue("The file name should start with cos", files[0].startsWith("cos"));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertFalse(cache.inMemory());
+        String expected = TEST_STRING + TEST_STRING.substring(0, 10);
+        assertEquals(expected.length(), cache.length());
+
+        InputStream is = (InputStream) cache;
+        assertEquals(5, is.skip(5));
+        assertEquals(expected.substring(5), context.getTypeConverter().convertTo(String.class, is));
+
+        // the copy shares the spool file
+        StreamCache copy = cache.copy(exchange);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        copy.writeTo(bos);
+        assertEquals(expected, bos.toString("UTF-8"));
+
+        // writing to a file transfers the data from the spool file
+        cache.reset();
+        FileOutputStream fos = new FileOutputStream("target/cachedir/out.txt");
+        try {
+            cache.writeTo(fos);
+        } finally {
+            IOHelper.close(fos);
+        }
+        assertEquals(expected, context.getTypeConverter().convertTo(String.class, new File("target/cachedir/out.txt")));
+
+        // the stream caches are still in use when the exchanges are done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have the temp file and the output file", 2, dir.list().length);
+        copy.reset();
+        assertEquals(expected, context.getTypeConverter().convertTo(String.class, copy));
+
+        // the spool file is deleted when the last stream cache is closed
+        ((InputStream) cache).close();
+        files = dir.list();
+        assertEquals("we should have only the output file", 1, files.length);
+        assertEquals("out.txt", files[0]);
+    }
+
+    public void testBuffersReleasedWhenLastReferenceReleased() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write("Hello World".getBytes("UTF-8"));
+        cos.close();
+
+        StreamCache cache = cos.newStreamCache();
+        StreamCache copy = cache.copy(exchange);
+        CachedByteBufferOutputStream offHeap = (CachedByteBufferOutputStream) cos.getCurrentStream();
+        assertEquals(3, offHeap.getRefCount());
+
+        // a closed stream cache can be read again after a reset while the buffers are in use
+        ((InputStream) cache).close();
+        assertEquals(2, offHeap.getRefCount());
+        cache.reset();
+        assertEquals(3, offHeap.getRefCount());
+        ((InputStream) cache).close();
+        ((InputStream) cache).close();
+        assertEquals(2, offHeap.getRefCount());
+
+        // the copy outlives the exchange
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(1, offHeap.getRefCount());
+        // converting closes the stream
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, copy));
+        assertEquals(0, offHeap.getRefCount());
+
+        // the buffers may be reused by another stream cache so they cannot be read anymore
+        copy.reset();
+        try {
+            ((InputStream) copy).read();
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected
+        }
+
+        // the buffer is reused from the pool
+        long hits = context.getStreamCachingStrategy().getBufferPool().getHitCounter();
+        Exchange other = new DefaultExchange(context);
+        other.setUnitOfWork(new DefaultUnitOfWork(other));
+        CachedOutputStream cos2 = new CachedOutputStream(other);
+        cos2.write("Bye World".getBytes("UTF-8"));
+        cos2.close();
+        assertEquals(hits + 1, context.getStreamCachingStrategy().getBufferPool().getHitCounter());
+        assertEquals("Bye World", context.getTypeConverter().convertTo(String.class, cos2.newStreamCache()));
+        other.getUnitOfWork().done(other);
+    }
+}
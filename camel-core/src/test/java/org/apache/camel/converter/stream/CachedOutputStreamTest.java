@@ -226,6 +226,43 @@ public class CachedOutputStreamTest extends ContextTestSupport {
         IOHelper.close(cos);
     }
 
+    public void testCacheStreamToMemoryReleasesBuffer() throws Exception {
+        context.getStreamCachingStrategy().setSpoolThreshold(1024);
+
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        CachedByteArrayOutputStream bout = (CachedByteArrayOutputStream) cos.getCurrentStream();
+        StreamCache cache = cos.newStreamCache();
+        StreamCache copy = cache.copy(exchange);
+        IOHelper.close(cos);
+        assertEquals(3, bout.getRefCount());
+
+        // the stream cache shares the pooled buffer, and can be read again after being closed while the exchange is not done
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        assertEquals(2, bout.getRefCount());
+        cache.reset();
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) copy, null));
+        assertEquals(1, bout.getRefCount());
+
+        // the buffer is returned to the pool when the exchange is done, and is reused by the next stream
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, bout.getRefCount());
+        long hits = context.getStreamCachingStrategy().getBufferPool().getHitCounter();
+        CachedOutputStream cos2 = new CachedOutputStream(exchange);
+        assertEquals(hits + 1, context.getStreamCachingStrategy().getBufferPool().getHitCounter());
+        IOHelper.close(cos2);
+
+        try {
+            cache.reset();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
     public void testCacheStreamToMemoryAsDiskIsDisabled() throws Exception {
         // -1 disables disk based cache
         context.getStreamCachingStrategy().setSpoolThreshold(-1);
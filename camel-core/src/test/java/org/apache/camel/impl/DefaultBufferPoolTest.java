@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class DefaultBufferPoolTest extends TestCase {
+
+    public void testSizeClasses() throws Exception {
+        DefaultBufferPool pool = new DefaultBufferPool();
+
+        assertEquals(DefaultBufferPool.MIN_SIZE, pool.acquire(1).length);
+        assertEquals(4096, pool.acquire(4096).length);
+        assertEquals(8192, pool.acquire(4097).length);
+        assertEquals(DefaultBufferPool.MAX_SIZE, pool.acquire(DefaultBufferPool.MAX_SIZE).length);
+
+        // larger buffers are not pooled
+        assertEquals(DefaultBufferPool.MAX_SIZE + 1, pool.acquire(DefaultBufferPool.MAX_SIZE + 1).length);
+        assertEquals(5, pool.getMissCounter());
+        assertEquals(0, pool.getHitCounter());
+    }
+
+    public void testReuse() throws Exception {
+        DefaultBufferPool pool = new DefaultBufferPool();
+
+        byte[] small = pool.acquire(4000);
+        byte[] large = pool.acquire(100 * 1024);
+        pool.release(small);
+        pool.release(large);
+
+        assertSame(small, pool.acquire(3000));
+        assertSame(large, pool.acquire(128 * 1024));
+        assertEquals(2, pool.getHitCounter());
+        assertEquals(2, pool.getMissCounter());
+
+        // buffers which cannot be from the pool are ignored
+        pool.release(new byte[1000]);
+        assertNotSame(small, pool.acquire(1000));
+
+        pool.resetStatistics();
+        assertEquals(0, pool.getHitCounter());
+        assertEquals(0, pool.getMissCounter());
+    }
+
+    public void testSharedBetweenThreads() throws Exception {
+        final DefaultBufferPool pool = new DefaultBufferPool(1);
+
+        // the first buffer is kept by the thread, the second is shared, and the third is discarded
+        byte[] first = pool.acquire(1024);
+        byte[] second = pool.acquire(1024);
+        byte[] third = pool.acquire(1024);
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        final byte[][] acquired = new byte[2][];
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                acquired[0] = pool.acquire(1024);
+                acquired[1] = pool.acquire(1024);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertSame(second, acquired[0]);
+        assertNotSame(first, acquired[1]);
+        assertNotSame(third, acquired[1]);
+        assertSame(first, pool.acquire(1024));
+    }
+
+    public void testClear() throws Exception {
+        DefaultBufferPool pool = new DefaultBufferPool();
+
+        byte[] local = pool.acquire(1024);
+        byte[] shared = pool.acquire(64 * 1024);
+        pool.release(local);
+        pool.release(shared);
+        pool.clear();
+
+        // the buffers of this thread and the shared buffers are discarded
+        assertNotSame(local, pool.acquire(1024));
+        assertNotSame(shared, pool.acquire(64 * 1024));
+        assertEquals(0, pool.getHitCounter());
+    }
+}
@@ -18,11 +18,22 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTestSupport;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.NamedNode;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.util.ObjectHelper;
@@ -242,6 +253,102 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
                 sourceExchange.getOut().isFault(), destExchange.getOut().isFault());
     }
 
+    public void testCopyPropertiesIsolated() {
+        exchange.setProperty("foo", 123);
+        exchange.setProperty("bar", "cheese");
+        Exchange copy = exchange.copy(true);
+
+        assertEquals(123, copy.getProperty("foo"));
+        assertEquals("cheese", copy.getProperty("bar"));
+
+        copy.setProperty("foo", 456);
+        copy.removeProperty("bar");
+        copy.getProperties().put("beer", "Carlsberg");
+        assertEquals(123, exchange.getProperty("foo"));
+        assertEquals("cheese", exchange.getProperty("bar"));
+        assertNull(exchange.getProperty("beer"));
+
+        exchange.setProperty("foo", 789);
+        assertEquals(456, copy.getProperty("foo"));
+        assertNull(copy.getProperty("bar"));
+        assertEquals("Carlsberg", copy.getProperty("beer"));
+    }
+
+    public void testCopyPropertiesMessageHistory() {
+        List<MessageHistory> history = new LinkedList<>();
+        history.add(new DefaultMessageHistory("myRoute", new NamedNode() {
+            public String getId() {
+                return "foo";
+            }
+
+            public String getShortName() {
+                return "foo";
+            }
+
+            public String getLabel() {
+                return "foo";
+            }
+
+            public String getDescriptionText() {
+                return null;
+            }
+        }, new Date()));
+        exchange.setProperty(Exchange.MESSAGE_HISTORY, history);
+
+        Exchange copy = exchange.copy(true);
+        Exchange copy2 = exchange.copy(true);
+
+        List<?> list = copy.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertNotSame(history, list);
+        assertEquals(1, list.size());
+        list.clear();
+        assertEquals(1, history.size());
+
+        copy2.removeProperty(Exchange.MESSAGE_HISTORY);
+        assertNull(copy2.getProperty(Exchange.MESSAGE_HISTORY));
+        assertEquals(1, exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class).size());
+    }
+
+    public void testCopyPropertiesConcurrentWriters() throws Exception {
+        final int threads = 8;
+        final int count = 200;
+        for (int run = 0; run < 20; run++) {
+            // many properties so copying them takes a while
+            for (int i = 0; i < 1000; i++) {
+                exchange.setProperty("foo" + i, i);
+            }
+            int size = exchange.getProperties().size();
+            final Exchange copy = exchange.copy(true);
+
+            // all the threads change the properties of the copy at the same time
+            final CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    final int thread = i;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int j = 0; j < count; j++) {
+                            copy.setProperty("thread" + thread + "-" + j, j);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // no update is lost, and the source exchange is not changed
+            assertEquals(size + threads * count, copy.getProperties().size());
+            assertEquals(size, exchange.getProperties().size());
+        }
+    }
+
     public static class MyMessage extends DefaultMessage {
         @Override
         public MyMessage newInstance() {
@@ -20,11 +20,14 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreads;
 
 /**
  * @version 
@@ -494,6 +497,66 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertTrue(thread.getName().contains("Cool"));
     }
 
+    public void testNewVirtualThreadPool() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfile("virtual");
+        profile.setPoolType(ThreadPoolType.VirtualThreads);
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", profile);
+        assertNotNull(pool);
+
+        // a regular thread pool is used as fallback if virtual threads are not supported
+        assertEquals(!VirtualThreads.isSupported(), pool instanceof ThreadPoolExecutor);
+
+        final AtomicReference<String> name = new AtomicReference<String>();
+        pool.submit(new Runnable() {
+            @Override
+            public void run() {
+                name.set(Thread.currentThread().getName());
+            }
+        }).get(5, TimeUnit.SECONDS);
+        assertTrue(name.get().contains("Cool"));
+
+        context.getExecutorServiceManager().shutdown(pool);
+        assertTrue(pool.isShutdown());
+    }
+
+    public void testThreadPoolProfilePoolTypeDefaults() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfile("custom");
+        profile.addDefaults(context.getExecutorServiceManager().getDefaultThreadPoolProfile());
+        assertNull(profile.getPoolType());
+
+        // the pool type is not inherited
+        ThreadPoolProfile defaults = new ThreadPoolProfile("defaults");
+        defaults.setPoolType(ThreadPoolType.VirtualThreads);
+        profile.addDefaults(defaults);
+        assertNull(profile.getPoolType());
+
+        profile.setPoolType(ThreadPoolType.VirtualThreads);
+        assertEquals(ThreadPoolType.VirtualThreads, profile.clone().getPoolType());
+    }
+
+    public void testFixedThreadPoolWithVirtualThreadsDefaultProfile() throws Exception {
+        context.getExecutorServiceManager().getDefaultThreadPoolProfile().setPoolType(ThreadPoolType.VirtualThreads);
+
+        // fixed size and single threaded pools are always pools of platform threads
+        ExecutorService fixed = context.getExecutorServiceManager().newFixedThreadPool(this, "Fixed", 5);
+        assertEquals(5, assertIsInstanceOf(ThreadPoolExecutor.class, fixed).getMaximumPoolSize());
+        ExecutorService single = context.getExecutorServiceManager().newSingleThreadExecutor(this, "Single");
+        assertEquals(1, assertIsInstanceOf(ThreadPoolExecutor.class, single).getMaximumPoolSize());
+        ExecutorService sized = context.getExecutorServiceManager().newThreadPool(this, "Sized", 1, 2);
+        assertEquals(2, assertIsInstanceOf(ThreadPoolExecutor.class, sized).getMaximumPoolSize());
+
+        // as are pools from other profiles
+        ThreadPoolProfile custom = new ThreadPoolProfile("custom");
+        custom.setPoolSize(2);
+        custom.setMaxPoolSize(3);
+        ExecutorService profiled = context.getExecutorServiceManager().newThreadPool(this, "Custom", custom);
+        assertEquals(3, assertIsInstanceOf(ThreadPoolExecutor.class, profiled).getMaximumPoolSize());
+
+        // the pools created from the default profile use virtual threads
+        ExecutorService pool = context.getExecutorServiceManager().newDefaultThreadPool(this, "Default");
+        assertEquals(!VirtualThreads.isSupported(), pool instanceof ThreadPoolExecutor);
+    }
+
     // this is a manual test, by looking at the logs
     public void xxxTestLongShutdownOfThreadPool() throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThreadLocalUuidGeneratorTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadLocalUuidGeneratorTest.class);
+
+    public void testGenerateUUID() {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator("ID-test");
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertTrue(firstUUID, firstUUID.startsWith("ID-test"));
+        assertEquals(uuidGenerator.getSeed() + "1-1", firstUUID);
+        assertEquals(uuidGenerator.getSeed() + "1-2", secondUUID);
+    }
+
+    public void testUniqueAcrossThreads() throws Exception {
+        final ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator();
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final int threads = 4;
+        final int count = 10000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < count; n++) {
+                        ids.add(uuidGenerator.generateUuid());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * count, ids.size());
+    }
+
+    public void testPerformance() {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator();
+        StopWatch watch = new StopWatch();
+
+        LOG.info("First id: " + uuidGenerator.generateUuid());
+        for (int i = 0; i < 500000; i++) {
+            uuidGenerator.generateUuid();
+        }
+        LOG.info("Last id:  " + uuidGenerator.generateUuid());
+
+        LOG.info("Took " + TimeUtils.printDuration(watch.stop()));
+    }
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.impl.DefaultClassResolver;
+import org.apache.camel.impl.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ReflectionInjector;
+
+/**
+ * Tests that {@link AnnotationTypeConverterLoader} uses the type converter loaders generated at build time
+ */
+public class GeneratedTypeConverterLoaderTest extends TestSupport {
+
+    private File dir;
+    private DefaultTypeConverter registry;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("camel-converter").toFile();
+        registry = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtil.removeDir(dir);
+        super.tearDown();
+    }
+
+    public void testLoadGeneratedLoader() throws Exception {
+        File jar = createJar("jar", MyConverters.class.getName(), MyGeneratedTypeConverterLoader.class.getName(), true);
+        MyAnnotationTypeConverterLoader loader = new MyAnnotationTypeConverterLoader(jar);
+
+        loader.load(registry);
+
+        // the generated loader is used instead of the listed converter class
+        assertTrue(registry.lookup(Country.class, String.class) instanceof SimpleTypeConverter);
+        assertNull(registry.lookup(String.class, Country.class));
+        assertEquals("England", registry.convertTo(Country.class, "en").getName());
+
+        // the early return must still clear the maps
+        assertTrue(loader.visitedURIs.isEmpty());
+        assertTrue(loader.visitedClasses.isEmpty());
+        assertTrue(loader.generatedLoaders.isEmpty());
+    }
+
+    public void testShadowedGeneratedLoader() throws Exception {
+        // the loader class is not in the same JAR as the services file, so it is not used
+        File jar = createJar("jar", MyConverters.class.getName(), MyGeneratedTypeConverterLoader.class.getName(), false);
+        MyAnnotationTypeConverterLoader loader = new MyAnnotationTypeConverterLoader(jar);
+
+        loader.load(registry);
+
+        // the listed converter class is loaded instead
+        assertTrue(registry.lookup(Country.class, String.class) instanceof InstanceMethodTypeConverter);
+        assertNotNull(registry.lookup(String.class, Country.class));
+        assertTrue(loader.visitedURIs.isEmpty());
+        assertTrue(loader.visitedClasses.isEmpty());
+    }
+
+    public void testNoGeneratedLoader() throws Exception {
+        File jar = createJar("jar", MyConverters.class.getName(), null, false);
+        MyAnnotationTypeConverterLoader loader = new MyAnnotationTypeConverterLoader(jar);
+
+        loader.load(registry);
+
+        assertTrue(registry.lookup(Country.class, String.class) instanceof InstanceMethodTypeConverter);
+        assertTrue(loader.visitedURIs.isEmpty());
+        assertTrue(loader.visitedClasses.isEmpty());
+    }
+
+    private File createJar(String name, String converters, String generatedLoader, boolean includeLoaderClass) throws IOException {
+        File jar = new File(dir, name);
+        write(new File(jar, AnnotationTypeConverterLoader.META_INF_SERVICES), converters);
+        if (generatedLoader != null) {
+            write(new File(jar, GeneratedTypeConverterLoaderSupport.META_INF_SERVICES), generatedLoader);
+        }
+        if (includeLoaderClass) {
+            String path = generatedLoader.replace('.', '/') + ".class";
+            File file = new File(jar, path);
+            file.getParentFile().mkdirs();
+            try (InputStream is = getClass().getClassLoader().getResourceAsStream(path)) {
+                Files.copy(is, file.toPath());
+            }
+        }
+        return jar;
+    }
+
+    private static void write(File file, String text) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A type converter loader as generated by the camel annotation processor
+     */
+    public static final class MyGeneratedTypeConverterLoader extends GeneratedTypeConverterLoaderSupport {
+
+        @Override
+        public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+            final CachingInjector<MyConverters> injector = new CachingInjector<MyConverters>(registry, MyConverters.class);
+            addTypeConverter(registry, Country.class, String.class, false, "MyConverters.toCountry(String)",
+                (type, exchange, value) -> getInstance(injector, registry).toCountry((String) value));
+        }
+    }
+
+    /**
+     * Only finds the services files in the given directory, which is used as a JAR
+     */
+    private static final class MyAnnotationTypeConverterLoader extends AnnotationTypeConverterLoader {
+
+        private final ClassLoader classLoader;
+
+        MyAnnotationTypeConverterLoader(File jar) throws IOException {
+            super(new DefaultPackageScanClassResolver());
+            classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, getClass().getClassLoader()) {
+                @Override
+                public URL getResource(String name) {
+                    URL url = findResource(name);
+                    return url != null ? url : super.getResource(name);
+                }
+
+                @Override
+                public Enumeration<URL> getResources(String name) throws IOException {
+                    return findResources(name);
+                }
+            };
+        }
+
+        @Override
+        protected String[] findPackageNames() throws IOException {
+            Set<String> packages = new HashSet<String>();
+            findPackages(packages, classLoader);
+            return packages.toArray(new String[packages.size()]);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+
+/**
+ * Tests the cache of parsed expressions and predicates in the simple language.
+ */
+public class SimpleCacheTest extends ContextTestSupport {
+
+    public void testCacheExpression() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        simple.clearCache();
+
+        Expression exp = simple.createExpression("Hello ${header.foo}");
+        Expression exp2 = simple.createExpression("Hello ${header.foo}");
+        assertSame(exp, exp2);
+        assertEquals(1, simple.getCacheSize());
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", "World");
+        assertEquals("Hello World", exp2.evaluate(exchange, String.class));
+
+        exchange.getIn().setHeader("foo", "Camel");
+        assertEquals("Hello Camel", exp2.evaluate(exchange, String.class));
+    }
+
+    public void testCachePredicate() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        simple.clearCache();
+
+        Predicate pre = simple.createPredicate("${header.foo} == 'World'");
+        Predicate pre2 = simple.createPredicate("${header.foo} == 'World'");
+        assertSame(pre, pre2);
+
+        // an expression with the same text is cached separately
+        Expression exp = simple.createExpression("${header.foo} == 'World'");
+        assertNotSame(pre, exp);
+        assertEquals(2, simple.getCacheSize());
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", "World");
+        assertTrue(pre2.matches(exchange));
+
+        exchange.getIn().setHeader("foo", "Camel");
+        assertFalse(pre2.matches(exchange));
+
+        simple.clearCache();
+        assertEquals(0, simple.getCacheSize());
+    }
+
+    public void testChangeFunctionTokensClearsOtherCaches() throws Exception {
+        CamelContext camel = new DefaultCamelContext();
+        camel.start();
+        try {
+            SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+            SimpleLanguage other = (SimpleLanguage) camel.resolveLanguage("simple");
+
+            Exchange exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("World");
+            Expression exp = other.createExpression("Hello [[body]]");
+            assertEquals("Hello [[body]]", exp.evaluate(exchange, String.class));
+
+            // the tokens are shared by all the camel contexts
+            simple.setFunctionStartToken("[[");
+            simple.setFunctionEndToken("]]");
+
+            Expression exp2 = other.createExpression("Hello [[body]]");
+            assertNotSame(exp, exp2);
+            assertEquals("Hello World", exp2.evaluate(exchange, String.class));
+        } finally {
+            // replace old tokens
+            SimpleLanguage.changeFunctionStartToken("${", "$simple{");
+            SimpleLanguage.changeFunctionEndToken("}");
+            camel.stop();
+        }
+    }
+
+    public void testCacheDisabled() throws Exception {
+        CamelContext camel = new DefaultCamelContext();
+        camel.getGlobalOptions().put(Exchange.MAXIMUM_SIMPLE_CACHE_SIZE, "0");
+        camel.start();
+
+        SimpleLanguage simple = (SimpleLanguage) camel.resolveLanguage("simple");
+        Expression exp = simple.createExpression("Hello ${body}");
+        Expression exp2 = simple.createExpression("Hello ${body}");
+        assertNotSame(exp, exp2);
+        assertEquals(0, simple.getCacheSize());
+
+        camel.stop();
+    }
+
+}
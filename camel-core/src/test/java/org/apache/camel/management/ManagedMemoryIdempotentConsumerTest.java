@@ -153,6 +153,42 @@ public class ManagedMemoryIdempotentConsumerTest extends ManagementTestSupport {
         assertEquals(3L, count.longValue());
     }
 
+    public void testHitsAndMisses() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        // services
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("org.apache.camel" + ":type=services,*"), null);
+        ObjectName on = null;
+        for (ObjectName name : names) {
+            if (name.toString().contains("MemoryIdempotentRepository")) {
+                on = name;
+                break;
+            }
+        }
+        assertTrue("Should be registered", mbeanServer.isRegistered(on));
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+        assertEquals(0L, ((Long) mbeanServer.getAttribute(on, "Hits")).longValue());
+        assertEquals(0L, ((Long) mbeanServer.getAttribute(on, "Misses")).longValue());
+
+        resultEndpoint.expectedBodiesReceived("one", "two");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("4", "four");
+
+        resultEndpoint.assertIsSatisfied();
+
+        assertEquals(2L, ((Long) mbeanServer.getAttribute(on, "Hits")).longValue());
+        assertEquals(2L, ((Long) mbeanServer.getAttribute(on, "Misses")).longValue());
+    }
+
     protected void sendMessage(final Object messageId, final Object body) {
         template.send(startEndpoint, new Processor() {
             public void process(Exchange exchange) {
@@ -61,13 +61,18 @@ public class ManagedMulticastTest extends ManagementTestSupport {
         Boolean parallel = (Boolean) mbeanServer.getAttribute(name, "ParallelProcessing");
         assertEquals(false, parallel.booleanValue());
 
+        Integer maxInflight = (Integer) mbeanServer.getAttribute(name, "MaxInflight");
+        assertEquals(0, maxInflight.intValue());
+        Integer reorderBufferSize = (Integer) mbeanServer.getAttribute(name, "ReorderBufferSize");
+        assertEquals(0, reorderBufferSize.intValue());
+
         TabularData data = (TabularData) mbeanServer.invoke(name, "explain", new Object[]{false}, new String[]{"boolean"});
         assertNotNull(data);
         assertEquals(1, data.size());
 
         data = (TabularData) mbeanServer.invoke(name, "explain", new Object[]{true}, new String[]{"boolean"});
         assertNotNull(data);
-        assertEquals(15, data.size());
+        assertEquals(16, data.size());
 
         String json = (String) mbeanServer.invoke(name, "informationJson", null, null);
         assertNotNull(json);
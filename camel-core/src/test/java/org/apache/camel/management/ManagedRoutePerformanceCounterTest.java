@@ -84,6 +84,13 @@ public class ManagedRoutePerformanceCounterTest extends ManagementTestSupport {
         assertTrue("Should take around 3 sec: was " + last, last > 2900);
         assertTrue("Should be around 5 sec now: was " + total, total > 4900);
 
+        Long p50 = (Long) mbeanServer.getAttribute(on, "P50ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(on, "P999ProcessingTime");
+        assertTrue("Should take around 3 sec: was " + p50, p50 > 2900);
+        assertTrue(p99 >= p50);
+        assertTrue(p999 >= p99);
+
         Date reset = (Date) mbeanServer.getAttribute(on, "ResetTimestamp");
         assertNotNull(reset);
 
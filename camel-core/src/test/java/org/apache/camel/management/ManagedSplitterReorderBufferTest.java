@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+
+/**
+ * @version
+ */
+public class ManagedSplitterReorderBufferTest extends ManagementTestSupport {
+
+    public void testReorderBuffer() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        List<Integer> body = new ArrayList<Integer>();
+        for (int i = 0; i < 50; i++) {
+            body.add(i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        // the replies are aggregated in order so the latest is the last reply
+        mock.expectedBodiesReceived(49);
+
+        template.sendBody("direct:start", body);
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mySplitter\"");
+
+        Integer maxInflight = (Integer) mbeanServer.getAttribute(name, "MaxInflight");
+        assertEquals(5, maxInflight.intValue());
+
+        Integer size = (Integer) mbeanServer.getAttribute(name, "ReorderBufferSize");
+        assertEquals(0, size.intValue());
+
+        // the first reply is slow so the other replies has to wait for it, but no more than max inflight
+        Integer maxSize = (Integer) mbeanServer.getAttribute(name, "ReorderBufferMaxSize");
+        assertTrue("Should be between 2 and 5, was " + maxSize, maxSize >= 2 && maxSize <= 5);
+
+        mbeanServer.invoke(name, "reset", null, null);
+        maxSize = (Integer) mbeanServer.getAttribute(name, "ReorderBufferMaxSize");
+        assertEquals(0, maxSize.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new UseLatestAggregationStrategy()).parallelProcessing().maxInflight(5).id("mySplitter")
+                        .process(exchange -> {
+                            if (exchange.getIn().getBody(Integer.class) == 0) {
+                                Thread.sleep(500);
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
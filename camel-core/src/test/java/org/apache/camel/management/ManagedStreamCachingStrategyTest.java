@@ -16,13 +16,18 @@
  */
 package org.apache.camel.management;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Set;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.util.IOHelper;
 
 import static org.apache.camel.util.FileUtil.normalizePath;
@@ -82,6 +87,23 @@ public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
 
         Boolean remove = (Boolean) mbeanServer.getAttribute(name, "RemoveSpoolDirectoryWhenStopping");
         assertEquals(Boolean.TRUE, remove);
+
+        // the second conversion reuses the buffer of the first conversion
+        Exchange exchange = new DefaultExchange(context);
+        for (int i = 0; i < 2; i++) {
+            InputStream is = new BufferedInputStream(new ByteArrayInputStream("Hello World".getBytes()));
+            assertEquals("Hello World", new String(context.getTypeConverter().convertTo(byte[].class, exchange, is)));
+        }
+
+        counter = (Long) mbeanServer.getAttribute(name, "BufferPoolMissCounter");
+        assertEquals(1, counter.longValue());
+
+        counter = (Long) mbeanServer.getAttribute(name, "BufferPoolHitCounter");
+        assertEquals(1, counter.longValue());
+
+        mbeanServer.invoke(name, "resetStatistics", null, null);
+        counter = (Long) mbeanServer.getAttribute(name, "BufferPoolHitCounter");
+        assertEquals(0, counter.longValue());
     }
 
     @Override
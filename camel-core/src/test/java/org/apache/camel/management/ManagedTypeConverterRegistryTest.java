@@ -20,6 +20,7 @@ import java.util.Set;
 import javax.management.Attribute;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.TabularData;
 
 import org.apache.camel.builder.RouteBuilder;
@@ -82,6 +83,13 @@ public class ManagedTypeConverterRegistryTest extends ManagementTestSupport {
         miss = (Long) mbeanServer.getAttribute(name, "MissCounter");
         assertEquals(0, miss.intValue());
 
+        // and the failure is included in the statistics of the type mapping
+        TabularData stats = (TabularData) mbeanServer.invoke(name, "listTypeConverterStatistics", null, null);
+        CompositeData row = stats.get(new Object[]{"java.lang.String", "int"});
+        assertNotNull("Should have statistics for String -> int", row);
+        assertEquals(0L, row.get("hits"));
+        assertEquals(1L, row.get("failures"));
+
         // reset
         mbeanServer.invoke(name, "resetTypeConversionCounters", null, null);
 
@@ -89,6 +97,8 @@ public class ManagedTypeConverterRegistryTest extends ManagementTestSupport {
         assertEquals(0, failed.intValue());
         miss = (Long) mbeanServer.getAttribute(name, "MissCounter");
         assertEquals(0, miss.intValue());
+        stats = (TabularData) mbeanServer.invoke(name, "listTypeConverterStatistics", null, null);
+        assertEquals(0, stats.size());
 
         // we have more than 150 converters out of the box
         Integer converters = (Integer) mbeanServer.getAttribute(name, "NumberOfTypeConverters");
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * @version 
+ */
+public class ManagedWorkStealingThreadPoolTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        // a naming strategy which uses the thread pool executor must not be given a null executor
+        context.getManagementStrategy().setManagementNamingStrategy(new DefaultManagementNamingStrategy() {
+            @Override
+            public ObjectName getObjectNameForThreadPool(CamelContext context, ThreadPoolExecutor threadPool,
+                                                         String id, String sourceId) throws MalformedObjectNameException {
+                assertNotNull(threadPool.getQueue());
+                return super.getObjectNameForThreadPool(context, threadPool, id, sourceId);
+            }
+        });
+        return context;
+    }
+
+    public void testManagedWorkStealingThreadPool() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=threadpools,name=\"threads1(threads)\"");
+
+        Boolean shutdown = (Boolean) mbeanServer.getAttribute(on, "Shutdown");
+        assertEquals(false, shutdown.booleanValue());
+
+        Integer parallelism = (Integer) mbeanServer.getAttribute(on, "Parallelism");
+        assertEquals(4, parallelism.intValue());
+
+        Integer corePoolSize = (Integer) mbeanServer.getAttribute(on, "CorePoolSize");
+        assertEquals(4, corePoolSize.intValue());
+
+        Integer remaining = (Integer) mbeanServer.invoke(on, "getTaskQueueRemainingCapacity", null, null);
+        assertEquals(100, remaining.intValue());
+
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+        getMockEndpoint("mock:result").message(0).header("threadName").contains("Threads");
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        Long taskCount = (Long) mbeanServer.getAttribute(on, "TaskCount");
+        assertEquals(10, taskCount.longValue());
+
+        // the task is completed after the exchange has been routed to the mock
+        Long completed = null;
+        for (int i = 0; i < 50; i++) {
+            completed = (Long) mbeanServer.getAttribute(on, "CompletedTaskCount");
+            if (completed == 10) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertEquals(10, completed.longValue());
+
+        Integer largest = (Integer) mbeanServer.getAttribute(on, "LargestPoolSize");
+        assertTrue("Should have created threads", largest > 0);
+
+        String profileId = (String) mbeanServer.getAttribute(on, "ThreadPoolProfileId");
+        assertEquals("workStealing", profileId);
+
+        context.stop();
+        assertFalse("Should be unregistered", mbeanServer.isRegistered(on));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfile("workStealing");
+                profile.setPoolType(ThreadPoolType.WorkStealing);
+                profile.setPoolSize(4);
+                profile.setMaxQueueSize(100);
+
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start").threads().executorServiceRef("workStealing")
+                    .process(exchange -> exchange.getIn().setHeader("threadName", Thread.currentThread().getName()))
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
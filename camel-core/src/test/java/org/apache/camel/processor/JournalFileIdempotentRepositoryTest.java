@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.idempotent.JournalFileIdempotentRepository;
+
+/**
+ * @version 
+ */
+public class JournalFileIdempotentRepositoryTest extends ContextTestSupport {
+    protected Endpoint startEndpoint;
+    protected MockEndpoint resultEndpoint;
+    private File store = new File("target/journal/idempotent.dat");
+    private JournalFileIdempotentRepository repo;
+
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        resultEndpoint.expectedBodiesReceived("one", "two", "three");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("3", "three");
+
+        assertMockEndpointsSatisfied();
+
+        repo.sync();
+        List<String> lines = Files.readAllLines(store.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("+1", lines.get(0));
+        assertEquals("+2", lines.get(1));
+        assertEquals("+3", lines.get(2));
+    }
+
+    public void testReloadFromJournal() throws Exception {
+        resultEndpoint.expectedBodiesReceived("one", "two", "three");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("3", "three");
+        assertTrue(repo.remove("2"));
+        assertFalse(repo.remove("2"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(4, repo.getRecords());
+
+        // restart to reload the index from the journal
+        repo.stop();
+        repo.start();
+
+        assertEquals(2, repo.getCacheSize());
+        assertTrue(repo.contains("1"));
+        assertFalse(repo.contains("2"));
+        assertTrue(repo.contains("3"));
+    }
+
+    public void testCompaction() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        for (int i = 0; i < 15; i++) {
+            assertTrue(repo.remove("key" + i));
+        }
+
+        // the compaction runs in the background, until there are fewer obsolete records than the threshold,
+        // as the records written during the compaction are kept
+        for (int i = 0; i < 50 && repo.getRecords() - repo.getCacheSize() >= 10; i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("Should have compacted the journal", repo.getRecords() < 15);
+        assertEquals(5, repo.getCacheSize());
+
+        assertTrue(repo.add("key0"));
+        repo.sync();
+        List<String> lines = Files.readAllLines(store.toPath(), StandardCharsets.UTF_8);
+        assertEquals(repo.getRecords(), lines.size());
+        assertTrue(lines.contains("+key19"));
+        assertEquals("+key0", lines.get(lines.size() - 1));
+
+        // restart to reload the index from the compacted journal
+        repo.stop();
+        repo.start();
+        assertEquals(6, repo.getCacheSize());
+        assertTrue(repo.contains("key0"));
+        assertFalse(repo.contains("key1"));
+    }
+
+    public void testCompactManually() throws Exception {
+        assertTrue(repo.add("A"));
+        assertTrue(repo.add("B"));
+        assertTrue(repo.remove("A"));
+        assertEquals(3, repo.getRecords());
+
+        // below the threshold but compacting on demand should still rewrite the journal
+        repo.compact();
+        assertEquals(1, repo.getRecords());
+        List<String> lines = Files.readAllLines(store.toPath(), StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertEquals("+B", lines.get(0));
+    }
+
+    public void testKeyWithNewline() throws Exception {
+        try {
+            repo.add("A\n+B");
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(repo.remove("A\n+B"));
+        assertEquals(0, repo.getRecords());
+
+        // restart to reload the index from the journal
+        repo.stop();
+        repo.start();
+        assertFalse(repo.contains("B"));
+    }
+
+    public void testIncompleteLastRecord() throws Exception {
+        repo.stop();
+        Files.write(store.toPath(), "+A\n+B\n-A\n+C".getBytes(StandardCharsets.UTF_8));
+        repo.start();
+
+        assertEquals(1, repo.getCacheSize());
+        assertTrue(repo.contains("B"));
+        assertFalse(repo.contains("C"));
+        assertEquals(9, store.length());
+
+        assertTrue(repo.add("C"));
+        repo.sync();
+        List<String> lines = Files.readAllLines(store.toPath(), StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals("+C", lines.get(3));
+    }
+
+    protected void sendMessage(final Object messageId, final Object body) {
+        template.send(startEndpoint, new Processor() {
+            public void process(Exchange exchange) {
+                // now lets fire in a message
+                Message in = exchange.getIn();
+                in.setBody(body);
+                in.setHeader("messageId", messageId);
+            }
+        });
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/journal");
+
+        repo = new JournalFileIdempotentRepository(store);
+        repo.setCompactionThreshold(10);
+
+        super.setUp();
+        startEndpoint = resolveMandatoryEndpoint("direct:start");
+        resultEndpoint = getMockEndpoint("mock:result");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo)
+                    .to("mock:result");
+            }
+        };
+    }
+}
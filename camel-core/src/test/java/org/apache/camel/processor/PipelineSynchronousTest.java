@@ -0,0 +1,255 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.EventDrivenConsumerRoute;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * Tests the synchronous fast path of the {@link Pipeline}.
+ */
+public class PipelineSynchronousTest extends ContextTestSupport {
+
+    private static final class InToOut implements Processor {
+        public void process(Exchange exchange) throws Exception {
+            exchange.getOut().copyFrom(exchange.getIn());
+            Integer counter = exchange.getIn().getHeader("copy-counter", Integer.class);
+            if (counter == null) {
+                counter = 0;
+            }
+            exchange.getOut().setHeader("copy-counter", counter + 1);
+        }
+    }
+
+    private static final class Counter implements Processor {
+        private int count;
+
+        public void process(Exchange exchange) throws Exception {
+            count++;
+        }
+    }
+
+    private static final class SynchronousCheck implements Processor {
+        private boolean synchronous;
+
+        public void process(Exchange exchange) throws Exception {
+            for (StackTraceElement element : new Throwable().getStackTrace()) {
+                if (element.getMethodName().equals("processSynchronous")) {
+                    synchronous = true;
+                }
+            }
+        }
+    }
+
+    private final SynchronousCheck check = new SynchronousCheck();
+
+    private static final class FailTwice implements Processor {
+        private int count;
+
+        public void process(Exchange exchange) throws Exception {
+            if (++count <= 2) {
+                throw new IllegalArgumentException("Forced");
+            }
+        }
+    }
+
+    private final FailTwice failTwice = new FailTwice();
+
+    public void testSynchronousRoute() throws Exception {
+        assertTrue(getRoutePipeline("sync").isSynchronous());
+
+        Exchange out = template.request("direct:sync", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        assertTrue("Should use the synchronous fast path", check.synchronous);
+        assertEquals("Hello World", out.getOut().getBody());
+        assertEquals(2, out.getOut().getHeader("copy-counter"));
+    }
+
+    public void testSynchronousRouteAsyncRedelivery() throws Exception {
+        assertTrue(getRoutePipeline("redelivery").isSynchronous());
+
+        Exchange out = template.request("direct:redelivery", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        // the pipeline continues after the asynchronous redelivery
+        assertNull(out.getException());
+        assertEquals(3, failTwice.count);
+        assertEquals("Hello World", out.getOut().getBody());
+        assertEquals(2, out.getOut().getHeader("copy-counter"));
+    }
+
+    public void testAsyncRouteNotSynchronous() throws Exception {
+        assertFalse(getRoutePipeline("async").isSynchronous());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        template.sendBody("direct:async", "Hello World");
+        assertMockEndpointsSatisfied();
+    }
+
+    private Pipeline getRoutePipeline(String routeId) {
+        EventDrivenConsumerRoute route = assertIsInstanceOf(EventDrivenConsumerRoute.class, context.getRoute(routeId));
+        return assertIsInstanceOf(Pipeline.class, unwrap(route.getProcessor()));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:sync").routeId("sync")
+                    .process(new InToOut()).process(check).process(new InToOut());
+
+                from("direct:redelivery").routeId("redelivery")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(2).redeliveryDelay(10).asyncDelayedRedelivery())
+                    .process(new InToOut()).process(failTwice).process(new InToOut());
+
+                from("direct:async").routeId("async")
+                    .process(new InToOut()).to("mock:result");
+            }
+        };
+    }
+
+    public void testSynchronousPipeline() throws Exception {
+        List<Processor> processors = new ArrayList<Processor>();
+        processors.add(new InToOut());
+        processors.add(new InToOut());
+        processors.add(new InToOut());
+
+        Pipeline pipeline = new Pipeline(context, processors);
+        ServiceHelper.startService(pipeline);
+        assertTrue(pipeline.isSynchronous());
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+
+        final boolean[] called = new boolean[1];
+        boolean sync = pipeline.process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                assertTrue(doneSync);
+                called[0] = true;
+            }
+        });
+
+        assertTrue(sync);
+        assertTrue(called[0]);
+        assertEquals("Hello World", exchange.getOut().getBody());
+        assertEquals(3, exchange.getOut().getHeader("copy-counter"));
+
+        ServiceHelper.stopService(pipeline);
+    }
+
+    public void testSynchronousPipelineException() throws Exception {
+        Counter counter = new Counter();
+
+        List<Processor> processors = new ArrayList<Processor>();
+        processors.add(counter);
+        processors.add(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Forced");
+            }
+        });
+        processors.add(counter);
+
+        Pipeline pipeline = new Pipeline(context, processors);
+        ServiceHelper.startService(pipeline);
+        assertTrue(pipeline.isSynchronous());
+
+        Exchange exchange = new DefaultExchange(context);
+        pipeline.process(exchange);
+
+        // should break out of the pipeline on the exception
+        assertEquals(1, counter.count);
+        assertIsInstanceOf(IllegalArgumentException.class, exchange.getException());
+
+        ServiceHelper.stopService(pipeline);
+    }
+
+    public void testSynchronousPipelineRouteStop() throws Exception {
+        Counter counter = new Counter();
+
+        List<Processor> processors = new ArrayList<Processor>();
+        processors.add(counter);
+        processors.add(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+            }
+        });
+        processors.add(counter);
+
+        Pipeline pipeline = new Pipeline(context, processors);
+        ServiceHelper.startService(pipeline);
+
+        Exchange exchange = new DefaultExchange(context);
+        pipeline.process(exchange);
+        assertEquals(1, counter.count);
+
+        // should not route at all when already marked to stop
+        exchange = new DefaultExchange(context);
+        exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+        pipeline.process(exchange);
+        assertEquals(1, counter.count);
+
+        ServiceHelper.stopService(pipeline);
+    }
+
+    public void testAsyncProcessorNotSynchronous() throws Exception {
+        List<Processor> processors = new ArrayList<Processor>();
+        processors.add(new InToOut());
+        processors.add(new AsyncProcessor() {
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                exchange.getIn().setHeader("async", true);
+                callback.done(true);
+                return true;
+            }
+
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setHeader("async", true);
+            }
+        });
+
+        Pipeline pipeline = new Pipeline(context, processors);
+        ServiceHelper.startService(pipeline);
+        assertFalse(pipeline.isSynchronous());
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        pipeline.process(exchange);
+
+        assertEquals("Hello World", exchange.getIn().getBody());
+        assertEquals(true, exchange.getIn().getHeader("async"));
+
+        ServiceHelper.stopService(pipeline);
+    }
+
+}
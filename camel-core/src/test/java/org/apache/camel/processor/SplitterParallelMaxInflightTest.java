@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version
+ */
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int MAX_INFLIGHT = 5;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+
+    public void testMaxInflight() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(200);
+        getMockEndpoint("mock:result").expectedBodiesReceived(200);
+
+        template.sendBody("direct:start", new CountingIterator(200));
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue("Should not have more than " + MAX_INFLIGHT + " inflight, was " + maxInflight.get(), maxInflight.get() <= MAX_INFLIGHT);
+        assertEquals(0, inflight.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new CountingAggregationStrategy()).streaming().parallelProcessing().maxInflight(MAX_INFLIGHT)
+                        .process(exchange -> Thread.sleep(5))
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+
+        private final int size;
+        private int index;
+
+        private CountingIterator(int size) {
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        public Integer next() {
+            int count = inflight.incrementAndGet();
+            maxInflight.accumulateAndGet(count, Math::max);
+            return index++;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final class CountingAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            inflight.decrementAndGet();
+            int count = oldExchange != null ? oldExchange.getIn().getBody(Integer.class) : 0;
+            newExchange.getIn().setBody(count + 1);
+            return newExchange;
+        }
+    }
+}
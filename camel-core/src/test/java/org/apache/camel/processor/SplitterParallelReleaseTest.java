@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version
+ */
+public class SplitterParallelReleaseTest extends ContextTestSupport {
+
+    private static final int SIZE = 20;
+
+    private final AtomicReferenceArray<WeakReference<Exchange>> splits = new AtomicReferenceArray<>(SIZE);
+    private final CountDownLatch aggregated = new CountDownLatch(SIZE - 1);
+    private final CountDownLatch last = new CountDownLatch(1);
+
+    public void testAggregatedExchangesAreReleased() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(SIZE);
+
+        List<Integer> body = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            body.add(i);
+        }
+        Future<Object> future = template.asyncSendBody("direct:start", body);
+
+        // all but the last split message have been aggregated, while the last is still being processed
+        assertTrue(aggregated.await(10, TimeUnit.SECONDS));
+
+        // so the split messages which have been aggregated can be garbage collected, apart from the first
+        // which is the result of the aggregation, and the last few which may still be referenced from the stack
+        for (int i = 1; i < SIZE - 3; i++) {
+            assertTrue("Split message #" + i + " should have been released", isReleased(splits.get(i)));
+        }
+
+        last.countDown();
+        future.get(10, TimeUnit.SECONDS);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private static boolean isReleased(WeakReference<Exchange> reference) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            System.gc();
+            if (reference.get() == null) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new CountingAggregationStrategy()).parallelProcessing()
+                        .process(exchange -> {
+                            int index = exchange.getProperty(Exchange.SPLIT_INDEX, Integer.class);
+                            splits.set(index, new WeakReference<>(exchange));
+                            if (index == SIZE - 1) {
+                                last.await(10, TimeUnit.SECONDS);
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            Exchange answer = oldExchange != null ? oldExchange : newExchange;
+            int count = oldExchange != null ? oldExchange.getIn().getBody(Integer.class) : 0;
+            answer.getIn().setBody(count + 1);
+            aggregated.countDown();
+            return answer;
+        }
+    }
+}
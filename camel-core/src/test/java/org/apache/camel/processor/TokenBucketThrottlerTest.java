@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version
+ */
+public class TokenBucketThrottlerTest extends ContextTestSupport {
+    private static final int INTERVAL = 200;
+    protected int messageCount = 6;
+
+    public void testBurstThenThrottled() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(3);
+        resultEndpoint.setResultWaitTime(2000);
+
+        for (int i = 0; i < 9; i++) {
+            template.sendBody("seda:a", "<message>" + i + "</message>");
+        }
+
+        // only the burst of 3 tokens gets through, the rest waits for the next 10 sec period
+        resultEndpoint.assertIsSatisfied();
+        resultEndpoint.reset();
+        resultEndpoint.expectedMessageCount(0);
+        resultEndpoint.assertIsSatisfied(200);
+    }
+
+    public void testSendLotsOfMessagesSimultaneouslyAsyncDelayed() throws Exception {
+        long start = System.currentTimeMillis();
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(messageCount);
+
+        ExecutorService executor = Executors.newFixedThreadPool(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    template.sendBody("direct:a", "<message>payload</message>");
+                }
+            });
+        }
+
+        resultEndpoint.assertIsSatisfied();
+
+        // now assert that they have actually been throttled
+        long minimumTime = (messageCount - 1) * INTERVAL;
+        // add a little slack
+        long delta = System.currentTimeMillis() - start + 200;
+        assertTrue("Should take at least " + minimumTime + "ms, was: " + delta, delta >= minimumTime);
+        executor.shutdownNow();
+    }
+
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+
+        template.sendBody("direct:reject", "A");
+        template.sendBody("direct:reject", "B");
+        try {
+            template.sendBody("direct:reject", "C");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testPerKeyBuckets() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceivedInAnyOrder("A1", "B1", "C1");
+
+        // each key has its own bucket, so the first message of each key gets through
+        template.sendBodyAndHeader("direct:key", "A1", "key", "A");
+        template.sendBodyAndHeader("direct:key", "B1", "key", "B");
+        template.sendBodyAndHeader("direct:key", "C1", "key", "C");
+        try {
+            template.sendBodyAndHeader("direct:key", "A2", "key", "A");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+        }
+
+        assertMockEndpointsSatisfied();
+
+        TokenBucketThrottler throttler = context.getProcessor("keyThrottler", TokenBucketThrottler.class);
+        assertEquals(3, throttler.getBucketCount());
+        assertEquals(1, throttler.getCurrentMaximumRequestsPerPeriod());
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("seda:a").throttle(3).timePeriodMillis(10000).tokenBucket().asyncDelayed().to("log:result", "mock:result");
+
+                from("direct:a").throttle(1).timePeriodMillis(INTERVAL).tokenBucket().asyncDelayed().to("log:result", "mock:result");
+
+                from("direct:reject").throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true).to("mock:result");
+
+                from("direct:key").throttle(1).timePeriodMillis(10000).correlationExpression(header("key")).rejectExecution(true).id("keyThrottler")
+                    .to("mock:result");
+            }
+        };
+    }
+}
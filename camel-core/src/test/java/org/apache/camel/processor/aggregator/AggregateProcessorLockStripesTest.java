@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.SendProcessor;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+
+/**
+ * @version 
+ */
+public class AggregateProcessorLockStripesTest extends ContextTestSupport {
+
+    private ExecutorService executorService;
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        executorService.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testConcurrentCorrelationKeys() throws Exception {
+        doTestConcurrentCorrelationKeys(64);
+    }
+
+    public void testConcurrentCorrelationKeysSingleLock() throws Exception {
+        doTestConcurrentCorrelationKeys(1);
+    }
+
+    private void doTestConcurrentCorrelationKeys(int stripes) throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_SIZE, 20);
+
+        Processor done = new SendProcessor(context.getEndpoint("mock:result"));
+        final AggregateProcessor ap = new AggregateProcessor(context, done, header("id"), new BodyInAggregatingStrategy(), executorService, true);
+        ap.setCompletionSize(20);
+        ap.setLockStripes(stripes);
+        ap.start();
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < 1000; i++) {
+            final int id = i % 50;
+            tasks.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    Exchange exchange = new DefaultExchange(context);
+                    exchange.getIn().setBody("A");
+                    exchange.getIn().setHeader("id", "key" + id);
+                    ap.process(exchange);
+                    return null;
+                }
+            });
+        }
+        for (Future<Object> future : service.invokeAll(tasks)) {
+            future.get();
+        }
+        service.shutdownNow();
+
+        assertMockEndpointsSatisfied();
+
+        ap.stop();
+    }
+
+    public void testSlowCorrelationKeyDoesNotBlockOtherKeys() throws Exception {
+        final CountDownLatch aggregating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("B+B");
+
+        Processor done = new SendProcessor(context.getEndpoint("mock:result"));
+        final AggregateProcessor ap = new AggregateProcessor(context, done, header("id"), new BodyInAggregatingStrategy() {
+            @Override
+            public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                if (oldExchange != null && "A".equals(newExchange.getIn().getBody())) {
+                    aggregating.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                }
+                return super.aggregate(oldExchange, newExchange);
+            }
+        }, executorService, true);
+        ap.setCompletionSize(2);
+        ap.setLockStripes(64);
+        ap.start();
+
+        ap.process(createExchange("A"));
+
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        Future<?> slow = service.submit(new Callable<Object>() {
+            public Object call() throws Exception {
+                ap.process(createExchange("A"));
+                return null;
+            }
+        });
+        assertTrue(aggregating.await(10, TimeUnit.SECONDS));
+
+        // the other correlation key can complete while A is still being aggregated
+        ap.process(createExchange("B"));
+        ap.process(createExchange("B"));
+        MockEndpoint.assertIsSatisfied(5, TimeUnit.SECONDS, mock);
+
+        mock.reset();
+        mock.expectedBodiesReceived("A+A");
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        service.shutdownNow();
+
+        assertMockEndpointsSatisfied();
+
+        ap.stop();
+    }
+
+    public void testLockStripesFromRoute() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).id("single").completionSize(2)
+                        .to("mock:result")
+                    .end()
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).id("striped").completionSize(2).lockStripes(16)
+                        .to("mock:result");
+            }
+        });
+        context.start();
+
+        // a single lock is used unless the lock stripes are configured
+        assertEquals(1, context.getProcessor("single", AggregateProcessor.class).getLockStripes());
+        assertEquals(16, context.getProcessor("striped", AggregateProcessor.class).getLockStripes());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("A+A", "A+A");
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        assertMockEndpointsSatisfied();
+    }
+
+    private Exchange createExchange(String id) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(id);
+        exchange.getIn().setHeader("id", id);
+        return exchange;
+    }
+}
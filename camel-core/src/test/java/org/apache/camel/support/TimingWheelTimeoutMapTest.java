@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @version 
+ */
+public class TimingWheelTimeoutMapTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelTimeoutMapTest.class);
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Override
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testTimingWheelTimeoutMapPurge() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+        assertEquals(512, map.getWheelSize());
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testTimingWheelTimeoutMapGetRemove() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+        assertNull(map.putIfAbsent("B", 456, 50));
+        assertEquals(456, (int) map.putIfAbsent("B", 789, 50));
+        assertEquals(2, map.size());
+        assertEquals(2, map.getKeys().length);
+
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, map.get("A"));
+        assertEquals(1, map.size());
+
+        map.stop();
+        assertEquals(0, map.size());
+    }
+
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+        final List<Integer> values = new ArrayList<Integer>();
+
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                values.add(value);
+                return true;
+            }
+        };
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        Thread.sleep(250);
+
+        // force purge
+        map.purge();
+
+        assertEquals(5, keys.size());
+        assertEquals("D", keys.get(0));
+        assertEquals("B", keys.get(1));
+        assertEquals("A", keys.get(4));
+        assertEquals(1, values.get(4).intValue());
+
+        assertEquals(1, map.size());
+
+        map.stop();
+    }
+
+    public void testExpiredNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                // do not evict special key
+                return !"gold".equals(key);
+            }
+        };
+        map.start();
+
+        map.put("A", 1, 60);
+        map.put("gold", 9, 60);
+
+        Thread.sleep(250);
+
+        // the gold entry is tried again on every purge
+        assertTrue(keys.contains("gold"));
+        assertTrue(keys.lastIndexOf("gold") > keys.indexOf("gold"));
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9), map.get("gold"));
+
+        map.stop();
+    }
+
+    public void testTimeoutBeyondWheelRevolution() throws Exception {
+        // 4 buckets of 25 millis is a revolution of 100 millis
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 25, 4, true);
+        map.start();
+        assertEquals(4, map.getWheelSize());
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 400);
+
+        Thread.sleep(250);
+        assertNull(map.get("A"));
+        assertEquals(1, map.size());
+
+        Thread.sleep(500);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testPutUpdatesTimeout() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<String, Integer>(executor, 50);
+        map.start();
+
+        map.put("A", 1, 100);
+        Thread.sleep(60);
+        map.put("A", 2, 500);
+
+        Thread.sleep(200);
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(2), map.get("A"));
+
+        map.stop();
+    }
+
+}
@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class CompactCaseInsensitiveMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertNull(map.get("unknown"));
+        assertNull(map.get(123));
+    }
+
+    public void testSetWithDifferentCase() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        assertEquals("cheese", map.put("Foo", "bar"));
+
+        assertEquals(1, map.size());
+        assertEquals("bar", map.get("FOO"));
+        assertEquals("bar", map.get("foo"));
+
+        // the original key case is preserved
+        assertEquals("foo", map.keySet().iterator().next());
+    }
+
+    public void testRemoveWithDifferentCase() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        assertEquals("cheese", map.remove("FOO"));
+        assertNull(map.remove("FOO"));
+
+        assertNull(map.get("foo"));
+        assertEquals("beer", map.get("BAR"));
+        assertEquals(1, map.size());
+
+        map.remove("Bar");
+        assertTrue(map.isEmpty());
+    }
+
+    public void testManyKeys() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap(2);
+        for (int i = 0; i < 100; i++) {
+            map.put("Key" + i, i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        // remove every other key
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove("key" + i));
+        }
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get("key" + i));
+            } else {
+                assertEquals(i, map.get("key" + i));
+            }
+        }
+    }
+
+    public void testInsertionOrder() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("Zed", 1);
+        map.put("alpha", 2);
+        map.put("Mid", 3);
+        map.remove("alpha");
+        map.put("beta", 4);
+
+        Iterator<String> it = map.keySet().iterator();
+        assertEquals("Zed", it.next());
+        assertEquals("Mid", it.next());
+        assertEquals("beta", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    public void testKeySet() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+        map.put("baZ", "beer");
+
+        Set<String> keys = map.keySet();
+        assertEquals(3, keys.size());
+        assertTrue(keys.contains("foo"));
+        assertTrue(keys.contains("Bar"));
+        assertTrue(keys.contains("BAZ"));
+        assertFalse(keys.contains("unknown"));
+    }
+
+    public void testIteratorRemove() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+        map.put("baz", "wine");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().startsWith("ba")) {
+                it.remove();
+            }
+        }
+
+        assertEquals(1, map.size());
+        assertEquals("cheese", map.get("FOO"));
+        assertNull(map.get("bar"));
+        assertNull(map.get("baz"));
+    }
+
+    public void testEntrySetValue() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        Map.Entry<String, Object> entry = map.entrySet().iterator().next();
+        assertEquals("cheese", entry.setValue("cake"));
+        assertEquals("cake", map.get("FOO"));
+    }
+
+    public void testPutAllOther() {
+        Map<String, Object> other = new HashMap<String, Object>();
+        other.put("Foo", "cheese");
+        other.put("bar", 123);
+
+        Map<String, Object> map = new CompactCaseInsensitiveMap(other);
+        assertEquals("cheese", map.get("FOO"));
+        assertEquals(123, map.get("BaR"));
+
+        // key case should be preserved
+        Map<String, Object> keys = new HashMap<String, Object>(map);
+        assertEquals("cheese", keys.get("Foo"));
+        assertNull(keys.get("foo"));
+        assertEquals(123, keys.get("bar"));
+        assertEquals(map, keys);
+    }
+
+    public void testCopyOnWrite() {
+        CompactCaseInsensitiveMap map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        Map<String, Object> copy = new CompactCaseInsensitiveMap(map);
+        assertEquals(2, copy.size());
+        assertEquals("cheese", copy.get("FOO"));
+
+        // changing the copy should not affect the original
+        copy.put("foo", "cake");
+        copy.put("baz", "wine");
+        copy.remove("bar");
+        assertEquals("cake", copy.get("foo"));
+        assertEquals("wine", copy.get("baz"));
+        assertEquals(2, copy.size());
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+        assertNull(map.get("baz"));
+        assertEquals(2, map.size());
+
+        // changing the original should not affect another copy
+        Map<String, Object> copy2 = new CompactCaseInsensitiveMap();
+        copy2.putAll(map);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("cheese", copy2.get("foo"));
+        assertEquals("beer", copy2.get("bar"));
+        assertEquals(2, copy2.size());
+
+        map.put("foo", "milk");
+        assertEquals("milk", map.get("foo"));
+        assertEquals("cheese", copy2.get("foo"));
+    }
+
+    public void testSerialization() throws Exception {
+        CompactCaseInsensitiveMap testMap = new CompactCaseInsensitiveMap();
+        testMap.put("key", "value");
+        // force entry set to be created which could cause the map to be non serializable
+        testMap.entrySet();
+
+        ByteArrayOutputStream bStream = new ByteArrayOutputStream();
+        ObjectOutputStream objStream = new ObjectOutputStream(bStream);
+        objStream.writeObject(testMap);
+
+        ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(bStream.toByteArray()));
+        CompactCaseInsensitiveMap testMapCopy = (CompactCaseInsensitiveMap) inStream.readObject();
+
+        assertTrue(testMapCopy.containsKey("KEY"));
+        testMapCopy.put("other", "value");
+        assertEquals(2, testMapCopy.size());
+    }
+
+}
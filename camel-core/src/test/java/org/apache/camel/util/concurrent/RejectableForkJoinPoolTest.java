@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+import org.apache.camel.Rejectable;
+import org.apache.camel.ThreadPoolRejectedPolicy;
+
+/**
+ * @version 
+ */
+public class RejectableForkJoinPoolTest extends TestCase {
+
+    private final CountDownLatch block = new CountDownLatch(1);
+
+    @Override
+    protected void tearDown() throws Exception {
+        block.countDown();
+        super.tearDown();
+    }
+
+    public void testThreadName() throws Exception {
+        RejectableForkJoinPool pool = new RejectableForkJoinPool(2, 0, null, new CamelThreadFactory("#name# #counter#", "Cool", true));
+        try {
+            Future<String> name = pool.submit(() -> Thread.currentThread().getName());
+            assertTrue(name.get(5, TimeUnit.SECONDS).startsWith("Cool "));
+            assertTrue(pool.toString().endsWith("[Cool]"));
+
+            assertEquals(1, pool.getTaskCount());
+            assertEquals(1, pool.getCompletedTaskCount());
+            assertEquals(0, pool.getWaitingTaskCount());
+            assertTrue(pool.getLargestPoolSize() > 0);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testAbort() throws Exception {
+        RejectableForkJoinPool pool = newFullPool(ThreadPoolRejectedPolicy.Abort);
+        try {
+            pool.execute(() -> { });
+            fail("Should have thrown an exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testAbortRejectable() throws Exception {
+        RejectableForkJoinPool pool = newFullPool(ThreadPoolRejectedPolicy.Abort);
+        try {
+            MyTask task = new MyTask();
+            pool.execute(task);
+            assertTrue(task.rejected.get());
+            assertFalse(task.ran.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testCallerRuns() throws Exception {
+        RejectableForkJoinPool pool = newFullPool(ThreadPoolRejectedPolicy.CallerRuns);
+        try {
+            final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+            Future<?> future = pool.submit(() -> thread.set(Thread.currentThread()));
+            assertTrue(future.isDone());
+            assertSame(Thread.currentThread(), thread.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testDiscard() throws Exception {
+        RejectableForkJoinPool pool = newFullPool(ThreadPoolRejectedPolicy.Discard);
+        try {
+            MyTask task = new MyTask();
+            Future<?> future = pool.submit(task);
+            assertTrue(task.rejected.get());
+            assertFalse(future.isDone());
+            assertEquals(2, pool.getTaskCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testDiscardOldest() throws Exception {
+        RejectableForkJoinPool pool = newFullPool(ThreadPoolRejectedPolicy.DiscardOldest);
+        try {
+            MyTask oldest = new MyTask();
+            // replace the task waiting in the full pool with a rejectable task
+            pool.execute(oldest);
+            MyTask task = new MyTask();
+            pool.execute(task);
+            assertTrue(oldest.rejected.get());
+            assertFalse(task.rejected.get());
+
+            block.countDown();
+            assertTrue(pool.awaitQuiescence(5, TimeUnit.SECONDS));
+            assertTrue(task.ran.get());
+            assertFalse(oldest.ran.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testRejectedWhenShutdown() throws Exception {
+        RejectableForkJoinPool pool = new RejectableForkJoinPool(1, 0, ThreadPoolRejectedPolicy.Abort, null);
+        pool.shutdown();
+
+        MyTask task = new MyTask();
+        pool.execute(task);
+        assertTrue(task.rejected.get());
+        assertFalse(task.ran.get());
+    }
+
+    /**
+     * Creates a pool with a single thread which is blocked, and one task waiting in the queue
+     */
+    private RejectableForkJoinPool newFullPool(ThreadPoolRejectedPolicy policy) throws Exception {
+        RejectableForkJoinPool pool = new RejectableForkJoinPool(1, 1, policy, null);
+        final CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                block.await();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pool.execute(() -> { });
+        assertEquals(1, pool.getWaitingTaskCount());
+        return pool;
+    }
+
+    private static class MyTask implements Runnable, Rejectable {
+
+        private final AtomicBoolean ran = new AtomicBoolean();
+        private final AtomicBoolean rejected = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            ran.set(true);
+        }
+
+        @Override
+        public void reject() {
+            rejected.set(true);
+        }
+    }
+}
@@ -88,6 +88,7 @@ import org.apache.camel.spi.EventFactory;
 import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.LifecycleStrategy;
@@ -564,6 +565,10 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (anySpoolRules != null) {
             getContext().getStreamCachingStrategy().setAnySpoolRules(anySpoolRules);
         }
+        Boolean offHeap = CamelContextHelper.parseBoolean(getContext(), streamCaching.getOffHeap());
+        if (offHeap != null) {
+            getContext().getStreamCachingStrategy().setOffHeap(offHeap);
+        }
         String spoolRules = CamelContextHelper.parseText(getContext(), streamCaching.getSpoolRules());
         if (spoolRules != null) {
             Iterator<Object> it = ObjectHelper.createIterator(spoolRules);
@@ -961,6 +966,7 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         answer.setAllowCoreThreadTimeOut(CamelContextHelper.parseBoolean(context, definition.getAllowCoreThreadTimeOut()));
         answer.setRejectedPolicy(definition.getRejectedPolicy());
         answer.setTimeUnit(definition.getTimeUnit());
+        answer.setPoolType(definition.getPoolType());
         return answer;
     }
 
@@ -1117,6 +1123,11 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             LOG.info("Using custom UuidGenerator: {}", uuidGenerator);
             getContext().setUuidGenerator(uuidGenerator);
         }
+        HeadersMapFactory headersMapFactory = getBeanForType(HeadersMapFactory.class);
+        if (headersMapFactory != null) {
+            LOG.info("Using custom HeadersMapFactory: {}", headersMapFactory);
+            getContext().setHeadersMapFactory(headersMapFactory);
+        }
         NodeIdFactory nodeIdFactory = getBeanForType(NodeIdFactory.class);
         if (nodeIdFactory != null) {
             LOG.info("Using custom NodeIdFactory: {}", nodeIdFactory);
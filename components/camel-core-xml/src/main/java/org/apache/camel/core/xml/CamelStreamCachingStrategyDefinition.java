@@ -56,6 +56,8 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     private String statisticsEnabled;
     @XmlAttribute @Metadata(defaultValue = "false")
     private String anySpoolRules;
+    @XmlAttribute @Metadata(defaultValue = "false")
+    private String offHeap;
 
     public String getEnabled() {
         return enabled;
@@ -199,4 +201,18 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.anySpoolRules = anySpoolRules;
     }
 
-}
\ No newline at end of file
+    public String getOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Sets whether to cache the data off heap in direct buffers, and to memory map the spool files.
+     * <p/>
+     * This option is not in use when a spool cipher is configured.
+     * The default value is <tt>false</tt>.
+     */
+    public void setOffHeap(String offHeap) {
+        this.offHeap = offHeap;
+    }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Header;
+import org.apache.camel.component.bean.BeanProcessor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks invoking a bean method with parameter binding from the message, choosing the method and invoking
+ * it using reflection for each message, compared to binding the method when starting and invoking it using
+ * a generated invoker.
+ */
+public class BeanBenchmarkTest extends AbstractBenchmarkTest {
+
+    public static class MyBean {
+        public String hello(String body, @Header("foo") Integer foo) {
+            return body + foo;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        BeanProcessor processor;
+        BeanProcessor generatedProcessor;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            MyBean bean = new MyBean();
+            processor = new BeanProcessor(bean, camel);
+            processor.setMethod("hello");
+            processor.start();
+
+            generatedProcessor = new BeanProcessor(bean, camel);
+            generatedProcessor.setMethod("hello");
+            generatedProcessor.setGenerateInvoker(true);
+            generatedProcessor.start();
+
+            exchange = new DefaultExchange(camel, ExchangePattern.InOut);
+            exchange.getIn().setBody("Hello World");
+            exchange.getIn().setHeader("foo", "123");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            processor.stop();
+            generatedProcessor.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void beanProcessor(BenchmarkState state, Blackhole bh) throws Exception {
+        state.exchange.setOut(null);
+        state.processor.process(state.exchange);
+        bh.consume(state.exchange.getOut().getBody());
+    }
+
+    @Benchmark
+    public void beanProcessorGeneratedInvoker(BenchmarkState state, Blackhole bh) throws Exception {
+        state.exchange.setOut(null);
+        state.generatedProcessor.process(state.exchange);
+        bh.consume(state.exchange.getOut().getBody());
+    }
+
+}
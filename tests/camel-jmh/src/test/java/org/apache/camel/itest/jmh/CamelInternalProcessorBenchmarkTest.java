@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.EventDrivenConsumerRoute;
+import org.apache.camel.processor.CamelInternalProcessor;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the {@link CamelInternalProcessor}, both without any advices and with the
+ * advice chain Camel sets up for a route (unit of work, inflight repository, JMX statistics etc).
+ */
+public class CamelInternalProcessorBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        CamelInternalProcessor noAdvices;
+        Processor route;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start").routeId("bench")
+                        .setHeader("foo", constant("123"))
+                        .setHeader("bar", constant("456"))
+                        .setBody(constant("Bye World"));
+                }
+            });
+            camel.start();
+
+            // the consumer of the route sends the exchange to the processor with the route advices
+            route = ((EventDrivenConsumerRoute) camel.getRoute("bench")).getProcessor();
+
+            noAdvices = new CamelInternalProcessor(new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                    exchange.getIn().setHeader("foo", "123");
+                }
+            });
+            ServiceHelper.startService(noAdvices);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            ServiceHelper.stopService(noAdvices);
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void internalProcessorNoAdvices(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.getIn().setBody("Hello World");
+        AsyncProcessorHelper.process(state.noAdvices, exchange);
+        bh.consume(exchange);
+    }
+
+    @Benchmark
+    public void internalProcessorRouteAdvices(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.getIn().setBody("Hello World");
+        state.route.process(exchange);
+        bh.consume(exchange);
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link org.apache.camel.Exchange#copy()} as used by the multicast, splitter,
+ * wire tap and recipient list EIPs.
+ */
+public class DefaultExchangeCopyBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("Hello World");
+            for (int i = 0; i < 10; i++) {
+                exchange.getIn().setHeader("header" + i, "value" + i);
+                exchange.setProperty("property" + i, i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void copy(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.exchange.copy());
+    }
+
+    @Benchmark
+    public void copySafe(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.exchange.copy(true));
+    }
+
+    @Benchmark
+    public void copyAndReadHeader(BenchmarkState state, Blackhole bh) {
+        Exchange copy = state.exchange.copy();
+        bh.consume(copy.getIn().getHeader("header5"));
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.processor.Pipeline;
+import org.apache.camel.util.ServiceHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks a {@link Pipeline} of plain synchronous processors which manipulate headers.
+ */
+public class PipelineBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Pipeline pipeline;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            List<Processor> processors = new ArrayList<Processor>();
+            for (int i = 0; i < 5; i++) {
+                final String name = "header" + i;
+                processors.add(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        exchange.getIn().setHeader(name, "value");
+                    }
+                });
+            }
+            pipeline = new Pipeline(camel, processors);
+            ServiceHelper.startService(pipeline);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            ServiceHelper.stopService(pipeline);
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void pipelineSynchronousProcessors(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.getIn().setBody("Hello World");
+        state.pipeline.process(exchange);
+        bh.consume(exchange);
+    }
+
+}
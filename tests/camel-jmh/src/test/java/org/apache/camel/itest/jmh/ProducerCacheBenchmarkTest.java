@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.util.ServiceHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the {@link ProducerCache} which is used by the producer template and the dynamic
+ * EIPs such as dynamic to, recipient list and routing slip.
+ */
+public class ProducerCacheBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerCache cache;
+        Endpoint endpoint;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            cache = new ProducerCache(this, camel);
+            ServiceHelper.startService(cache);
+            endpoint = camel.getEndpoint("log:bench?level=OFF");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            ServiceHelper.stopService(cache);
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void acquireAndRelease(BenchmarkState state, Blackhole bh) throws Exception {
+        Producer producer = state.cache.acquireProducer(state.endpoint);
+        bh.consume(producer);
+        state.cache.releaseProducer(state.endpoint, producer);
+    }
+
+    @Benchmark
+    public void send(BenchmarkState state, Blackhole bh) {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.getIn().setBody("Hello World");
+        state.cache.send(state.endpoint, exchange);
+        bh.consume(exchange);
+    }
+
+}
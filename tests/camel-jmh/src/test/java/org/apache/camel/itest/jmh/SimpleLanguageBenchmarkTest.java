@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.spi.Language;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the simple language, both parsing the expressions per message (as dynamic to and
+ * recipient list does) and evaluating already created expressions and predicates.
+ */
+public class SimpleLanguageBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Language simple;
+        Exchange exchange;
+        Expression header;
+        Expression template;
+        Predicate predicate;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+            simple = camel.resolveLanguage("simple");
+
+            exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("Hello World");
+            exchange.getIn().setHeader("foo", "123");
+            exchange.setProperty("bar", 456);
+
+            header = simple.createExpression("${header.foo}");
+            template = simple.createExpression("mock:${header.foo}?size=${exchangeProperty.bar}");
+            predicate = simple.createPredicate("${header.foo} == '123'");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void createAndEvaluateExpression(BenchmarkState state, Blackhole bh) {
+        Expression exp = state.simple.createExpression("mock:${header.foo}?size=${exchangeProperty.bar}");
+        bh.consume(exp.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void createAndEvaluatePredicate(BenchmarkState state, Blackhole bh) {
+        Predicate pre = state.simple.createPredicate("${header.foo} == '123'");
+        bh.consume(pre.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void evaluateHeader(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.header.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void evaluateTemplate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.template.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void evaluatePredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.predicate.matches(state.exchange));
+    }
+
+}
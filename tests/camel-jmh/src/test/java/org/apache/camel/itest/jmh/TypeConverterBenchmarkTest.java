@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks type conversions through the {@link org.apache.camel.impl.converter.BaseTypeConverterRegistry}.
+ */
+public class TypeConverterBenchmarkTest extends AbstractBenchmarkTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        TypeConverter converter;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+            converter = camel.getTypeConverter();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void convertAssignable(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Object.class, "Hello World"));
+    }
+
+    @Benchmark
+    public void convertIntegerToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, 12345));
+    }
+
+    @Benchmark
+    public void convertStringToInteger(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Integer.class, "12345"));
+    }
+
+    @Benchmark
+    public void convertStringToBoolean(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Boolean.class, "true"));
+    }
+
+    @Benchmark
+    public void convertStringToBytes(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(byte[].class, "Hello World"));
+    }
+
+    @Benchmark
+    public void convertMiss(BenchmarkState state, Blackhole bh) {
+        // no converter exists so this hits the misses cache
+        bh.consume(state.converter.convertTo(TypeConverterBenchmarkTest.class, "Hello World"));
+    }
+
+}
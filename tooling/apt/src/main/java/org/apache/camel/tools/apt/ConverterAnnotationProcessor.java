@@ -0,0 +1,484 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import static org.apache.camel.tools.apt.AnnotationProcessorHelper.error;
+import static org.apache.camel.tools.apt.AnnotationProcessorHelper.log;
+import static org.apache.camel.tools.apt.AnnotationProcessorHelper.warning;
+
+/**
+ * APT compiler plugin to generate a type converter loader for the Camel {@code @Converter} classes of a JAR,
+ * which registers the type converters without package scanning or reflection.
+ * <p/>
+ * Only the {@code @Converter} classes in the packages (or classes) listed in the
+ * <tt>META-INF/services/org/apache/camel/TypeConverter</tt> file of the JAR are included, which is the same classes
+ * that would otherwise be scanned for at runtime. The generated loader is listed in the
+ * <tt>META-INF/services/org/apache/camel/TypeConverterLoader</tt> file.
+ * <p/>
+ * The converter classes are collected in all the rounds, and the loader is generated in the last round.
+ * The converter classes of the listed packages which are not part of the compilation (such as with an incremental
+ * compilation) are included as well. Any error generating the loader fails the compilation.
+ */
+@SupportedAnnotationTypes({"org.apache.camel.Converter", "org.apache.camel.FallbackConverter"})
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+public class ConverterAnnotationProcessor extends AbstractProcessor {
+
+    private static final String CONVERTER = "org.apache.camel.Converter";
+    private static final String FALLBACK_CONVERTER = "org.apache.camel.FallbackConverter";
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
+    private static final String TYPE_CONVERTER_REGISTRY = "org.apache.camel.spi.TypeConverterRegistry";
+    private static final String TYPE_CONVERTER_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    private static final String TYPE_CONVERTER_LOADER_SERVICES = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    private static final String LOADER_NAME = "GeneratedTypeConverterLoader";
+
+    // the names of the converter classes found in all the rounds, as the elements are not valid across rounds
+    private final Set<String> classNames = new LinkedHashSet<String>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        try {
+            TypeElement converter = processingEnv.getElementUtils().getTypeElement(CONVERTER);
+            if (converter == null) {
+                return true;
+            }
+
+            if (!roundEnv.processingOver()) {
+                for (Element element : roundEnv.getElementsAnnotatedWith(converter)) {
+                    if (element.getKind() == ElementKind.CLASS) {
+                        classNames.add(((TypeElement) element).getQualifiedName().toString());
+                    }
+                }
+                return true;
+            }
+
+            // generate the loader in the last round, when all the converter classes has been found
+            if (classNames.isEmpty()) {
+                return true;
+            }
+
+            Set<String> names = loadTypeConverterServices();
+            if (names == null) {
+                // there is no type converters to scan for at runtime, so there is nothing to generate either
+                return true;
+            }
+
+            List<TypeElement> included = new ArrayList<TypeElement>();
+            for (TypeElement classElement : findConverterClasses(names)) {
+                if (isIncluded(classElement, names)) {
+                    included.add(classElement);
+                }
+            }
+            if (!included.isEmpty()) {
+                generateTypeConverterLoader(included);
+            }
+        } catch (Throwable e) {
+            error(processingEnv, "Error generating type converter loader: " + e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the converter classes of this compilation, and the converter classes of the listed packages
+     * which has been compiled before, as an incremental compilation only compiles the changed classes.
+     */
+    private Set<TypeElement> findConverterClasses(Set<String> names) {
+        Elements elements = processingEnv.getElementUtils();
+        Set<String> packageNames = new LinkedHashSet<String>(names);
+        Set<TypeElement> answer = new LinkedHashSet<TypeElement>();
+        for (String name : classNames) {
+            TypeElement classElement = elements.getTypeElement(name);
+            if (classElement != null) {
+                answer.add(classElement);
+                packageNames.add(elements.getPackageOf(classElement).getQualifiedName().toString());
+            }
+        }
+        for (String name : packageNames) {
+            PackageElement pe = elements.getPackageElement(name);
+            if (pe == null) {
+                continue;
+            }
+            for (TypeElement classElement : ElementFilter.typesIn(pe.getEnclosedElements())) {
+                if (classElement.getKind() == ElementKind.CLASS && findAnnotation(classElement, CONVERTER) != null) {
+                    answer.add(classElement);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Loads the package and class names from the type converter services file, which has been copied
+     * to the class output directory with the other resources before compiling.
+     */
+    private Set<String> loadTypeConverterServices() {
+        FileObject resource;
+        try {
+            resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", TYPE_CONVERTER_SERVICES);
+        } catch (Throwable e) {
+            return null;
+        }
+
+        Set<String> answer = new LinkedHashSet<String>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#") || line.isEmpty()) {
+                    continue;
+                }
+                StringTokenizer tokens = new StringTokenizer(line, ",");
+                while (tokens.hasMoreTokens()) {
+                    String name = tokens.nextToken().trim();
+                    if (!name.isEmpty()) {
+                        answer.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return answer;
+    }
+
+    private boolean isIncluded(TypeElement classElement, Set<String> names) {
+        String className = classElement.getQualifiedName().toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(classElement).getQualifiedName().toString();
+        for (String name : names) {
+            // the packages are scanned including their sub packages
+            if (name.equals(className) || name.equals(packageName) || packageName.startsWith(name + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void generateTypeConverterLoader(List<TypeElement> classes) throws IOException {
+        // find all the converter classes including their super classes, in the same way as the runtime does
+        Set<TypeElement> converterClasses = new LinkedHashSet<TypeElement>();
+        for (TypeElement classElement : classes) {
+            TypeElement current = classElement;
+            while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+                if (!converterClasses.add(current)) {
+                    break;
+                }
+                TypeMirror superclass = current.getSuperclass();
+                current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+            }
+        }
+
+        // the generated loader must be able to call the converter classes directly
+        for (TypeElement classElement : converterClasses) {
+            if (!isAccessible(classElement)) {
+                log(processingEnv, "Cannot generate type converter loader as the converter class " + classElement.getQualifiedName()
+                        + " is not public, the type converters will be loaded by scanning the packages at runtime instead");
+                return;
+            }
+        }
+
+        String packageName = commonPackageName(converterClasses);
+        if (packageName.isEmpty()) {
+            log(processingEnv, "Cannot generate type converter loader as the converter classes have no common package,"
+                    + " the type converters will be loaded by scanning the packages at runtime instead");
+            return;
+        }
+        // qualify the name of the loader by its package, so the loaders of different JARs do not shadow each other
+        String simpleName = loaderName(packageName);
+        String className = packageName + "." + simpleName;
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(className).openWriter()) {
+            PrintWriter writer = new PrintWriter(out);
+            writeTypeConverterLoader(writer, packageName, simpleName, converterClasses);
+            writer.flush();
+        }
+        try (Writer out = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", TYPE_CONVERTER_LOADER_SERVICES).openWriter()) {
+            PrintWriter writer = new PrintWriter(out);
+            writer.println("# Generated by camel annotation processor");
+            writer.println(className);
+            writer.flush();
+        }
+    }
+
+    private void writeTypeConverterLoader(PrintWriter writer, String packageName, String simpleName, Set<TypeElement> converterClasses) {
+        Map<TypeElement, String> methodNames = new HashMap<TypeElement, String>();
+        Set<String> usedNames = new LinkedHashSet<String>();
+        for (TypeElement classElement : converterClasses) {
+            String name = "load" + classElement.getSimpleName();
+            for (int i = 2; !usedNames.add(name); i++) {
+                name = "load" + classElement.getSimpleName() + i;
+            }
+            methodNames.put(classElement, name);
+        }
+
+        writer.println("package " + packageName + ";");
+        writer.println();
+        writer.println("import org.apache.camel.TypeConverterLoaderException;");
+        writer.println("import org.apache.camel.impl.converter.CachingInjector;");
+        writer.println("import org.apache.camel.impl.converter.GeneratedTypeConverterLoaderSupport;");
+        writer.println("import org.apache.camel.spi.TypeConverterRegistry;");
+        writer.println();
+        writer.println("/**");
+        writer.println(" * Generated by camel annotation processor - do not edit this file!");
+        writer.println(" */");
+        writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        writer.println("public final class " + simpleName + " extends GeneratedTypeConverterLoaderSupport {");
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {");
+        for (TypeElement classElement : converterClasses) {
+            writer.println("        try {");
+            writer.println("            " + methodNames.get(classElement) + "(registry);");
+            writer.println("        } catch (NoClassDefFoundError e) {");
+            writer.println("            handleLoadError(\"" + classElement.getQualifiedName() + "\", " + isIgnoreOnLoadError(classElement) + ", e);");
+            writer.println("        }");
+        }
+        writer.println("    }");
+
+        for (TypeElement classElement : converterClasses) {
+            writer.println();
+            writer.println("    private void " + methodNames.get(classElement) + "(final TypeConverterRegistry registry) {");
+            String type = classElement.getQualifiedName().toString();
+            boolean injector = false;
+            for (ExecutableElement method : ElementFilter.methodsIn(classElement.getEnclosedElements())) {
+                AnnotationMirror annotation = findAnnotation(method, CONVERTER);
+                boolean fallback = false;
+                if (annotation == null) {
+                    annotation = findAnnotation(method, FALLBACK_CONVERTER);
+                    fallback = true;
+                }
+                if (annotation == null || !isValidConverterMethod(classElement, method, fallback)) {
+                    continue;
+                }
+
+                String target;
+                if (method.getModifiers().contains(Modifier.STATIC)) {
+                    target = type;
+                } else {
+                    if (!injector) {
+                        writer.println("        final CachingInjector<" + type + "> injector = new CachingInjector<" + type + ">(registry, " + type + ".class);");
+                        injector = true;
+                    }
+                    target = "getInstance(injector, registry)";
+                }
+                String name = type + "." + method.getSimpleName() + "(" + parameterTypes(method) + ")";
+                boolean allowNull = getBooleanValue(annotation, "allowNull");
+                if (fallback) {
+                    boolean canPromote = getBooleanValue(annotation, "canPromote");
+                    writer.println("        addFallbackTypeConverter(registry, " + canPromote + ", " + allowNull + ", \"" + name + "\",");
+                    writer.println("            (type, exchange, value) -> " + target + "." + method.getSimpleName() + "("
+                            + fallbackArguments(method) + "));");
+                } else {
+                    String toType = erasure(method.getReturnType());
+                    String fromType = erasure(method.getParameters().get(0).asType());
+                    writer.println("        addTypeConverter(registry, " + toType + ".class, " + fromType + ".class, " + allowNull + ", \"" + name + "\",");
+                    writer.println("            (type, exchange, value) -> " + target + "." + method.getSimpleName() + "("
+                            + converterArguments(method) + "));");
+                }
+            }
+            writer.println("    }");
+        }
+        writer.println("}");
+    }
+
+    /**
+     * Validates the converter method in the same way as the runtime, which ignores the invalid methods with a warning
+     */
+    private boolean isValidConverterMethod(TypeElement classElement, ExecutableElement method, boolean fallback) {
+        String kind = fallback ? "fallback converter" : "converter";
+        List<? extends VariableElement> parameters = method.getParameters();
+        boolean valid;
+        if (fallback) {
+            valid = (parameters.size() == 3 || (parameters.size() == 4 && isType(parameters.get(1).asType(), EXCHANGE)))
+                    && isType(parameters.get(parameters.size() - 1).asType(), TYPE_CONVERTER_REGISTRY);
+        } else {
+            valid = parameters.size() == 1 || (parameters.size() == 2 && isType(parameters.get(1).asType(), EXCHANGE));
+        }
+        if (!valid) {
+            warning(processingEnv, "Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                    + " as a " + kind + " method should have " + (fallback ? "three" : "one") + " parameter");
+            return false;
+        }
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || !modifiers.contains(Modifier.PUBLIC)) {
+            warning(processingEnv, "Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                    + " as a " + kind + " method is not a public and concrete method");
+            return false;
+        }
+        TypeMirror returnType = method.getReturnType();
+        if (returnType.getKind() == TypeKind.VOID || isType(returnType, Void.class.getName())) {
+            warning(processingEnv, "Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                    + " as a " + kind + " method returns a void method");
+            return false;
+        }
+        return true;
+    }
+
+    private String converterArguments(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        StringBuilder sb = new StringBuilder();
+        sb.append("(").append(erasure(parameters.get(0).asType())).append(") value");
+        if (parameters.size() == 2) {
+            sb.append(", (").append(erasure(parameters.get(1).asType())).append(") exchange");
+        }
+        return sb.toString();
+    }
+
+    private String fallbackArguments(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        String[] arguments = parameters.size() == 4
+                ? new String[]{"type", "exchange", "value", "registry"} : new String[]{"type", "value", "registry"};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("(").append(erasure(parameters.get(i).asType())).append(") ").append(arguments[i]);
+        }
+        return sb.toString();
+    }
+
+    private String parameterTypes(ExecutableElement method) {
+        StringBuilder sb = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(erasure(parameter.asType()));
+        }
+        return sb.toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private boolean isType(TypeMirror type, String className) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        return element != null && processingEnv.getTypeUtils().isAssignable(type, processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    private boolean isAccessible(TypeElement classElement) {
+        Element current = classElement;
+        while (current instanceof TypeElement) {
+            if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isIgnoreOnLoadError(TypeElement classElement) {
+        AnnotationMirror annotation = findAnnotation(classElement, CONVERTER);
+        return annotation != null && getBooleanValue(annotation, "ignoreOnLoadError");
+    }
+
+    private String commonPackageName(Set<TypeElement> classes) {
+        String answer = null;
+        for (TypeElement classElement : classes) {
+            PackageElement pe = processingEnv.getElementUtils().getPackageOf(classElement);
+            String name = pe.getQualifiedName().toString();
+            if (answer == null) {
+                answer = name;
+            } else {
+                while (!name.equals(answer) && !name.startsWith(answer + ".")) {
+                    int idx = answer.lastIndexOf('.');
+                    answer = idx > 0 ? answer.substring(0, idx) : "";
+                    if (answer.isEmpty()) {
+                        return answer;
+                    }
+                }
+            }
+        }
+        return answer != null ? answer : "";
+    }
+
+    /**
+     * The name of the loader is the last part of its package name followed by {@link #LOADER_NAME},
+     * such as <tt>FileGeneratedTypeConverterLoader</tt> for the <tt>org.apache.camel.component.file</tt> package.
+     */
+    static String loaderName(String packageName) {
+        String name = packageName.substring(packageName.lastIndexOf('.') + 1);
+        StringBuilder sb = new StringBuilder();
+        boolean upper = true;
+        for (char ch : name.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(ch) || ch == '_' || ch == '$') {
+                upper = true;
+            } else {
+                sb.append(upper ? Character.toUpperCase(ch) : ch);
+                upper = false;
+            }
+        }
+        return sb.append(LOADER_NAME).toString();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private boolean getBooleanValue(AnnotationMirror annotation, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+}
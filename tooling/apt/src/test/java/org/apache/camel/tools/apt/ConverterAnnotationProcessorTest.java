@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConverterAnnotationProcessorTest {
+
+    private static final String CONVERTER = "package org.apache.camel;\n"
+            + "public @interface Converter { boolean allowNull() default false; boolean ignoreOnLoadError() default false; }";
+    private static final String MY_CONVERTER = "package com.foo;\n"
+            + "@org.apache.camel.Converter public class MyConverter {\n"
+            + "  @org.apache.camel.Converter public static String toString(Integer value) { return value.toString(); }\n"
+            + "}";
+    private static final String OTHER_CONVERTER = "package com.foo.bar;\n"
+            + "@org.apache.camel.Converter public class OtherConverter {\n"
+            + "  @org.apache.camel.Converter public static Integer toInteger(String value) { return Integer.valueOf(value); }\n"
+            + "}";
+
+    private File dir;
+    private File out;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("camel-apt").toFile();
+        out = new File(dir, "classes");
+        File services = new File(out, "META-INF/services/org/apache/camel/TypeConverter");
+        assertTrue(services.getParentFile().mkdirs());
+        Files.write(services.toPath(), "com.foo\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(dir);
+    }
+
+    @Test
+    public void testLoaderName() {
+        assertEquals("FileGeneratedTypeConverterLoader", ConverterAnnotationProcessor.loaderName("org.apache.camel.component.file"));
+        assertEquals("SpringBatchGeneratedTypeConverterLoader", ConverterAnnotationProcessor.loaderName("org.apache.camel.component.spring_batch"));
+        assertEquals("FooGeneratedTypeConverterLoader", ConverterAnnotationProcessor.loaderName("foo"));
+    }
+
+    @Test
+    public void testGenerateLoader() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(Collections.<Processor>emptyList(),
+                source("org.apache.camel.Converter", CONVERTER), source("com.foo.MyConverter", MY_CONVERTER));
+        assertTrue("Errors: " + errors, errors.isEmpty());
+
+        String loader = read("com/foo/FooGeneratedTypeConverterLoader.java");
+        assertTrue(loader, loader.contains("public final class FooGeneratedTypeConverterLoader"));
+        assertTrue(loader, loader.contains("addTypeConverter(registry, java.lang.String.class, java.lang.Integer.class, false,"));
+        assertTrue(read("META-INF/services/org/apache/camel/TypeConverterLoader").contains("com.foo.FooGeneratedTypeConverterLoader"));
+    }
+
+    @Test
+    public void testConverterGeneratedInLaterRound() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(Collections.<Processor>singletonList(new OtherConverterProcessor()),
+                source("org.apache.camel.Converter", CONVERTER), source("com.foo.MyConverter", MY_CONVERTER));
+        assertTrue("Errors: " + errors, errors.isEmpty());
+
+        // the loader must include the converters of all the rounds
+        String loader = read("com/foo/FooGeneratedTypeConverterLoader.java");
+        assertTrue(loader, loader.contains("com.foo.MyConverter.toString(java.lang.Integer)"));
+        assertTrue(loader, loader.contains("com.foo.bar.OtherConverter.toInteger(java.lang.String)"));
+    }
+
+    @Test
+    public void testIncrementalCompile() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(Collections.<Processor>emptyList(), "-proc:none",
+                source("org.apache.camel.Converter", CONVERTER), source("com.foo.MyConverter", MY_CONVERTER));
+        assertTrue("Errors: " + errors, errors.isEmpty());
+        assertFalse(new File(out, "com/foo/FooGeneratedTypeConverterLoader.java").exists());
+
+        // only compile a new converter class, the converter class compiled before must be included as well
+        String another = "package com.foo;\n"
+                + "@org.apache.camel.Converter public class AnotherConverter {\n"
+                + "  @org.apache.camel.Converter public static Long toLong(String value) { return Long.valueOf(value); }\n"
+                + "}";
+        errors = compile(Collections.<Processor>emptyList(), source("com.foo.AnotherConverter", another));
+        assertTrue("Errors: " + errors, errors.isEmpty());
+
+        String loader = read("com/foo/FooGeneratedTypeConverterLoader.java");
+        assertTrue(loader, loader.contains("com.foo.MyConverter.toString(java.lang.Integer)"));
+        assertTrue(loader, loader.contains("com.foo.AnotherConverter.toLong(java.lang.String)"));
+    }
+
+    @Test
+    public void testErrorFailsCompilation() throws Exception {
+        // a class with the same name as the loader cannot be generated
+        String clash = "package com.foo;\npublic class FooGeneratedTypeConverterLoader { }";
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(Collections.<Processor>emptyList(),
+                source("org.apache.camel.Converter", CONVERTER), source("com.foo.MyConverter", MY_CONVERTER),
+                source("com.foo.FooGeneratedTypeConverterLoader", clash));
+        assertEquals("Errors: " + errors, 1, errors.size());
+        assertTrue(errors.get(0).getMessage(null), errors.get(0).getMessage(null).startsWith("Error generating type converter loader"));
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(List<Processor> processors, JavaFileObject... sources) throws IOException {
+        return compile(processors, "-proc:only", sources);
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(List<Processor> processors, String proc, JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<Processor> all = new ArrayList<Processor>(processors);
+            all.add(new ConverterAnnotationProcessor());
+            // the generated loader is not compiled, as camel-core is not on the classpath
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList(proc, "-d", out.getPath(), "-classpath", out.getPath()), null, Arrays.asList(sources));
+            task.setProcessors(all);
+            task.call();
+        }
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<Diagnostic<? extends JavaFileObject>>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(new File(out, name).toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static JavaFileObject source(String className, final String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Generates a converter class in the first round, so it is only found by the converter processor in the next round
+     */
+    @SupportedAnnotationTypes("org.apache.camel.Converter")
+    @SupportedSourceVersion(SourceVersion.RELEASE_8)
+    public static class OtherConverterProcessor extends AbstractProcessor {
+
+        private boolean generated;
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (!generated && !roundEnv.processingOver()) {
+                generated = true;
+                try (Writer writer = processingEnv.getFiler().createSourceFile("com.foo.bar.OtherConverter").openWriter()) {
+                    writer.write(OTHER_CONVERTER);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return false;
+        }
+    }
+}